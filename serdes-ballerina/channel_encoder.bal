@@ -0,0 +1,52 @@
+// Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/jballerina.java;
+
+# Encoder of the chunks that `Proto3SerDes.serializeToChannel` writes to a byte channel.
+class ChannelEncoder {
+
+    isolated function init(SerDes ser, anydata[] data, int bufferSize) {
+        initChannelEncoder(self, ser, data, bufferSize);
+    }
+
+    # Returns the next chunk of the length-delimited encoded values. The chunk that was returned before must be
+    # written to the channel by then, since its bytes are reused.
+    #
+    # + return - The next chunk, nil if all values are encoded, or `serdes:Error` if a value cannot be serialized
+    isolated function next() returns byte[]|Error? {
+        return pollChannelEncoder(self);
+    }
+
+    # Stops encoding the values, once the channel cannot be written to.
+    isolated function cancel() {
+        cancelChannelEncoder(self);
+    }
+}
+
+isolated function initChannelEncoder(ChannelEncoder encoder, SerDes ser, anydata[] data, int bufferSize) =
+@java:Method {
+    'class: "io.ballerina.stdlib.serdes.StreamSerializer"
+} external;
+
+isolated function pollChannelEncoder(ChannelEncoder encoder) returns byte[]|Error? = @java:Method {
+    'class: "io.ballerina.stdlib.serdes.StreamSerializer"
+} external;
+
+isolated function cancelChannelEncoder(ChannelEncoder encoder) = @java:Method {
+    'class: "io.ballerina.stdlib.serdes.StreamSerializer"
+} external;
@@ -0,0 +1,119 @@
+// Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/io;
+import ballerina/jballerina.java;
+
+# A deserialized value, wrapped so that nil values can be told apart from the end of the input.
+#
+# + value - The deserialized value
+type DeserializedValue record {|
+    anydata value;
+|};
+
+# Iterator of the stream returned by `Proto3SerDes.deserializeStream`.
+class DeserializedValueIterator {
+
+    private stream<byte[], error?>|io:ReadableByteChannel input;
+    private boolean closed = false;
+    private boolean inputClosed = false;
+
+    isolated function init(SerDes des, stream<byte[], error?>|io:ReadableByteChannel input) {
+        self.input = input;
+        initFrameDecoder(self, des);
+    }
+
+    public isolated function next() returns record {| anydata value; |}|Error? {
+        if self.closed {
+            return;
+        }
+
+        while true {
+            DeserializedValue? deserializedValue = check pollFrameDecoder(self);
+            if deserializedValue is DeserializedValue {
+                return deserializedValue;
+            }
+
+            byte[]? chunk = check self.readChunk();
+            if chunk is () {
+                self.closed = true;
+                return closeFrameDecoder(self);
+            }
+            feedFrameDecoder(self, chunk);
+        }
+    }
+
+    # Ends the stream and closes the stream of byte arrays or the byte channel from which the values are read.
+    #
+    # + return - A `serdes:Error` if the input cannot be closed, else `()`
+    public isolated function close() returns Error? {
+        self.closed = true;
+        if self.inputClosed {
+            return;
+        }
+        self.inputClosed = true;
+
+        stream<byte[], error?>|io:ReadableByteChannel input = self.input;
+        error? result;
+        if input is io:ReadableByteChannel {
+            result = input.close();
+        } else {
+            result = input.close();
+        }
+        if result is error {
+            return error Error("Failed to close serialized data input: " + result.message(), result);
+        }
+    }
+
+    isolated function readChunk() returns byte[]|Error? {
+        stream<byte[], error?>|io:ReadableByteChannel input = self.input;
+
+        if input is io:ReadableByteChannel {
+            byte[]|io:Error chunk = input.read(DEFAULT_STREAM_READ_SIZE);
+            if chunk is io:EofError {
+                return;
+            } else if chunk is io:Error {
+                return error Error("Failed to read serialized data: " + chunk.message(), chunk);
+            }
+            return chunk;
+        }
+
+        record {| byte[] value; |}|error? next = input.next();
+        if next is error {
+            return error Error("Failed to read serialized data: " + next.message(), next);
+        } else if next is () {
+            return;
+        }
+        return next.value;
+    }
+}
+
+isolated function initFrameDecoder(DeserializedValueIterator iterator, SerDes des) = @java:Method {
+    'class: "io.ballerina.stdlib.serdes.StreamDeserializer"
+} external;
+
+isolated function feedFrameDecoder(DeserializedValueIterator iterator, byte[] chunk) = @java:Method {
+    'class: "io.ballerina.stdlib.serdes.StreamDeserializer"
+} external;
+
+isolated function pollFrameDecoder(DeserializedValueIterator iterator) returns DeserializedValue|Error? = @java:Method {
+    'class: "io.ballerina.stdlib.serdes.StreamDeserializer"
+} external;
+
+isolated function closeFrameDecoder(DeserializedValueIterator iterator) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.serdes.StreamDeserializer"
+} external;
@@ -0,0 +1,89 @@
+// Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# Distribution of the values recorded for an operation, in log-linear buckets that report percentiles within 12.5%
+# of the recorded values.
+#
+# + count - Number of recorded values
+# + sum - Sum of the recorded values
+# + max - Largest recorded value
+# + mean - Mean of the recorded values
+# + p50 - Median of the recorded values
+# + p90 - 90th percentile of the recorded values
+# + p99 - 99th percentile of the recorded values
+public type Distribution record {|
+    int count;
+    int sum;
+    int max;
+    float mean;
+    int p50;
+    int p90;
+    int p99;
+|};
+
+# Metrics of one kind of operation on values of a data type.
+#
+# + count - Number of operations
+# + errorCount - Number of operations that returned an error
+# + latency - Distribution of the durations of the operations, in nanoseconds
+# + size - Distribution of the sizes of the encoded values of the successful operations, in bytes, which is empty for
+#          schema generation
+public type OperationMetrics record {|
+    int count;
+    int errorCount;
+    Distribution latency;
+    Distribution size;
+|};
+
+# Metrics of the operations on values of a data type.
+#
+# + dataType - Name of the data type
+# + serialization - Metrics of the `Proto3SerDes` functions that serialize values, such as `serialize`,
+#                   `serializeInto` and `serializeBatch`
+# + deserialization - Metrics of the `Proto3SerDes` functions that deserialize values, such as `deserialize`,
+#                     `deserializeFields` and `extractField`
+# + schemaGeneration - Metrics of generating the schema when it is not found in the schema cache
+# + schemaCacheHits - Number of times the schema was found in the schema cache
+public type DataTypeMetrics record {|
+    string dataType;
+    OperationMetrics serialization;
+    OperationMetrics deserialization;
+    OperationMetrics schemaGeneration;
+    int schemaCacheHits;
+|};
+
+# Enables or disables recording metrics of serialization, deserialization and schema generation per data type. The
+# metrics are also published as `io.ballerina.stdlib.serdes:type=DataTypeMetrics` JMX MXBeans. Metrics are disabled
+# by default, and cost almost nothing while disabled.
+#
+# + enable - Whether metrics are recorded
+public isolated function enableMetrics(boolean enable = true) = @java:Method {
+    'class: "io.ballerina.stdlib.serdes.SerdesMetrics"
+} external;
+
+# Returns the metrics recorded for each data type since they were enabled or last reset.
+#
+# + return - Metrics of each data type
+public isolated function getMetrics() returns DataTypeMetrics[] = @java:Method {
+    'class: "io.ballerina.stdlib.serdes.SerdesMetrics"
+} external;
+
+# Discards the metrics recorded so far.
+public isolated function resetMetrics() = @java:Method {
+    'class: "io.ballerina.stdlib.serdes.SerdesMetrics"
+} external;
@@ -14,20 +14,32 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerina/io;
 import ballerina/jballerina.java;
 
+const int DEFAULT_STREAM_BUFFER_SIZE = 65536;
+const int DEFAULT_STREAM_READ_SIZE = 65536;
+const int DEFAULT_PARALLEL_THRESHOLD = 1024;
+
 public class Proto3SerDes {
     *SerDes;
 
     private typedesc<anydata> dataType;
 
-    # Generates a schema for a given data type.
+    # Generates a schema for a given data type, or loads the schema exported earlier for it with
+    # `serdes:exportSchema`, once it is checked to be the schema generated for the data type.
     #
     # + ballerinaDataType - The data type of the value that needs to be serialized
-    # + return - `serdes:Error` if the data type is not supported else nil
-    public isolated function init(typedesc<anydata> ballerinaDataType) returns Error? {
+    # + schema - The schema exported for the data type, as the bytes of a Protobuf `FileDescriptorSet`
+    # + return - `serdes:SchemaMismatchError` if the schema is not the one generated for the data type,
+    #            `serdes:Error` if the data type is not supported else nil
+    public isolated function init(typedesc<anydata> ballerinaDataType, byte[]? schema = ()) returns Error? {
         self.dataType = ballerinaDataType;
-        check generateSchema(self, ballerinaDataType);
+        if schema is byte[] {
+            check loadSchema(self, ballerinaDataType, schema);
+        } else {
+            check generateSchema(self, ballerinaDataType);
+        }
     }
 
     # Serializes a given value.
@@ -38,6 +50,19 @@ public class Proto3SerDes {
         return serialize(self, data, self.dataType);
     }
 
+    # Serializes a given value, encoding large arrays of records and primitive values in chunks in parallel on the
+    # common Java `ForkJoinPool`. The encoded value is the same as the one returned by `serialize`. Arrays with fewer
+    # elements than the threshold, and arrays nested in the elements of an array encoded in parallel, are encoded
+    # sequentially. The calling strand waits until the whole value is encoded.
+    #
+    # + data - The value that is being serialized
+    # + parallelThreshold - The minimum number of elements of an array for it to be encoded in parallel
+    # + return - A byte array corresponding to the encoded value
+    public isolated function serializeParallel(anydata data, int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD)
+                                               returns byte[]|Error {
+        return serializeParallel(self, data, parallelThreshold, self.dataType);
+    }
+
     # Deserializes a given array of bytes.
     #
     # + encodedMessage - The encoded byte array of the value that is serialized
@@ -45,6 +70,160 @@ public class Proto3SerDes {
     public isolated function deserialize(byte[] encodedMessage) returns anydata|Error {
         return deserialize(self, encodedMessage, self.dataType);
     }
+
+    # Deserializes a given array of bytes, decoding the elements of large arrays of records, and of other structured
+    # values, in parallel on the common Java `ForkJoinPool`. Arrays with fewer elements than the threshold, and arrays
+    # nested in the elements of an array decoded in parallel, are decoded sequentially. The calling strand waits until
+    # the whole value is decoded.
+    #
+    # + encodedMessage - The encoded byte array of the value that is serialized
+    # + parallelThreshold - The minimum number of elements of an array for its elements to be decoded in parallel
+    # + return - The value represented by the encoded byte array
+    public isolated function deserializeParallel(byte[] encodedMessage,
+                                                 int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD)
+                                                 returns anydata|Error {
+        return deserializeParallel(self, encodedMessage, parallelThreshold, self.dataType);
+    }
+
+    # Deserializes only the selected fields of a record from a given array of bytes. The other fields are skipped
+    # without being decoded, so reading a few fields of a large record costs much less than deserializing it.
+    # The names of nested fields are separated by dots in a field path, like `address.country`, and the fields selected
+    # in an array of records are selected in each of its records.
+    #
+    # + encodedMessage - The encoded byte array of the record that is serialized
+    # + fieldPaths - The paths of the fields that are deserialized
+    # + return - A `map<anydata>` holding only the selected fields that are present in the encoded record, in which the
+    #            nested records of which only some fields are selected are `map<anydata>` values as well
+    public isolated function deserializeFields(byte[] encodedMessage, string[] fieldPaths) returns anydata|Error {
+        return deserializeFields(self, encodedMessage, fieldPaths, self.dataType);
+    }
+
+    # Reads a single field of a record from a given array of bytes, skipping the other fields without decoding them.
+    # The names of nested fields are separated by dots in the field path, and an element of an array is selected by
+    # its index, like `contacts[3].mobile`.
+    #
+    # + encodedMessage - The encoded byte array of the record that is serialized
+    # + fieldPath - The path of the field that is read
+    # + return - The value of the field, or `()` if the encoded record does not have it
+    public isolated function extractField(byte[] encodedMessage, string fieldPath) returns anydata|Error {
+        return extractField(self, encodedMessage, fieldPath, self.dataType);
+    }
+
+    # Serializes a given value into a byte array that is provided by the caller, so that no byte array is created for
+    # the encoded value. The bytes of the array after the encoded value are not changed.
+    #
+    # + data - The value that is being serialized
+    # + destination - The byte array into which the encoded value is written
+    # + offset - The index of the destination at which the encoded value is written
+    # + return - The number of bytes written, or a `serdes:Error` if the encoded value does not fit in the destination
+    #            from the offset
+    public isolated function serializeInto(anydata data, byte[] destination, int offset = 0) returns int|Error {
+        return serializeInto(self, data, destination, offset, self.dataType);
+    }
+
+    # Computes the number of bytes of the encoded value of a given value without encoding it, so that a buffer can be
+    # allocated for `serializeInto`, or a maximum message size enforced, before the value is serialized.
+    #
+    # + data - The value of which the encoded size is computed
+    # + return - The number of bytes of the encoded value
+    public isolated function computeSerializedSize(anydata data) returns int|Error {
+        return computeSerializedSize(self, data, self.dataType);
+    }
+
+    # Checks whether a given value matches the data type without serializing it, which makes it cheap enough to
+    # check every value received before it is processed.
+    #
+    # + data - The value that is being checked
+    # + return - A `serdes:TypeMismatchError` with the path of the mismatched value if the value does not match the
+    #            data type else nil
+    public isolated function validate(anydata data) returns Error? {
+        return validate(self, data, self.dataType);
+    }
+
+    # Serializes a given value and prefixes it with the 8-byte fingerprint of the schema of the data type, so that a
+    # `serdes:SchemaRegistry` can find the data type of the value when deserializing it.
+    #
+    # + data - The value that is being serialized
+    # + return - A byte array corresponding to the schema fingerprint and the encoded value
+    public isolated function serializeWithFingerprint(anydata data) returns byte[]|Error {
+        return serializeWithFingerprint(self, data, self.dataType);
+    }
+
+    # Deserializes an array of bytes produced by `serializeWithFingerprint`.
+    #
+    # + encodedMessage - The byte array of the schema fingerprint and the encoded value
+    # + return - The value represented by the encoded byte array, or a `serdes:Error` if the schema fingerprint does
+    #            not match the data type
+    public isolated function deserializeWithFingerprint(byte[] encodedMessage) returns anydata|Error {
+        return deserializeWithFingerprint(self, encodedMessage, self.dataType);
+    }
+
+    # Deserializes the encoded value held in a Java `ByteBuffer` between its position and limit. Heap, direct and
+    # memory-mapped buffers are read in place without copying them into a byte array, and the position of the buffer
+    # is not changed.
+    #
+    # + byteBuffer - Handle to the `java.nio.ByteBuffer` holding the encoded value
+    # + return - The value represented by the encoded bytes
+    public isolated function deserializeByteBuffer(handle byteBuffer) returns anydata|Error {
+        return deserializeByteBuffer(self, byteBuffer, self.dataType);
+    }
+
+    # Serializes a batch of values into a single array of bytes, in which each encoded value is preceded by its
+    # length.
+    #
+    # + data - The values that are being serialized
+    # + return - A byte array corresponding to the length-delimited encoded values
+    public isolated function serializeBatch(anydata[] data) returns byte[]|Error {
+        return serializeBatch(self, data, self.dataType);
+    }
+
+    # Serializes the given values and writes them to a byte channel in the format of `serializeBatch`. The values
+    # are encoded through a buffer of the given size, which is written to the channel whenever it is full, so only
+    # one buffer of the encoded bytes is held in memory at a time, however large the values are. If a value cannot
+    # be serialized, the values before it are already written to the channel.
+    #
+    # + data - The values that are being serialized
+    # + channel - The byte channel to which the length-delimited encoded values are written
+    # + bufferSize - The number of encoded bytes that are written to the channel at a time
+    # + return - `serdes:Error` if a value cannot be serialized or the channel cannot be written to else nil
+    public isolated function serializeToChannel(anydata[] data, io:WritableByteChannel channel,
+                                                int bufferSize = DEFAULT_STREAM_BUFFER_SIZE) returns Error? {
+        ChannelEncoder encoder = new(self, data, bufferSize);
+        while true {
+            byte[]? chunk = check encoder.next();
+            if chunk is () {
+                return;
+            }
+
+            Error? result = writeToChannel(channel, chunk);
+            if result is Error {
+                encoder.cancel();
+                return result;
+            }
+        }
+    }
+
+    # Deserializes an array of bytes produced by `serializeBatch`.
+    #
+    # + encodedMessages - The byte array of the length-delimited encoded values
+    # + return - An array of the values represented by the encoded byte array, in the order they were serialized
+    public isolated function deserializeBatch(byte[] encodedMessages) returns anydata[]|Error {
+        return deserializeBatch(self, encodedMessages, self.dataType);
+    }
+
+    # Deserializes length-delimited encoded values, in the format of `serializeBatch`, from a stream of byte arrays
+    # or a byte channel. Values are deserialized lazily as the returned stream is iterated, and only the bytes of the
+    # value that is being deserialized are held in memory. The byte arrays of the input do not need to be aligned to
+    # the encoded values. Closing the returned stream closes the input as well.
+    #
+    # + input - The stream of byte arrays or the byte channel from which the encoded values are read
+    # + return - A stream of the deserialized values, which ends with an `serdes:Error` if the input cannot be read or
+    #            a value cannot be deserialized
+    public isolated function deserializeStream(stream<byte[], error?>|io:ReadableByteChannel input)
+                                               returns stream<anydata, Error?> {
+        DeserializedValueIterator iterator = new(self, input);
+        return new stream<anydata, Error?>(iterator);
+    }
 }
 
 public isolated function generateSchema(SerDes serdes, typedesc<anydata> T) returns Error? =
@@ -52,11 +231,85 @@ public isolated function generateSchema(SerDes serdes, typedesc<anydata> T) retu
     'class: "io.ballerina.stdlib.serdes.SchemaGenerator"
 }  external;
 
+isolated function loadSchema(SerDes serdes, typedesc<anydata> T, byte[] schema) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.serdes.SchemaGenerator"
+} external;
+
 public isolated function serialize(SerDes ser, anydata data, typedesc<anydata> T) returns byte[]|Error = @java:Method {
     'class: "io.ballerina.stdlib.serdes.Serializer"
 }  external;
 
+public isolated function serializeParallel(SerDes ser, anydata data, int parallelThreshold, typedesc<anydata> T)
+                                           returns byte[]|Error = @java:Method {
+    'class: "io.ballerina.stdlib.serdes.Serializer"
+}  external;
+
 public isolated function deserialize(SerDes des, byte[] encodedMessage, typedesc<anydata> T) returns anydata|Error =
 @java:Method {
     'class: "io.ballerina.stdlib.serdes.Deserializer"
 }  external;
+
+public isolated function deserializeParallel(SerDes des, byte[] encodedMessage, int parallelThreshold,
+                                             typedesc<anydata> T) returns anydata|Error = @java:Method {
+    'class: "io.ballerina.stdlib.serdes.Deserializer"
+}  external;
+
+public isolated function deserializeFields(SerDes des, byte[] encodedMessage, string[] fieldPaths, typedesc<anydata> T)
+                                           returns anydata|Error = @java:Method {
+    'class: "io.ballerina.stdlib.serdes.Deserializer"
+}  external;
+
+public isolated function extractField(SerDes des, byte[] encodedMessage, string fieldPath, typedesc<anydata> T)
+                                      returns anydata|Error = @java:Method {
+    'class: "io.ballerina.stdlib.serdes.Deserializer"
+}  external;
+
+public isolated function serializeInto(SerDes ser, anydata data, byte[] destination, int offset, typedesc<anydata> T)
+                                       returns int|Error = @java:Method {
+    'class: "io.ballerina.stdlib.serdes.Serializer"
+}  external;
+
+public isolated function computeSerializedSize(SerDes ser, anydata data, typedesc<anydata> T) returns int|Error =
+@java:Method {
+    'class: "io.ballerina.stdlib.serdes.Serializer"
+}  external;
+
+public isolated function validate(SerDes ser, anydata data, typedesc<anydata> T) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.serdes.Serializer"
+}  external;
+
+public isolated function serializeWithFingerprint(SerDes ser, anydata data, typedesc<anydata> T)
+                                                  returns byte[]|Error = @java:Method {
+    'class: "io.ballerina.stdlib.serdes.Serializer"
+}  external;
+
+public isolated function deserializeWithFingerprint(SerDes des, byte[] encodedMessage, typedesc<anydata> T)
+                                                    returns anydata|Error = @java:Method {
+    'class: "io.ballerina.stdlib.serdes.Deserializer"
+}  external;
+
+public isolated function deserializeByteBuffer(SerDes des, handle byteBuffer, typedesc<anydata> T)
+                                               returns anydata|Error = @java:Method {
+    'class: "io.ballerina.stdlib.serdes.Deserializer"
+}  external;
+
+public isolated function serializeBatch(SerDes ser, anydata[] data, typedesc<anydata> T) returns byte[]|Error =
+@java:Method {
+    'class: "io.ballerina.stdlib.serdes.Serializer"
+}  external;
+
+public isolated function deserializeBatch(SerDes des, byte[] encodedMessages, typedesc<anydata> T)
+                                          returns anydata[]|Error = @java:Method {
+    'class: "io.ballerina.stdlib.serdes.Deserializer"
+}  external;
+
+isolated function writeToChannel(io:WritableByteChannel channel, byte[] content) returns Error? {
+    int offset = 0;
+    while offset < content.length() {
+        int|io:Error written = channel.write(content, offset);
+        if written is io:Error {
+            return error Error("Failed to write serialized data: " + written.message(), written);
+        }
+        offset += written;
+    }
+}
@@ -0,0 +1,61 @@
+// Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# Statistics of the process-wide schema cache shared by all `Proto3SerDes` objects.
+#
+# + hits - Number of times a schema was found in the cache
+# + misses - Number of times a schema had to be generated
+# + evictions - Number of schemas removed from the cache to keep it within its capacity
+# + size - Number of schemas currently in the cache
+# + capacity - Maximum number of schemas kept in the cache
+public type SchemaCacheStatistics record {|
+    int hits;
+    int misses;
+    int evictions;
+    int size;
+    int capacity;
+|};
+
+# Generates the schemas of the given data types ahead of time, so that `Proto3SerDes` objects created later
+# for these types only look up the schema cache. Can be called from a module `init` function.
+#
+# + types - The data types of which the schemas are generated
+# + return - `serdes:Error` if a data type is not supported else nil
+public isolated function prewarmSchemaCache(typedesc<anydata>... types) returns Error? {
+    foreach typedesc<anydata> T in types {
+        check prewarmSchema(T);
+    }
+}
+
+# Returns the hit, miss and eviction counts of the schema cache.
+#
+# + return - Statistics of the schema cache
+public isolated function getSchemaCacheStatistics() returns SchemaCacheStatistics = @java:Method {
+    'class: "io.ballerina.stdlib.serdes.SchemaCache"
+} external;
+
+# Sets the maximum number of schemas kept in the schema cache. The least recently used schemas are evicted first.
+#
+# + capacity - Maximum number of cached schemas
+public isolated function setSchemaCacheCapacity(int capacity) = @java:Method {
+    'class: "io.ballerina.stdlib.serdes.SchemaCache"
+} external;
+
+isolated function prewarmSchema(typedesc<anydata> T) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.serdes.SchemaGenerator"
+} external;
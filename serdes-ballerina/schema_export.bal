@@ -0,0 +1,35 @@
+// Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/jballerina.java;
+
+# Exports the schema of a data type as the bytes of a Protobuf `FileDescriptorSet`. The exported schema can be
+# stored, for example at build time, and passed to `Proto3SerDes` later so that the schema is not generated again.
+#
+# + dataType - The data type of which the schema is exported
+# + return - The bytes of the `FileDescriptorSet` of the schema, or a `serdes:Error` if the data type is not supported
+public isolated function exportSchema(typedesc<anydata> dataType) returns byte[]|Error = @java:Method {
+    'class: "io.ballerina.stdlib.serdes.SchemaGenerator"
+} external;
+
+# Exports the schema of a data type in the `.proto` file format.
+#
+# + dataType - The data type of which the schema is exported
+# + return - The `.proto` file of the schema, or a `serdes:Error` if the data type is not supported
+public isolated function exportSchemaAsProto(typedesc<anydata> dataType) returns string|Error = @java:Method {
+    'class: "io.ballerina.stdlib.serdes.SchemaGenerator"
+} external;
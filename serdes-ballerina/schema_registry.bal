@@ -0,0 +1,75 @@
+// Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# Holds the `Proto3SerDes` objects of many data types and finds the one of a value serialized with
+# `Proto3SerDes.serializeWithFingerprint` from the schema fingerprint that precedes it, so that values of different
+# data types can be read from the same source.
+public class SchemaRegistry {
+
+    # Creates a registry holding the given data types.
+    #
+    # + dataTypes - The data types that are registered
+    # + return - `serdes:Error` if a data type is not supported else nil
+    public isolated function init(typedesc<anydata>... dataTypes) returns Error? {
+        initSchemaRegistry(self);
+        foreach typedesc<anydata> dataType in dataTypes {
+            _ = check self.register(dataType);
+        }
+    }
+
+    # Registers a data type. A data type that is registered again replaces the one registered earlier.
+    #
+    # + dataType - The data type that is registered
+    # + return - The `Proto3SerDes` of the data type, or a `serdes:Error` if the data type is not supported
+    public isolated function register(typedesc<anydata> dataType) returns Proto3SerDes|Error {
+        Proto3SerDes serdes = check new(dataType);
+        registerSerDes(self, serdes);
+        return serdes;
+    }
+
+    # Returns the `Proto3SerDes` of the data type of a value serialized with its schema fingerprint.
+    #
+    # + encodedMessage - The byte array of the schema fingerprint and the encoded value
+    # + return - The `Proto3SerDes` registered for the schema fingerprint, or a `serdes:Error` if there is none
+    public isolated function getSerDes(byte[] encodedMessage) returns Proto3SerDes|Error {
+        return findSerDes(self, encodedMessage);
+    }
+
+    # Deserializes a value serialized with its schema fingerprint using the `Proto3SerDes` of its data type.
+    #
+    # + encodedMessage - The byte array of the schema fingerprint and the encoded value
+    # + return - The value represented by the encoded byte array, or a `serdes:Error` if no data type is registered
+    #            for the schema fingerprint
+    public isolated function deserialize(byte[] encodedMessage) returns anydata|Error {
+        Proto3SerDes serdes = check findSerDes(self, encodedMessage);
+        return serdes.deserializeWithFingerprint(encodedMessage);
+    }
+}
+
+isolated function initSchemaRegistry(SchemaRegistry registry) = @java:Method {
+    'class: "io.ballerina.stdlib.serdes.SchemaRegistry"
+} external;
+
+isolated function registerSerDes(SchemaRegistry registry, Proto3SerDes serdes) = @java:Method {
+    'class: "io.ballerina.stdlib.serdes.SchemaRegistry"
+} external;
+
+isolated function findSerDes(SchemaRegistry registry, byte[] encodedMessage) returns Proto3SerDes|Error =
+@java:Method {
+    'class: "io.ballerina.stdlib.serdes.SchemaRegistry"
+} external;
@@ -16,3 +16,19 @@
 
 # Returns for schema generation failures
 public type Error distinct error;
+
+# Returns for schemas loaded for a data type that are not the schema generated for it
+public type SchemaMismatchError distinct Error;
+
+# Details of a `serdes:TypeMismatchError`.
+#
+# + fieldPath - The path of the mismatched value from the serialized value, such as `members[1].id`, which is empty
+#               if the serialized value itself is mismatched
+# + expectedType - The name of the type the mismatched value was expected to be
+public type TypeMismatchDetail record {|
+    string fieldPath;
+    string expectedType;
+|};
+
+# Returns for values that do not match the data type they are serialized as
+public type TypeMismatchError distinct (Error & error<TypeMismatchDetail>);
@@ -0,0 +1,68 @@
+// Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/test;
+
+type BatchContact record {
+    string mobile;
+    string home;
+};
+
+@test:Config{}
+public isolated function testRecordBatch() returns error? {
+    BatchContact[] contacts = [];
+    foreach int i in 0 ..< 1000 {
+        contacts.push({mobile: "+94 77 " + i.toString(), home: "+94 11 " + i.toString()});
+    }
+
+    Proto3SerDes ser = check new(BatchContact);
+    byte[] encoded = check ser.serializeBatch(contacts);
+
+    Proto3SerDes des = check new(BatchContact);
+    BatchContact[] decoded = <BatchContact[]>check des.deserializeBatch(encoded);
+    test:assertEquals(decoded, contacts);
+}
+
+@test:Config{}
+public isolated function testPrimitiveBatch() returns error? {
+    int[] values = [0, -1, 666, int:MAX_VALUE, int:MIN_VALUE];
+
+    Proto3SerDes ser = check new(int);
+    byte[] encoded = check ser.serializeBatch(values);
+
+    int[] decoded = <int[]>check ser.deserializeBatch(encoded);
+    test:assertEquals(decoded, values);
+}
+
+@test:Config{}
+public isolated function testEmptyBatch() returns error? {
+    Proto3SerDes ser = check new(BatchContact);
+    byte[] encoded = check ser.serializeBatch([]);
+    test:assertEquals(encoded.length(), 0);
+
+    BatchContact[] decoded = <BatchContact[]>check ser.deserializeBatch(encoded);
+    test:assertEquals(decoded.length(), 0);
+}
+
+@test:Config{}
+public isolated function testTruncatedBatch() returns error? {
+    Proto3SerDes ser = check new(BatchContact);
+    byte[] encoded = check ser.serializeBatch([{mobile: "+123456", home: "789"}]);
+
+    anydata[]|Error result = ser.deserializeBatch(encoded.slice(0, encoded.length() - 1));
+    test:assertTrue(result is Error);
+}
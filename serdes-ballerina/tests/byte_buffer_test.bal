@@ -0,0 +1,80 @@
+// Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/jballerina.java;
+import ballerina/test;
+
+@test:Config{}
+public isolated function testDeserializeHeapByteBuffer() returns error? {
+    Proto3SerDes ser = check new(Student);
+    Student student = {
+        name: "Jane",
+        age: 20,
+        img: [174, 238, 205],
+        contacts: [{mobile: "+123456", home: "789"}],
+        address: {street: {street1: "Palm Grove", street2: "Colombo 03"}, country: "Sri Lanka"}
+    };
+    byte[] encoded = check ser.serialize(student);
+
+    Student decoded = <Student>check ser.deserializeByteBuffer(wrapBytes(encoded));
+    test:assertEquals(decoded, student);
+}
+
+@test:Config{}
+public isolated function testDeserializeDirectByteBuffer() returns error? {
+    Proto3SerDes ser = check new(StringArray);
+    byte[] encoded = check ser.serialize(["Jane", "Doe"]);
+
+    handle buffer = allocateDirect(encoded.length());
+    _ = putBytes(buffer, encoded);
+    _ = flip(buffer);
+
+    StringArray decoded = <StringArray>check ser.deserializeByteBuffer(buffer);
+    test:assertEquals(decoded, ["Jane", "Doe"]);
+
+    // The position of the buffer is left unchanged, so it can be deserialized again
+    decoded = <StringArray>check ser.deserializeByteBuffer(buffer);
+    test:assertEquals(decoded, ["Jane", "Doe"]);
+}
+
+@test:Config{}
+public isolated function testDeserializeInvalidHandle() returns error? {
+    Proto3SerDes ser = check new(StringArray);
+
+    anydata|Error result = ser.deserializeByteBuffer(java:fromString("not a buffer"));
+    test:assertTrue(result is Error);
+}
+
+isolated function wrapBytes(byte[] bytes) returns handle = @java:Method {
+    name: "wrap",
+    'class: "java.nio.ByteBuffer",
+    paramTypes: [{'class: "byte", dimensions: 1}]
+} external;
+
+isolated function allocateDirect(int capacity) returns handle = @java:Method {
+    'class: "java.nio.ByteBuffer"
+} external;
+
+isolated function putBytes(handle buffer, byte[] bytes) returns handle = @java:Method {
+    name: "put",
+    'class: "java.nio.ByteBuffer",
+    paramTypes: [{'class: "byte", dimensions: 1}]
+} external;
+
+isolated function flip(handle buffer) returns handle = @java:Method {
+    'class: "java.nio.ByteBuffer"
+} external;
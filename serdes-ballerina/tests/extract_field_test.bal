@@ -0,0 +1,79 @@
+// Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/test;
+
+type Roster record {
+    string team;
+    Student[] students;
+    int[] scores;
+    int[][] rounds;
+};
+
+@test:Config{}
+public isolated function testExtractField() returns error? {
+    Student jane = {
+        name: "Jane",
+        age: 21,
+        img: [1, 2, 3, 4],
+        contacts: [{mobile: "0771", home: "0111"}, {mobile: "0772", home: "0112"}],
+        address: {street: {street1: "Main Street", street2: "Lane 2"}, country: "Sri Lanka"}
+    };
+    Student john = {
+        name: "John",
+        age: 22,
+        img: [],
+        contacts: [],
+        address: {street: {street1: "Hill Street", street2: "Lane 5"}, country: "India"}
+    };
+    Roster roster = {team: "Blue", students: [jane, john], scores: [10, -20, 300], rounds: [[1, 2], [3, 4, 5]]};
+
+    Proto3SerDes ser = check new(Roster);
+    byte[] encoded = check ser.serialize(roster);
+
+    test:assertEquals(check ser.extractField(encoded, "team"), "Blue");
+    test:assertEquals(check ser.extractField(encoded, "students[1].address.country"), "India");
+    test:assertEquals(check ser.extractField(encoded, "students[0].contacts[1].mobile"), "0772");
+    test:assertEquals(check ser.extractField(encoded, "students[0].img[2]"), <byte>3);
+    test:assertEquals(check ser.extractField(encoded, "students[1].address"), john.address);
+    test:assertEquals(check ser.extractField(encoded, "scores"), roster.scores);
+    test:assertEquals(check ser.extractField(encoded, "scores[1]"), -20);
+    test:assertEquals(check ser.extractField(encoded, "rounds[1][2]"), 5);
+
+    test:assertEquals(check ser.extractField(encoded, "students[2].name"), ());
+    test:assertEquals(check ser.extractField(encoded, "scores[3]"), ());
+}
+
+@test:Config{}
+public isolated function testExtractFieldInvalidPaths() returns error? {
+    Roster roster = {team: "Blue", students: [], scores: [], rounds: []};
+
+    Proto3SerDes ser = check new(Roster);
+    byte[] encoded = check ser.serialize(roster);
+
+    anydata|Error value = ser.extractField(encoded, "coach");
+    test:assertTrue(value is Error);
+
+    value = ser.extractField(encoded, "team[0]");
+    test:assertTrue(value is Error);
+
+    value = ser.extractField(encoded, "students.name");
+    test:assertTrue(value is Error);
+
+    value = ser.extractField(encoded, "scores[first]");
+    test:assertTrue(value is Error);
+}
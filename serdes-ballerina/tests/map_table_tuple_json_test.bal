@@ -0,0 +1,153 @@
+// Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/test;
+
+type Inventory record {
+    string warehouse;
+    map<int> stock;
+    table<Item> items;
+    [string, decimal] location;
+    json metadata;
+};
+
+type Item record {
+    string sku;
+    int quantity;
+};
+
+type Counters map<int>;
+
+type ItemTable table<Item>;
+
+type Pair [int, string];
+
+type Labels [int, string...];
+
+type OptionalInventory record {
+    map<int>? stock;
+    table<Item>? items;
+    Pair? location;
+    int|json metadata;
+};
+
+@test:Config{}
+public isolated function testMapSerDe() returns error? {
+    Counters counters = {apples: 10, oranges: -4, pears: 0};
+
+    Proto3SerDes ser = check new(Counters);
+    byte[] encoded = check ser.serialize(counters);
+
+    Proto3SerDes des = check new(Counters);
+    Counters decoded = <Counters>check des.deserialize(encoded);
+    test:assertEquals(decoded, counters);
+}
+
+@test:Config{}
+public isolated function testTableSerDe() returns error? {
+    ItemTable items = table [
+        {sku: "A-1", quantity: 3},
+        {sku: "B-2", quantity: 0}
+    ];
+
+    Proto3SerDes ser = check new(ItemTable);
+    byte[] encoded = check ser.serialize(items);
+
+    Proto3SerDes des = check new(ItemTable);
+    ItemTable decoded = <ItemTable>check des.deserialize(encoded);
+    test:assertEquals(decoded.toArray(), items.toArray());
+}
+
+@test:Config{}
+public isolated function testTupleSerDe() returns error? {
+    Pair pair = [7, "seven"];
+    Proto3SerDes pairSer = check new(Pair);
+    Pair decodedPair = <Pair>check pairSer.deserialize(check pairSer.serialize(pair));
+    test:assertEquals(decodedPair, pair);
+
+    Labels labels = [3, "a", "", "c"];
+    Proto3SerDes labelSer = check new(Labels);
+    Labels decodedLabels = <Labels>check labelSer.deserialize(check labelSer.serialize(labels));
+    test:assertEquals(decodedLabels, labels);
+}
+
+@test:Config{}
+public isolated function testJsonSerDe() returns error? {
+    json document = {name: "serdes", version: 2, ratio: 0.5, tags: ["fast", (), true], nested: {empty: {}}};
+
+    Proto3SerDes ser = check new(json);
+    byte[] encoded = check ser.serialize(document);
+
+    Proto3SerDes des = check new(json);
+    json decoded = <json>check des.deserialize(encoded);
+    test:assertEquals(decoded, document);
+}
+
+@test:Config{}
+public isolated function testRecordWithMapTableTupleAndJson() returns error? {
+    Inventory inventory = {
+        warehouse: "north",
+        stock: {bolts: 500, nuts: 750},
+        items: table [{sku: "A-1", quantity: 3}],
+        location: ["dock", 4.25],
+        metadata: {audited: true, shelves: [1, 2, 3]}
+    };
+
+    Proto3SerDes ser = check new(Inventory);
+    byte[] encoded = check ser.serialize(inventory);
+    test:assertEquals(check ser.computeSerializedSize(inventory), encoded.length);
+
+    Proto3SerDes des = check new(Inventory);
+    Inventory decoded = <Inventory>check des.deserialize(encoded);
+    test:assertEquals(decoded.warehouse, inventory.warehouse);
+    test:assertEquals(decoded.stock, inventory.stock);
+    test:assertEquals(decoded.items.toArray(), inventory.items.toArray());
+    test:assertEquals(decoded.location, inventory.location);
+    test:assertEquals(decoded.metadata, inventory.metadata);
+
+    map<int> stock = <map<int>>check des.extractField(encoded, "stock");
+    test:assertEquals(stock, inventory.stock);
+}
+
+@test:Config{}
+public isolated function testMapExportedAsProtobufMap() returns error? {
+    string proto = check exportSchemaAsProto(Counters);
+    test:assertTrue(proto.includes("map<string, sint64> mapfield = 1;"));
+}
+
+@test:Config{}
+public isolated function testNilableMapTableTupleAndJsonFields() returns error? {
+    OptionalInventory inventory = {
+        stock: {bolts: 500},
+        items: table [{sku: "A-1", quantity: 3}],
+        location: [4, "dock"],
+        metadata: {audited: true}
+    };
+    Proto3SerDes ser = check new(OptionalInventory);
+    OptionalInventory decoded = <OptionalInventory>check ser.deserialize(check ser.serialize(inventory));
+    test:assertEquals(decoded.stock, inventory.stock);
+    test:assertEquals((<table<Item>>decoded.items).toArray(), (<table<Item>>inventory.items).toArray());
+    test:assertEquals(decoded.location, inventory.location);
+    test:assertEquals(decoded.metadata, inventory.metadata);
+
+    OptionalInventory empty = {stock: (), items: (), location: (), metadata: 7};
+    decoded = <OptionalInventory>check ser.deserialize(check ser.serialize(empty));
+    test:assertEquals(decoded.stock, ());
+    test:assertEquals(decoded.items, ());
+    test:assertEquals(decoded.location, ());
+    test:assertEquals(decoded.metadata, 7);
+}
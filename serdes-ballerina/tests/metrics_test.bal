@@ -0,0 +1,70 @@
+// Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/test;
+
+type MeteredReading record {
+    string sensor;
+    int value;
+};
+
+@test:Config{}
+function testMetrics() returns error? {
+    resetMetrics();
+    enableMetrics();
+
+    Proto3SerDes ser = check new(MeteredReading);
+    byte[] encoded = check ser.serialize({sensor: "s1", value: 42});
+    _ = check ser.serialize({sensor: "s2", value: -1});
+    _ = check ser.deserialize(encoded);
+    anydata|Error invalid = ser.deserialize([0x0a, 0x05]);
+    test:assertTrue(invalid is Error);
+
+    // Every function that serializes or deserializes values is recorded
+    _ = check ser.serializeBatch([{sensor: "s4", value: 4}]);
+    _ = check ser.extractField(encoded, "sensor");
+
+    // The schema of the second object is found in the schema cache
+    Proto3SerDes des = check new(MeteredReading);
+    _ = check des.deserializeWithFingerprint(check ser.serializeWithFingerprint({sensor: "s5", value: 5}));
+
+    enableMetrics(false);
+    // Nothing is recorded while metrics are disabled
+    _ = check ser.serialize({sensor: "s3", value: 0});
+
+    DataTypeMetrics[] metrics = getMetrics().filter(m => m.dataType.endsWith("MeteredReading"));
+    test:assertEquals(metrics.length(), 1);
+
+    DataTypeMetrics readingMetrics = metrics[0];
+    test:assertEquals(readingMetrics.schemaGeneration.count, 1);
+    test:assertEquals(readingMetrics.schemaGeneration.errorCount, 0);
+    test:assertEquals(readingMetrics.schemaCacheHits, 1);
+
+    test:assertEquals(readingMetrics.serialization.count, 4);
+    test:assertEquals(readingMetrics.serialization.errorCount, 0);
+    test:assertEquals(readingMetrics.serialization.size.count, 4);
+    // The largest value is the one preceded by its 8 byte schema fingerprint
+    test:assertEquals(readingMetrics.serialization.size.max, encoded.length() + 8);
+    test:assertEquals(readingMetrics.serialization.latency.count, 4);
+
+    test:assertEquals(readingMetrics.deserialization.count, 4);
+    test:assertEquals(readingMetrics.deserialization.errorCount, 1);
+    test:assertEquals(readingMetrics.deserialization.size.count, 3);
+
+    resetMetrics();
+    test:assertEquals(getMetrics().filter(m => m.dataType.endsWith("MeteredReading")).length(), 0);
+}
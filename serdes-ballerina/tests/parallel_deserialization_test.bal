@@ -0,0 +1,75 @@
+// Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/test;
+
+type Classroom record {
+    string name;
+    Student[] students;
+    Contact[][] contactGroups;
+};
+
+@test:Config{}
+public isolated function testDeserializeParallel() returns error? {
+    Student[] students = [];
+    foreach int i in 0 ..< 2000 {
+        students.push({
+            name: "student" + i.toString(),
+            age: i,
+            img: [1, 2, 3],
+            contacts: [{mobile: "m" + i.toString(), home: "h" + i.toString()}],
+            address: {street: {street1: "first", street2: "second"}, country: "country" + i.toString()}
+        });
+    }
+    Classroom classroom = {
+        name: "large",
+        students: students,
+        contactGroups: [[{mobile: "1", home: "2"}], [], [{mobile: "3", home: "4"}, {mobile: "5", home: "6"}]]
+    };
+
+    Proto3SerDes ser = check new(Classroom);
+    byte[] encoded = check ser.serialize(classroom);
+
+    Classroom decoded = <Classroom>check ser.deserializeParallel(encoded);
+    test:assertEquals(decoded, classroom);
+
+    // Every array is decoded in parallel with the lowest threshold, and sequentially with a threshold above its length
+    test:assertEquals(<Classroom>check ser.deserializeParallel(encoded, 1), classroom);
+    test:assertEquals(<Classroom>check ser.deserializeParallel(encoded, 5000), classroom);
+}
+
+@test:Config{}
+public isolated function testDeserializeParallelRecordArray() returns error? {
+    RecordArray contacts = [];
+    foreach int i in 0 ..< 3000 {
+        contacts.push({mobile: i.toString(), home: ""});
+    }
+
+    Proto3SerDes ser = check new(RecordArray);
+    RecordArray decoded = <RecordArray>check ser.deserializeParallel(check ser.serialize(contacts), 100);
+    test:assertEquals(decoded, contacts);
+}
+
+@test:Config{}
+public isolated function testDeserializeParallelInvalidData() returns error? {
+    Proto3SerDes ser = check new(RecordArray);
+    RecordArray contacts = [{mobile: "0771", home: "0112"}, {mobile: "0772", home: "0113"}];
+    byte[] encoded = check ser.serialize(contacts);
+
+    anydata|Error decoded = ser.deserializeParallel(encoded.slice(0, encoded.length() - 3), 1);
+    test:assertTrue(decoded is Error);
+}
@@ -0,0 +1,63 @@
+// Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/test;
+
+type SensorLog record {
+    string sensor;
+    int[] readings;
+    float[] levels;
+    boolean[] alarms;
+    string[] labels;
+    Contact[] contacts;
+    int[][] windows;
+};
+
+@test:Config{}
+public isolated function testSerializeParallel() returns error? {
+    SensorLog log = {sensor: "s1", readings: [], levels: [], alarms: [], labels: [], contacts: [], windows: []};
+    foreach int i in 0 ..< 3000 {
+        log.readings.push(i * 7919 - 100000);
+        log.levels.push(<float>i / 7.0);
+        log.alarms.push(i % 5 == 0);
+        log.labels.push("label" + i.toString());
+        log.contacts.push({mobile: "m" + i.toString(), home: "h" + i.toString()});
+        log.windows.push([i, i + 1]);
+    }
+
+    Proto3SerDes ser = check new(SensorLog);
+    byte[] encoded = check ser.serialize(log);
+
+    // The encoded value does not depend on how the arrays are split into chunks
+    test:assertEquals(check ser.serializeParallel(log), encoded);
+    test:assertEquals(check ser.serializeParallel(log, 1), encoded);
+    test:assertEquals(check ser.serializeParallel(log, 5000), encoded);
+
+    SensorLog decoded = <SensorLog>check ser.deserializeParallel(check ser.serializeParallel(log, 100));
+    test:assertEquals(decoded, log);
+}
+
+@test:Config{}
+public isolated function testSerializeParallelTopLevelArray() returns error? {
+    RecordArray contacts = [];
+    foreach int i in 0 ..< 2000 {
+        contacts.push({mobile: i.toString(), home: ""});
+    }
+
+    Proto3SerDes ser = check new(RecordArray);
+    test:assertEquals(check ser.serializeParallel(contacts, 10), check ser.serialize(contacts));
+}
@@ -0,0 +1,105 @@
+// Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/test;
+
+@test:Config{}
+public isolated function testDeserializeFields() returns error? {
+    Student student = {
+        name: "Jane",
+        age: 21,
+        img: [1, 2, 3, 4],
+        contacts: [{mobile: "0771", home: "0111"}, {mobile: "0772", home: "0112"}],
+        address: {street: {street1: "Main Street", street2: "Lane 2"}, country: "Sri Lanka"}
+    };
+
+    Proto3SerDes ser = check new(Student);
+    byte[] encoded = check ser.serialize(student);
+
+    Proto3SerDes des = check new(Student);
+    map<anydata> decoded = <map<anydata>>check des.deserializeFields(encoded, ["name", "address.country"]);
+    test:assertEquals(decoded.keys().length(), 2);
+    test:assertEquals(decoded["name"], "Jane");
+    map<anydata> address = <map<anydata>>decoded["address"];
+    test:assertEquals(address.keys(), ["country"]);
+    test:assertEquals(address["country"], "Sri Lanka");
+
+    decoded = <map<anydata>>check des.deserializeFields(encoded, ["contacts.mobile"]);
+    anydata[] contacts = <anydata[]>decoded["contacts"];
+    test:assertEquals(contacts.length(), 2);
+    test:assertEquals((<map<anydata>>contacts[1]).keys(), ["mobile"]);
+    test:assertEquals((<map<anydata>>contacts[1])["mobile"], "0772");
+
+    decoded = <map<anydata>>check des.deserializeFields(encoded, ["address", "address.country"]);
+    test:assertEquals(decoded["address"], student.address);
+}
+
+@test:Config{}
+public isolated function testDeserializeFieldsIsNotRecordOfDataType() returns error? {
+    byte[] img = [];
+    img.setLength(1024 * 1024);
+    Student student = {
+        name: "Jane",
+        age: 21,
+        img: img,
+        contacts: [{mobile: "0771", home: "0111"}],
+        address: {street: {street1: "Main Street", street2: "Lane 2"}, country: "Sri Lanka"}
+    };
+
+    Proto3SerDes ser = check new(Student);
+    byte[] encoded = check ser.serialize(student);
+
+    // The large byte array is skipped, and the selected fields do not make up a Student
+    anydata decoded = check ser.deserializeFields(encoded, ["name", "address.country", "contacts.mobile"]);
+    test:assertFalse(decoded is Student);
+    test:assertTrue(decoded is map<anydata>);
+
+    map<anydata> fields = <map<anydata>>decoded;
+    test:assertEquals(fields.keys(), ["name", "contacts", "address"]);
+    test:assertFalse(fields["address"] is Address);
+    test:assertEquals(fields["address"], {country: "Sri Lanka"});
+    anydata[] contacts = <anydata[]>fields["contacts"];
+    test:assertFalse(contacts[0] is Contact);
+    test:assertEquals(contacts[0], {mobile: "0771"});
+}
+
+@test:Config{}
+public isolated function testDeserializeFieldsInvalidPaths() returns error? {
+    Student student = {
+        name: "Jane",
+        age: 21,
+        img: [],
+        contacts: [],
+        address: {street: {street1: "Main Street", street2: "Lane 2"}, country: "Sri Lanka"}
+    };
+
+    Proto3SerDes ser = check new(Student);
+    byte[] encoded = check ser.serialize(student);
+
+    anydata|Error decoded = ser.deserializeFields(encoded, ["address.zip"]);
+    test:assertTrue(decoded is Error);
+
+    decoded = ser.deserializeFields(encoded, ["name.first"]);
+    test:assertTrue(decoded is Error);
+
+    decoded = ser.deserializeFields(encoded, ["address..country"]);
+    test:assertTrue(decoded is Error);
+
+    Proto3SerDes arraySer = check new(int[]);
+    decoded = arraySer.deserializeFields(check arraySer.serialize([1, 2]), ["length"]);
+    test:assertTrue(decoded is Error);
+}
@@ -0,0 +1,89 @@
+// Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/test;
+
+type LinkedNode record {
+    int value;
+    LinkedNode? next;
+};
+
+type TreeNode record {
+    string label;
+    TreeNode[] children;
+};
+
+type Point record {
+    int x;
+    int y;
+};
+
+type Segment record {
+    Point 'start;
+    Point end;
+    Point? midpoint;
+    Point[] waypoints;
+    int[][] xGrid;
+    int[][] yGrid;
+};
+
+@test:Config{}
+public isolated function testRecursiveRecordSerDe() returns error? {
+    LinkedNode list = {value: 1, next: {value: 2, next: {value: 3, next: ()}}};
+
+    Proto3SerDes ser = check new(LinkedNode);
+    byte[] encoded = check ser.serialize(list);
+
+    Proto3SerDes des = check new(LinkedNode);
+    LinkedNode decoded = <LinkedNode>check des.deserialize(encoded);
+    test:assertEquals(decoded, list);
+    test:assertEquals(check des.extractField(encoded, "next.next.value"), 3);
+}
+
+@test:Config{}
+public isolated function testRecursiveArraySerDe() returns error? {
+    TreeNode tree = {
+        label: "root",
+        children: [
+            {label: "left", children: []},
+            {label: "right", children: [{label: "leaf", children: []}]}
+        ]
+    };
+
+    Proto3SerDes ser = check new(TreeNode);
+    byte[] encoded = check ser.serialize(tree);
+    test:assertEquals(encoded.length(), check ser.computeSerializedSize(tree));
+
+    TreeNode decoded = <TreeNode>check ser.deserialize(encoded);
+    test:assertEquals(decoded, tree);
+}
+
+@test:Config{}
+public isolated function testSharedRecordSerDe() returns error? {
+    Segment segment = {
+        'start: {x: 0, y: 0},
+        end: {x: 4, y: 3},
+        midpoint: (),
+        waypoints: [{x: 1, y: 1}, {x: 2, y: 2}],
+        xGrid: [[0, 1], [2]],
+        yGrid: [[3]]
+    };
+
+    Proto3SerDes ser = check new(Segment);
+    Segment decoded = <Segment>check ser.deserialize(check ser.serialize(segment));
+    test:assertEquals(decoded, segment);
+}
@@ -0,0 +1,88 @@
+// Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+type CachedContact record {
+    string mobile;
+    string home;
+};
+
+type CachedContactArray CachedContact[];
+
+type EvictedContact record {
+    string mobile;
+};
+
+type RecentContact record {
+    string home;
+};
+
+type LaterContact record {
+    string email;
+};
+
+@test:Config{}
+public isolated function testSchemaCacheHit() returns error? {
+    check prewarmSchemaCache(CachedContactArray);
+    SchemaCacheStatistics before = getSchemaCacheStatistics();
+
+    Proto3SerDes ser = check new(CachedContactArray);
+    SchemaCacheStatistics after = getSchemaCacheStatistics();
+
+    test:assertEquals(after.hits, before.hits + 1);
+    test:assertEquals(after.misses, before.misses);
+
+    CachedContact[] contacts = [{mobile: "+123456", home: "789"}];
+    byte[] encoded = check ser.serialize(contacts);
+
+    Proto3SerDes des = check new(CachedContactArray);
+    CachedContactArray decoded = <CachedContactArray>check des.deserialize(encoded);
+    test:assertEquals(decoded, contacts);
+}
+
+@test:Config{}
+public isolated function testSchemaCacheEvictsLeastRecentlyUsed() returns error? {
+    setSchemaCacheCapacity(2);
+    check prewarmSchemaCache(RecentContact, EvictedContact);
+
+    // Looking the schema up makes it the most recently used one
+    _ = check new Proto3SerDes(RecentContact);
+    SchemaCacheStatistics before = getSchemaCacheStatistics();
+    check prewarmSchemaCache(LaterContact);
+    SchemaCacheStatistics afterEviction = getSchemaCacheStatistics();
+
+    test:assertEquals(afterEviction.evictions, before.evictions + 1);
+    test:assertEquals(afterEviction.size, 2);
+
+    _ = check new Proto3SerDes(RecentContact);
+    SchemaCacheStatistics after = getSchemaCacheStatistics();
+    test:assertEquals(after.hits, afterEviction.hits + 1);
+    test:assertEquals(after.misses, afterEviction.misses);
+
+    setSchemaCacheCapacity(1024);
+}
+
+@test:Config{}
+public isolated function testPrewarmUnsupportedType() returns error? {
+    string expected = "Unsupported data type: table";
+
+    Error? result = prewarmSchemaCache(int, EmployeeTable);
+
+    test:assertTrue(result is Error);
+    Error err = <Error> result;
+    test:assertEquals(err.message(), expected);
+}
@@ -0,0 +1,100 @@
+// Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/test;
+
+type ExportedContact record {
+    string mobile;
+    string[] emails;
+    decimal balance;
+};
+
+type NotExportedContact record {
+    string name;
+};
+
+@test:Config{}
+public isolated function testLoadExportedSchema() returns error? {
+    byte[] schema = check exportSchema(ExportedContact);
+
+    ExportedContact contact = {mobile: "+94777777777", emails: ["jane@example.com"], balance: 10.25};
+
+    Proto3SerDes ser = check new(ExportedContact, schema);
+    byte[] encoded = check ser.serialize(contact);
+
+    Proto3SerDes des = check new(ExportedContact);
+    ExportedContact decoded = <ExportedContact>check des.deserialize(encoded);
+
+    test:assertEquals(decoded, contact);
+}
+
+type CachedExportedContact record {
+    string mobile;
+    int[] ids;
+};
+
+@test:Config{}
+function testLoadSchemaOfCachedType() returns error? {
+    enableMetrics();
+    // Exporting the schema adds it to the schema cache, from which it is then loaded without compiling it again
+    byte[] schema = check exportSchema(CachedExportedContact);
+    Proto3SerDes ser = check new(CachedExportedContact, schema);
+    Proto3SerDes des = check new(CachedExportedContact, schema);
+    enableMetrics(false);
+
+    DataTypeMetrics[] metrics = getMetrics().filter(m => m.dataType.endsWith("CachedExportedContact"));
+    test:assertEquals(metrics.length(), 1);
+    test:assertEquals(metrics[0].schemaGeneration.count, 1);
+    test:assertEquals(metrics[0].schemaCacheHits, 2);
+
+    CachedExportedContact contact = {mobile: "+94777777777", ids: [1, 2]};
+    test:assertEquals(check des.deserialize(check ser.serialize(contact)), contact);
+}
+
+@test:Config{}
+public isolated function testLoadSchemaOfAnotherType() returns error? {
+    byte[] schema = check exportSchema(ExportedContact);
+
+    Proto3SerDes|Error serdes = new(NotExportedContact, schema);
+    test:assertTrue(serdes is SchemaMismatchError);
+
+    serdes = new(NotExportedContact, [1, 2, 3]);
+    test:assertTrue(serdes is Error);
+}
+
+@test:Config{}
+public isolated function testLoadSchemaOfSameNamedMessage() returns error? {
+    // Schemas of arrays are all named after the array message, so only their fields tell them apart
+    byte[] schema = check exportSchema(int[]);
+
+    Proto3SerDes|Error serdes = new(string[], schema);
+    test:assertTrue(serdes is SchemaMismatchError);
+
+    Proto3SerDes ser = check new(string[]);
+    byte[] encoded = check ser.serialize(["a", "b"]);
+    test:assertEquals(check ser.deserialize(encoded), ["a", "b"]);
+}
+
+@test:Config{}
+public isolated function testExportSchemaAsProto() returns error? {
+    string proto = check exportSchemaAsProto(ExportedContact);
+
+    test:assertTrue(proto.startsWith("syntax = \"proto2\";"));
+    test:assertTrue(proto.includes("message ExportedContact {"));
+    test:assertTrue(proto.includes("repeated string emails = 2;"));
+    test:assertTrue(proto.includes("optional .ballerinadecimal balance = 3;"));
+}
@@ -0,0 +1,82 @@
+// Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/test;
+
+type RegisteredOrder record {
+    string id;
+    decimal total;
+};
+
+type RegisteredShipment record {
+    string orderId;
+    string[] items;
+};
+
+@test:Config{}
+public isolated function testSchemaRegistry() returns error? {
+    SchemaRegistry registry = check new(RegisteredOrder, RegisteredShipment, int);
+
+    RegisteredOrder 'order = {id: "order-1", total: 42.5};
+    RegisteredShipment shipment = {orderId: "order-1", items: ["book", "pen"]};
+
+    Proto3SerDes orderSerDes = check new(RegisteredOrder);
+    Proto3SerDes shipmentSerDes = check new(RegisteredShipment);
+    Proto3SerDes intSerDes = check new(int);
+
+    byte[][] topic = [
+        check orderSerDes.serializeWithFingerprint('order),
+        check shipmentSerDes.serializeWithFingerprint(shipment),
+        check intSerDes.serializeWithFingerprint(7)
+    ];
+
+    test:assertEquals(check registry.deserialize(topic[0]), 'order);
+    test:assertEquals(check registry.deserialize(topic[1]), shipment);
+    test:assertEquals(check registry.deserialize(topic[2]), 7);
+
+    Proto3SerDes found = check registry.getSerDes(topic[1]);
+    test:assertEquals(check found.deserializeWithFingerprint(topic[1]), shipment);
+}
+
+@test:Config{}
+public isolated function testUnknownSchemaFingerprint() returns error? {
+    SchemaRegistry registry = check new(RegisteredOrder);
+
+    Proto3SerDes shipmentSerDes = check new(RegisteredShipment);
+    byte[] encoded = check shipmentSerDes.serializeWithFingerprint({orderId: "order-2", items: []});
+
+    anydata|Error decoded = registry.deserialize(encoded);
+    test:assertTrue(decoded is Error);
+
+    decoded = registry.deserialize([1, 2, 3]);
+    test:assertTrue(decoded is Error);
+}
+
+@test:Config{}
+public isolated function testSchemaFingerprintMismatch() returns error? {
+    Proto3SerDes orderSerDes = check new(RegisteredOrder);
+    Proto3SerDes shipmentSerDes = check new(RegisteredShipment);
+
+    byte[] encoded = check orderSerDes.serializeWithFingerprint({id: "order-3", total: 1});
+    anydata|Error decoded = shipmentSerDes.deserializeWithFingerprint(encoded);
+
+    test:assertTrue(decoded is Error);
+    if decoded is Error {
+        test:assertEquals(decoded.message(),
+            "Failed to Deserialize data: Schema fingerprint does not match the data type");
+    }
+}
@@ -0,0 +1,57 @@
+// Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/test;
+
+type Reading record {
+    string sensor;
+    float value;
+};
+
+@test:Config{}
+public isolated function testSerializeInto() returns error? {
+    Reading reading = {sensor: "temperature", value: 21.5};
+
+    Proto3SerDes ser = check new(Reading);
+    byte[] encoded = check ser.serialize(reading);
+
+    byte[] destination = [];
+    destination.setLength(encoded.length + 4);
+
+    int written = check ser.serializeInto(reading, destination, 2);
+    test:assertEquals(written, encoded.length);
+    test:assertEquals(destination.slice(2, 2 + written), encoded);
+    test:assertEquals(destination.slice(0, 2), [0, 0]);
+    test:assertEquals(destination.slice(2 + written), [0, 0]);
+
+    Proto3SerDes des = check new(Reading);
+    Reading decoded = <Reading>check des.deserialize(destination.slice(2, 2 + written));
+    test:assertEquals(decoded, reading);
+}
+
+@test:Config{}
+public isolated function testSerializeIntoSmallDestination() returns error? {
+    Reading reading = {sensor: "temperature", value: 21.5};
+    Proto3SerDes ser = check new(Reading);
+
+    byte[] destination = [0, 0, 0, 0];
+    int|Error written = ser.serializeInto(reading, destination);
+    test:assertTrue(written is Error);
+
+    written = ser.serializeInto(reading, destination, 5);
+    test:assertTrue(written is Error);
+}
@@ -0,0 +1,59 @@
+// Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/test;
+
+type Shipment record {
+    string id;
+    Parcel[] parcels;
+    int[] weights;
+};
+
+type Parcel record {
+    string label;
+    Reading reading;
+};
+
+@test:Config{}
+public isolated function testComputeSerializedSize() returns error? {
+    Shipment shipment = {
+        id: "S-1",
+        parcels: [
+            {label: "first", reading: {sensor: "temperature", value: 4.5}},
+            {label: "second", reading: {sensor: "humidity", value: 61.0}}
+        ],
+        weights: [120, -3, 70000]
+    };
+
+    Proto3SerDes ser = check new(Shipment);
+    int size = check ser.computeSerializedSize(shipment);
+    byte[] encoded = check ser.serialize(shipment);
+    test:assertEquals(size, encoded.length);
+
+    byte[] destination = [];
+    destination.setLength(size);
+    int written = check ser.serializeInto(shipment, destination);
+    test:assertEquals(written, size);
+    test:assertEquals(destination, encoded);
+}
+
+@test:Config{}
+public isolated function testComputeSerializedSizeTypeMismatch() returns error? {
+    Proto3SerDes ser = check new(Shipment);
+    int|Error size = ser.computeSerializedSize({id: "S-2", parcels: [{label: 1}], weights: []});
+    test:assertTrue(size is Error);
+}
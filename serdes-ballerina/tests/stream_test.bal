@@ -0,0 +1,164 @@
+// Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/io;
+import ballerina/test;
+
+const string STREAMED_CONTACTS_FILE = "build/streamed_contacts.bin";
+
+@test:Config{}
+public isolated function testSerializeToChannel() returns error? {
+    BatchContact[] contacts = [];
+    foreach int i in 0 ..< 2500 {
+        contacts.push({mobile: "+94 77 " + i.toString(), home: "+94 11 " + i.toString()});
+    }
+
+    Proto3SerDes ser = check new(BatchContact);
+    io:WritableByteChannel channel = check io:openWritableFile(STREAMED_CONTACTS_FILE);
+    check ser.serializeToChannel(contacts, channel, 1000);
+    check channel.close();
+
+    byte[] encoded = check io:fileReadBytes(STREAMED_CONTACTS_FILE);
+    test:assertEquals(encoded, check ser.serializeBatch(contacts));
+
+    BatchContact[] decoded = <BatchContact[]>check ser.deserializeBatch(encoded);
+    test:assertEquals(decoded, contacts);
+}
+
+@test:Config{}
+public isolated function testSerializeValuesLargerThanBufferToChannel() returns error? {
+    string longNumber = "";
+    foreach int i in 0 ..< 5000 {
+        longNumber += i.toString();
+    }
+    BatchContact[] contacts = [{mobile: longNumber, home: "789"}, {mobile: "+654321", home: longNumber}];
+
+    Proto3SerDes ser = check new(BatchContact);
+    io:WritableByteChannel channel = check io:openWritableFile(STREAMED_CONTACTS_FILE);
+    check ser.serializeToChannel(contacts, channel, 256);
+    check channel.close();
+
+    byte[] encoded = check io:fileReadBytes(STREAMED_CONTACTS_FILE);
+    test:assertEquals(encoded, check ser.serializeBatch(contacts));
+}
+
+@test:Config{}
+public isolated function testDeserializeStream() returns error? {
+    BatchContact[] contacts = [];
+    foreach int i in 0 ..< 500 {
+        contacts.push({mobile: "+94 77 " + i.toString(), home: "+94 11 " + i.toString()});
+    }
+
+    Proto3SerDes ser = check new(BatchContact);
+    byte[] encoded = check ser.serializeBatch(contacts);
+
+    // Chunks are not aligned to the encoded values
+    byte[][] chunks = [];
+    int offset = 0;
+    while offset < encoded.length() {
+        int endOffset = int:min(offset + 37, encoded.length());
+        chunks.push(encoded.slice(offset, endOffset));
+        offset = endOffset;
+    }
+
+    stream<anydata, Error?> values = ser.deserializeStream(chunks.toStream());
+    test:assertEquals(check collectContacts(values), contacts);
+}
+
+@test:Config{}
+public isolated function testDeserializeStreamFromChannel() returns error? {
+    BatchContact[] contacts = [{mobile: "+123456", home: "789"}, {mobile: "+654321", home: "987"}];
+
+    Proto3SerDes ser = check new(BatchContact);
+    io:WritableByteChannel writableChannel = check io:openWritableFile(STREAMED_CONTACTS_FILE);
+    check ser.serializeToChannel(contacts, writableChannel);
+    check writableChannel.close();
+
+    io:ReadableByteChannel readableChannel = check io:openReadableFile(STREAMED_CONTACTS_FILE);
+    stream<anydata, Error?> values = ser.deserializeStream(readableChannel);
+    test:assertEquals(check collectContacts(values), contacts);
+    check readableChannel.close();
+}
+
+@test:Config{}
+public isolated function testDeserializeTruncatedStream() returns error? {
+    Proto3SerDes ser = check new(BatchContact);
+    byte[] encoded = check ser.serializeBatch([{mobile: "+123456", home: "789"}, {mobile: "+654321", home: "987"}]);
+    byte[][] chunks = [encoded.slice(0, encoded.length() - 1)];
+
+    stream<anydata, Error?> values = ser.deserializeStream(chunks.toStream());
+    BatchContact[]|Error result = collectContacts(values);
+
+    test:assertTrue(result is Error);
+    Error err = <Error> result;
+    test:assertEquals(err.message(), "Failed to Deserialize data: Stream ended in the middle of a value");
+}
+
+@test:Config{}
+public isolated function testCloseDeserializedStream() returns error? {
+    Proto3SerDes ser = check new(BatchContact);
+    byte[] encoded = check ser.serializeBatch([{mobile: "+123456", home: "789"}, {mobile: "+654321", home: "987"}]);
+    ChunkIterator chunks = new([encoded]);
+
+    stream<anydata, Error?> values = ser.deserializeStream(new stream<byte[], error?>(chunks));
+    record {| anydata value; |}? next = check values.next();
+    test:assertEquals(next?.value, {mobile: "+123456", home: "789"});
+
+    check values.close();
+    test:assertTrue(chunks.isClosed());
+    test:assertEquals(check values.next(), ());
+}
+
+class ChunkIterator {
+
+    private byte[][] chunks;
+    private int index = 0;
+    private boolean closed = false;
+
+    isolated function init(byte[][] chunks) {
+        self.chunks = chunks;
+    }
+
+    public isolated function next() returns record {| byte[] value; |}|error? {
+        if self.closed || self.index >= self.chunks.length() {
+            return;
+        }
+        byte[] chunk = self.chunks[self.index];
+        self.index += 1;
+        return {value: chunk};
+    }
+
+    public isolated function close() returns error? {
+        self.closed = true;
+    }
+
+    isolated function isClosed() returns boolean {
+        return self.closed;
+    }
+}
+
+isolated function collectContacts(stream<anydata, Error?> values) returns BatchContact[]|Error {
+    BatchContact[] contacts = [];
+
+    record {| anydata value; |}? next = check values.next();
+    while next is record {| anydata value; |} {
+        contacts.push(<BatchContact>next.value);
+        next = check values.next();
+    }
+
+    return contacts;
+}
@@ -92,6 +92,53 @@ public isolated function testPrimitiveDecimal() returns error? {
     test:assertEquals(decoded, 1.23);
 }
 
+type Payment record {
+    decimal amount;
+    decimal[] installments;
+};
+
+@test:Config{}
+public isolated function testDecimalPrecision() returns error? {
+    Payment payment = {
+        amount: 1234567890.123456789012345678901234,
+        installments: [0.1, -0.0000000000000000000000000000001, 9999999999999999999999999999999999, 1E+10, 0]
+    };
+
+    Proto3SerDes ser = check new(Payment);
+    byte[] encoded = check ser.serialize(payment);
+
+    Proto3SerDes des = check new(Payment);
+    Payment decoded = <Payment>check des.deserialize(encoded);
+
+    test:assertEquals(decoded, payment);
+    test:assertEquals(decoded.installments[0] + 0.2, 0.3d);
+}
+
+type Measurement record {
+    int count;
+    float mean;
+    decimal total;
+    int|float|decimal sample;
+};
+
+@test:Config{}
+public isolated function testNumericTypesOnDecode() returns error? {
+    Measurement measurement = {count: 3, mean: 2.5, total: 7.5, sample: 2.5};
+
+    Proto3SerDes ser = check new(Measurement);
+    byte[] encoded = check ser.serialize(measurement);
+
+    Proto3SerDes des = check new(Measurement);
+    anydata decoded = check des.deserialize(encoded);
+
+    test:assertTrue(decoded is Measurement);
+    Measurement decodedMeasurement = <Measurement>decoded;
+    test:assertTrue(decodedMeasurement.mean is float);
+    test:assertTrue(decodedMeasurement.total is decimal);
+    test:assertTrue(decodedMeasurement.sample is float);
+    test:assertEquals(decodedMeasurement, measurement);
+}
+
 @test:Config{}
 public isolated function testPrimitiveBoolean() returns error? {
     Proto3SerDes ser = check new(boolean);
@@ -182,6 +229,50 @@ public isolated function testBooleanArray() returns error? {
     test:assertEquals(decoded, [true, false, true, false]);
 }
 
+@test:Config{}
+public isolated function testLargePrimitiveArrays() returns error? {
+    int[] ints = [];
+    float[] floats = [];
+    boolean[] booleans = [];
+    foreach int i in 0 ..< 10000 {
+        ints.push(i * -31);
+        floats.push(<float>i / 7.0);
+        booleans.push(i % 3 == 0);
+    }
+
+    Proto3SerDes intSer = check new(IntArray);
+    IntArray decodedInts = <IntArray>check intSer.deserialize(check intSer.serialize(ints));
+    test:assertEquals(decodedInts, ints);
+
+    Proto3SerDes floatSer = check new(FloatArray);
+    FloatArray decodedFloats = <FloatArray>check floatSer.deserialize(check floatSer.serialize(floats));
+    test:assertEquals(decodedFloats, floats);
+
+    Proto3SerDes boolSer = check new(BoolArray);
+    BoolArray decodedBooleans = <BoolArray>check boolSer.deserialize(check boolSer.serialize(booleans));
+    test:assertEquals(decodedBooleans, booleans);
+}
+
+@test:Config{}
+public isolated function testPrimitiveArraysPassedAsAnydata() returns error? {
+    // Array literals of anydata values are anydata arrays, whose elements are not stored as primitives
+    anydata ints = [1, -2, 3];
+    anydata floats = [0.5, 4.25];
+    anydata booleans = [true, false];
+
+    Proto3SerDes intSer = check new(IntArray);
+    test:assertEquals(check intSer.deserialize(check intSer.serialize(ints)), [1, -2, 3]);
+
+    Proto3SerDes floatSer = check new(FloatArray);
+    test:assertEquals(check floatSer.deserialize(check floatSer.serialize(floats)), [0.5, 4.25]);
+
+    Proto3SerDes boolSer = check new(BoolArray);
+    test:assertEquals(check boolSer.deserialize(check boolSer.serialize(booleans)), [true, false]);
+
+    anydata mixed = [1, "two"];
+    test:assertTrue(intSer.serialize(mixed) is Error);
+}
+
 type InnerArray int[];
 type OuterArray InnerArray[];
 
@@ -353,6 +444,24 @@ public isolated function testUnionWithArrays() returns error? {
     test:assertEquals(decoded, nums);
 }
 
+@test:Config{}
+public isolated function testUnionWithArraysPassedAsAnydata() returns error? {
+    anydata nums = [1, 9, 2];
+    anydata names = ["Jane", "John"];
+
+    Proto3SerDes ser = check new(UnionWithArrays);
+    UnionWithArrays decoded = <UnionWithArrays>check ser.deserialize(check ser.serialize(nums));
+    test:assertTrue(decoded is int[]);
+    test:assertEquals(decoded, [1, 9, 2]);
+
+    decoded = <UnionWithArrays>check ser.deserialize(check ser.serialize(names));
+    test:assertTrue(decoded is string[]);
+    test:assertEquals(decoded, ["Jane", "John"]);
+
+    anydata mixed = [1, "Jane"];
+    test:assertTrue(ser.serialize(mixed) is Error);
+}
+
 type UnionMember record {
     string name;
     int id;
@@ -515,6 +624,36 @@ public isolated function testUseCase1() returns error? {
     test:assertEquals(decoded, employer);
 }
 
+type RecordsOrRecordArrays Employer|Employee|Employer[]|Employee[]|string;
+
+@test:Config{}
+public isolated function testUnionMemberResolution() returns error? {
+    byte[] byteArray = base16 `aeeecd`;
+    Employee employee = {name: "Jane Doe", id: 102, img: byteArray, department: "Finance"};
+    Employee[] employees = [employee, {name: "John Doe", id: 103, img: byteArray, department: "Sales"}];
+
+    Proto3SerDes ser = check new(RecordsOrRecordArrays);
+    Proto3SerDes des = check new(RecordsOrRecordArrays);
+
+    RecordsOrRecordArrays decoded = <RecordsOrRecordArrays>check des.deserialize(check ser.serialize(employee));
+    test:assertTrue(decoded is Employee);
+    test:assertEquals(decoded, employee);
+
+    decoded = <RecordsOrRecordArrays>check des.deserialize(check ser.serialize(employees));
+    test:assertTrue(decoded is Employee[]);
+    test:assertEquals(decoded, employees);
+
+    decoded = <RecordsOrRecordArrays>check des.deserialize(check ser.serialize("Finance"));
+    test:assertEquals(decoded, "Finance");
+
+    byte b = 7;
+    IntStringOrNull byteValue = b;
+    Proto3SerDes intSer = check new(IntStringOrNull);
+    Proto3SerDes intDes = check new(IntStringOrNull);
+    IntStringOrNull decodedByte = <IntStringOrNull>check intDes.deserialize(check intSer.serialize(byteValue));
+    test:assertEquals(decodedByte, 7);
+}
+
 type Cont record {
     string mobile;
 };
@@ -0,0 +1,85 @@
+// Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/test;
+
+type Squad record {
+    string name;
+    Player[] players;
+};
+
+type Player record {
+    string name;
+    int number;
+};
+
+type UncheckedSquad record {
+    string name;
+    UncheckedPlayer[] players;
+};
+
+type UncheckedPlayer record {
+    string name;
+    int|string number;
+};
+
+@test:Config{}
+public isolated function testValidate() returns error? {
+    Squad squad = {name: "Reserves", players: [{name: "Ann", number: 7}, {name: "Bo", number: 9}]};
+
+    Proto3SerDes ser = check new(Squad);
+    check ser.validate(squad);
+}
+
+@test:Config{}
+public isolated function testValidateTypeMismatch() returns error? {
+    UncheckedSquad squad = {name: "Reserves", players: [{name: "Ann", number: 7}, {name: "Bo", number: "nine"}]};
+
+    Proto3SerDes ser = check new(Squad);
+    Error? result = ser.validate(squad);
+
+    test:assertTrue(result is TypeMismatchError);
+    TypeMismatchError err = <TypeMismatchError> result;
+    test:assertEquals(err.message(), "Failed to Serialize data: Type mismatch");
+    test:assertEquals(err.detail().fieldPath, "players[1].number");
+    test:assertEquals(err.detail().expectedType, "int");
+}
+
+@test:Config{}
+public isolated function testSerializeTypeMismatchDetail() returns error? {
+    UncheckedSquad squad = {name: "Reserves", players: [{name: "Ann", number: "seven"}]};
+
+    Proto3SerDes ser = check new(Squad);
+    byte[]|Error encoded = ser.serialize(squad);
+
+    test:assertTrue(encoded is TypeMismatchError);
+    TypeMismatchError err = <TypeMismatchError> encoded;
+    test:assertEquals(err.detail().fieldPath, "players[0].number");
+    test:assertEquals(err.detail().expectedType, "int");
+
+    // The same mismatch is reported the same way by every call
+    Error? result = ser.validate(squad);
+    test:assertTrue(result is TypeMismatchError);
+    test:assertEquals((<TypeMismatchError> result).detail(), err.detail());
+    test:assertFalse(result === err);
+
+    // A mismatch at the same field of another element has the path of that element
+    UncheckedSquad otherSquad = {name: "Reserves", players: [{name: "Ann", number: 7}, {name: "Bo", number: "8"}]};
+    Error? otherResult = ser.validate(otherSquad);
+    test:assertTrue(otherResult is TypeMismatchError);
+    test:assertEquals((<TypeMismatchError> otherResult).detail().fieldPath, "players[1].number");
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.benchmarks;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.scheduling.Scheduler;
+import io.ballerina.runtime.internal.scheduling.Strand;
+import io.ballerina.runtime.internal.values.MapValue;
+
+import java.util.Map;
+
+/**
+ * Creates the record values of the types used by the benchmarks.
+ *
+ * The deserializer creates records through the value creator of the module that defines the record type. The
+ * benchmark types are not defined in a compiled Ballerina module, so a value creator is registered for them here.
+ */
+class BenchmarkValueCreator extends io.ballerina.runtime.internal.values.ValueCreator {
+
+    private final Map<String, RecordType> recordTypes;
+
+    private BenchmarkValueCreator(Map<String, RecordType> recordTypes) {
+        this.recordTypes = recordTypes;
+    }
+
+    static void register(Module module, Map<String, RecordType> recordTypes) {
+        addValueCreator(module.getOrg(), module.getName(), module.getVersion(),
+                new BenchmarkValueCreator(recordTypes));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public MapValue<BString, Object> createRecordValue(String recordTypeName) {
+        return (MapValue<BString, Object>) ValueCreator.createMapValue(recordTypes.get(recordTypeName));
+    }
+
+    @Override
+    public BObject createObjectValue(String objectTypeName, Scheduler scheduler, Strand parent,
+                                     Map<String, Object> properties, Object[] args) {
+        throw new UnsupportedOperationException("Objects are not used in the benchmarks: " + objectTypeName);
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.benchmarks;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.flags.TypeFlags;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ballerina types and values of the data shapes that are benchmarked.
+ *
+ * The record types mirror the {@code Student} type and the records it refers to in the unit tests.
+ */
+final class DataShapes {
+
+    static final String INT = "int";
+    static final String FLOAT = "float";
+    static final String DECIMAL = "decimal";
+    static final String STRING = "string";
+    static final String BOOLEAN = "boolean";
+    static final String BYTE_ARRAY = "byte[]";
+    static final String INT_ARRAY = "int[]";
+    static final String FLOAT_ARRAY = "float[]";
+    static final String STRING_ARRAY = "string[]";
+    static final String NESTED_RECORD = "Student";
+    static final String NILABLE_UNION_ARRAY = "(int|string|())[]";
+    static final String MULTI_DIMENSIONAL_ARRAY = "int[][]";
+    static final String INT_MAP = "map<int>";
+    static final String JSON_DOCUMENT = "json";
+
+    static final String SMALL = "small";
+    static final String MEDIUM = "medium";
+    static final String LARGE = "large";
+
+    static final Module BENCHMARK_MODULE = new Module("ballerina", "serdes_benchmarks", "0.1.0");
+
+    private static final int INNER_ARRAY_LENGTH = 8;
+
+    private static final Map<String, RecordType> RECORD_TYPES = new HashMap<>();
+
+    private static final RecordType CONTACT = createRecordType("Contact",
+            createField(PredefinedTypes.TYPE_STRING, "mobile"),
+            createField(PredefinedTypes.TYPE_STRING, "home"));
+    private static final RecordType STREET = createRecordType("Street",
+            createField(PredefinedTypes.TYPE_STRING, "street1"),
+            createField(PredefinedTypes.TYPE_STRING, "street2"));
+    private static final RecordType ADDRESS = createRecordType("Address",
+            createField(STREET, "street"),
+            createField(PredefinedTypes.TYPE_STRING, "country"));
+    private static final RecordType STUDENT = createRecordType(NESTED_RECORD,
+            createField(PredefinedTypes.TYPE_STRING, "name"),
+            createField(PredefinedTypes.TYPE_INT, "age"),
+            createField(TypeCreator.createArrayType(PredefinedTypes.TYPE_BYTE), "img"),
+            createField(TypeCreator.createArrayType(CONTACT), "contacts"),
+            createField(ADDRESS, "address"));
+
+    static {
+        BenchmarkValueCreator.register(BENCHMARK_MODULE, RECORD_TYPES);
+    }
+
+    private DataShapes() {}
+
+    /**
+     * Returns the number of elements held by the arrays of a size.
+     */
+    static int getElementCount(String size) {
+        switch (size) {
+            case SMALL:
+                return 8;
+            case MEDIUM:
+                return 512;
+            case LARGE:
+                return 32768;
+            default:
+                throw new IllegalArgumentException("Unknown size: " + size);
+        }
+    }
+
+    static Type getType(String shape) {
+        switch (shape) {
+            case INT:
+                return PredefinedTypes.TYPE_INT;
+            case FLOAT:
+                return PredefinedTypes.TYPE_FLOAT;
+            case DECIMAL:
+                return PredefinedTypes.TYPE_DECIMAL;
+            case STRING:
+                return PredefinedTypes.TYPE_STRING;
+            case BOOLEAN:
+                return PredefinedTypes.TYPE_BOOLEAN;
+            case BYTE_ARRAY:
+                return TypeCreator.createArrayType(PredefinedTypes.TYPE_BYTE);
+            case INT_ARRAY:
+                return TypeCreator.createArrayType(PredefinedTypes.TYPE_INT);
+            case FLOAT_ARRAY:
+                return TypeCreator.createArrayType(PredefinedTypes.TYPE_FLOAT);
+            case STRING_ARRAY:
+                return TypeCreator.createArrayType(PredefinedTypes.TYPE_STRING);
+            case NESTED_RECORD:
+                return STUDENT;
+            case NILABLE_UNION_ARRAY:
+                return TypeCreator.createArrayType(TypeCreator.createUnionType(Arrays.asList(
+                        PredefinedTypes.TYPE_INT, PredefinedTypes.TYPE_STRING, PredefinedTypes.TYPE_NULL)));
+            case MULTI_DIMENSIONAL_ARRAY:
+                return TypeCreator.createArrayType(TypeCreator.createArrayType(PredefinedTypes.TYPE_INT));
+            case INT_MAP:
+                return TypeCreator.createMapType(PredefinedTypes.TYPE_INT);
+            case JSON_DOCUMENT:
+                return PredefinedTypes.TYPE_JSON;
+            default:
+                throw new IllegalArgumentException("Unknown shape: " + shape);
+        }
+    }
+
+    /**
+     * Creates a value of a shape. Primitive values do not depend on the element count.
+     */
+    static Object createValue(String shape, int elementCount) {
+        switch (shape) {
+            case INT:
+                return 1234567890L;
+            case FLOAT:
+                return 3.14159;
+            case DECIMAL:
+                return ValueCreator.createDecimalValue(new BigDecimal("3.14159"));
+            case STRING:
+                return StringUtils.fromString("Ballerina SerDes benchmark");
+            case BOOLEAN:
+                return true;
+            case BYTE_ARRAY:
+                return ValueCreator.createArrayValue(createBytes(elementCount));
+            case INT_ARRAY:
+                long[] ints = new long[elementCount];
+                for (int i = 0; i < elementCount; i++) {
+                    ints[i] = i * 31L;
+                }
+                return ValueCreator.createArrayValue(ints);
+            case FLOAT_ARRAY:
+                double[] floats = new double[elementCount];
+                for (int i = 0; i < elementCount; i++) {
+                    floats[i] = i * 0.5;
+                }
+                return ValueCreator.createArrayValue(floats);
+            case STRING_ARRAY:
+                BString[] strings = new BString[elementCount];
+                for (int i = 0; i < elementCount; i++) {
+                    strings[i] = StringUtils.fromString("element-" + i);
+                }
+                return ValueCreator.createArrayValue(strings);
+            case NESTED_RECORD:
+                return createStudent(elementCount);
+            case NILABLE_UNION_ARRAY:
+                return createNilableUnionArray(elementCount);
+            case MULTI_DIMENSIONAL_ARRAY:
+                return createMultiDimensionalArray(elementCount);
+            case INT_MAP:
+                return createIntMap(elementCount);
+            case JSON_DOCUMENT:
+                return createJsonDocument(elementCount);
+            default:
+                throw new IllegalArgumentException("Unknown shape: " + shape);
+        }
+    }
+
+    private static BMap<BString, Object> createStudent(int contactCount) {
+        BArray contacts = ValueCreator.createArrayValue(TypeCreator.createArrayType(CONTACT));
+        for (int i = 0; i < contactCount; i++) {
+            contacts.append(createRecord(CONTACT, "mobile", "+94 77 000 " + i, "home", "+94 11 000 " + i));
+        }
+
+        BMap<BString, Object> street = createRecord(STREET, "street1", "Palm Grove", "street2", "Colombo 03");
+        BMap<BString, Object> address = createRecord(ADDRESS, "country", "Sri Lanka");
+        address.put(StringUtils.fromString("street"), street);
+
+        BMap<BString, Object> student = createRecord(STUDENT, "name", "Jane Doe");
+        student.put(StringUtils.fromString("age"), 21L);
+        student.put(StringUtils.fromString("img"), ValueCreator.createArrayValue(createBytes(contactCount)));
+        student.put(StringUtils.fromString("contacts"), contacts);
+        student.put(StringUtils.fromString("address"), address);
+
+        return student;
+    }
+
+    private static BArray createNilableUnionArray(int elementCount) {
+        BArray array = ValueCreator.createArrayValue((ArrayType) getType(NILABLE_UNION_ARRAY));
+        for (int i = 0; i < elementCount; i++) {
+            switch (i % 3) {
+                case 0:
+                    array.append((long) i);
+                    break;
+                case 1:
+                    array.append(StringUtils.fromString("element-" + i));
+                    break;
+                default:
+                    array.append(null);
+                    break;
+            }
+        }
+
+        return array;
+    }
+
+    // The element count is spread over inner arrays of a fixed length
+    private static BArray createMultiDimensionalArray(int elementCount) {
+        BArray array = ValueCreator.createArrayValue((ArrayType) getType(MULTI_DIMENSIONAL_ARRAY));
+        for (int i = 0; i < Math.max(1, elementCount / INNER_ARRAY_LENGTH); i++) {
+            long[] innerArray = new long[INNER_ARRAY_LENGTH];
+            for (int j = 0; j < INNER_ARRAY_LENGTH; j++) {
+                innerArray[j] = (long) i * INNER_ARRAY_LENGTH + j;
+            }
+            array.append(ValueCreator.createArrayValue(innerArray));
+        }
+
+        return array;
+    }
+
+    private static BMap<BString, Object> createIntMap(int entryCount) {
+        BMap<BString, Object> map = ValueCreator.createMapValue(getType(INT_MAP));
+        for (int i = 0; i < entryCount; i++) {
+            map.put(StringUtils.fromString("key-" + i), i * 31L);
+        }
+
+        return map;
+    }
+
+    // A json object holding an array of json objects, one for each element
+    private static BMap<BString, Object> createJsonDocument(int elementCount) {
+        Type jsonMapType = TypeCreator.createMapType(PredefinedTypes.TYPE_JSON);
+
+        BArray elements = ValueCreator.createArrayValue(TypeCreator.createArrayType(PredefinedTypes.TYPE_JSON));
+        for (int i = 0; i < elementCount; i++) {
+            BMap<BString, Object> element = ValueCreator.createMapValue(jsonMapType);
+            element.put(StringUtils.fromString("id"), (long) i);
+            element.put(StringUtils.fromString("name"), StringUtils.fromString("element-" + i));
+            element.put(StringUtils.fromString("active"), i % 2 == 0);
+            elements.append(element);
+        }
+
+        BMap<BString, Object> document = ValueCreator.createMapValue(jsonMapType);
+        document.put(StringUtils.fromString("version"), 2L);
+        document.put(StringUtils.fromString("elements"), elements);
+
+        return document;
+    }
+
+    private static byte[] createBytes(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) i;
+        }
+
+        return bytes;
+    }
+
+    private static BMap<BString, Object> createRecord(RecordType recordType, String... stringFields) {
+        BMap<BString, Object> record = ValueCreator.createRecordValue(BENCHMARK_MODULE, recordType.getName());
+        for (int i = 0; i < stringFields.length; i += 2) {
+            record.put(StringUtils.fromString(stringFields[i]), StringUtils.fromString(stringFields[i + 1]));
+        }
+
+        return record;
+    }
+
+    private static RecordType createRecordType(String name, Field... fields) {
+        Map<String, Field> recordFields = new LinkedHashMap<>();
+        for (Field field : fields) {
+            recordFields.put(field.getFieldName(), field);
+        }
+
+        RecordType recordType = TypeCreator.createRecordType(name, BENCHMARK_MODULE, 0, recordFields,
+                PredefinedTypes.TYPE_NEVER, true, TypeFlags.asMask(TypeFlags.ANYDATA, TypeFlags.PURETYPE));
+        RECORD_TYPES.put(name, recordType);
+
+        return recordType;
+    }
+
+    private static Field createField(Type fieldType, String fieldName) {
+        return TypeCreator.createField(fieldType, fieldName, SymbolFlags.REQUIRED | SymbolFlags.PUBLIC);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.benchmarks;
+
+import io.ballerina.stdlib.serdes.CompiledSchema;
+import io.ballerina.stdlib.serdes.Deserializer;
+import io.ballerina.stdlib.serdes.SchemaGenerator;
+import io.ballerina.stdlib.serdes.Serializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures serializing and deserializing primitive values, which have a single size.
+ */
+@State(Scope.Benchmark)
+public class PrimitiveSerDesBenchmark {
+
+    @Param({DataShapes.INT, DataShapes.FLOAT, DataShapes.DECIMAL, DataShapes.STRING, DataShapes.BOOLEAN})
+    public String shape;
+
+    private CompiledSchema schema;
+    private Object value;
+    private byte[] encodedValue;
+
+    @Setup
+    public void setup() {
+        schema = SchemaGenerator.getSchema(DataShapes.getType(shape));
+        value = DataShapes.createValue(shape, 1);
+        encodedValue = SerDesBenchmark.encode(schema, value);
+    }
+
+    @Benchmark
+    public Object serialize() {
+        return Serializer.encode(schema, value);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return Deserializer.decode(schema, encodedValue);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.benchmarks;
+
+import io.ballerina.stdlib.serdes.CompiledSchema;
+import io.ballerina.stdlib.serdes.Deserializer;
+import io.ballerina.stdlib.serdes.SchemaGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures deserializing a few header fields, or reading a single field, of a nested record compared to
+ * deserializing the whole record.
+ */
+@State(Scope.Benchmark)
+public class ProjectionBenchmark {
+
+    private static final List<String> HEADER_FIELDS = Arrays.asList("name", "address.country");
+    private static final String SINGLE_FIELD = "address.country";
+
+    @Param({DataShapes.SMALL, DataShapes.MEDIUM, DataShapes.LARGE})
+    public String size;
+
+    private CompiledSchema schema;
+    private byte[] encodedValue;
+
+    @Setup
+    public void setup() {
+        schema = SchemaGenerator.getSchema(DataShapes.getType(DataShapes.NESTED_RECORD));
+        Object value = DataShapes.createValue(DataShapes.NESTED_RECORD, DataShapes.getElementCount(size));
+        encodedValue = SerDesBenchmark.encode(schema, value);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return Deserializer.decode(schema, encodedValue);
+    }
+
+    @Benchmark
+    public Object deserializeFields() {
+        return Deserializer.decodeFields(schema, encodedValue, HEADER_FIELDS);
+    }
+
+    @Benchmark
+    public Object extractField() {
+        return Deserializer.decodeField(schema, encodedValue, SINGLE_FIELD);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.benchmarks;
+
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.stdlib.serdes.CompiledSchema;
+import io.ballerina.stdlib.serdes.SchemaGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures generating the schema of a data type and loading its exported schema, bypassing the schema cache.
+ */
+@State(Scope.Benchmark)
+public class SchemaGenerationBenchmark {
+
+    @Param({DataShapes.INT, DataShapes.FLOAT, DataShapes.DECIMAL, DataShapes.STRING, DataShapes.BOOLEAN,
+            DataShapes.BYTE_ARRAY, DataShapes.INT_ARRAY, DataShapes.FLOAT_ARRAY, DataShapes.STRING_ARRAY,
+            DataShapes.NESTED_RECORD, DataShapes.NILABLE_UNION_ARRAY, DataShapes.MULTI_DIMENSIONAL_ARRAY})
+    public String shape;
+
+    private Type type;
+    private byte[] exportedSchema;
+
+    @Setup
+    public void setup() {
+        type = DataShapes.getType(shape);
+        exportedSchema = SchemaGenerator.compileSchema(type).toFileDescriptorSet();
+    }
+
+    @Benchmark
+    public CompiledSchema generateSchema() {
+        return SchemaGenerator.compileSchema(type);
+    }
+
+    @Benchmark
+    public CompiledSchema loadExportedSchema() {
+        return SchemaGenerator.compileSchema(type, exportedSchema);
+    }
+
+    @Benchmark
+    public CompiledSchema getCachedSchema() {
+        return SchemaGenerator.getSchema(type);
+    }
+}
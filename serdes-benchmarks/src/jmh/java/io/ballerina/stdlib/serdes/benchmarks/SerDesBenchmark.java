@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes.benchmarks;
+
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.stdlib.serdes.CompiledSchema;
+import io.ballerina.stdlib.serdes.Deserializer;
+import io.ballerina.stdlib.serdes.SchemaGenerator;
+import io.ballerina.stdlib.serdes.Serializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures serializing and deserializing values of the structured data shapes at each size.
+ */
+@State(Scope.Benchmark)
+public class SerDesBenchmark {
+
+    // Threshold of the parallel serializer and deserializer, so that the arrays of the medium and large sizes are
+    // processed in parallel
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    @Param({DataShapes.BYTE_ARRAY, DataShapes.INT_ARRAY, DataShapes.FLOAT_ARRAY, DataShapes.STRING_ARRAY,
+            DataShapes.NESTED_RECORD, DataShapes.NILABLE_UNION_ARRAY, DataShapes.MULTI_DIMENSIONAL_ARRAY,
+            DataShapes.INT_MAP, DataShapes.JSON_DOCUMENT})
+    public String shape;
+
+    @Param({DataShapes.SMALL, DataShapes.MEDIUM, DataShapes.LARGE})
+    public String size;
+
+    private CompiledSchema schema;
+    private Object value;
+    private byte[] encodedValue;
+    private byte[] destination;
+
+    @Setup
+    public void setup() {
+        Type type = DataShapes.getType(shape);
+
+        schema = SchemaGenerator.getSchema(type);
+        value = DataShapes.createValue(shape, DataShapes.getElementCount(size));
+        encodedValue = encode(schema, value);
+        destination = new byte[encodedValue.length];
+    }
+
+    @Benchmark
+    public Object serialize() {
+        return Serializer.encode(schema, value);
+    }
+
+    @Benchmark
+    public Object serializeParallel() {
+        return Serializer.encodeParallel(schema, value, PARALLEL_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public int serializeInto() {
+        return Serializer.encodeInto(schema, value, destination, 0, destination.length);
+    }
+
+    @Benchmark
+    public int computeSerializedSize() {
+        return Serializer.computeSize(schema, value);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return Deserializer.decode(schema, encodedValue);
+    }
+
+    @Benchmark
+    public Object deserializeParallel() {
+        return Deserializer.decodeParallel(schema, encodedValue, PARALLEL_THRESHOLD);
+    }
+
+    static byte[] encode(CompiledSchema schema, Object value) {
+        Object encodedValue = Serializer.encode(schema, value);
+        if (encodedValue instanceof BError) {
+            throw new IllegalStateException(((BError) encodedValue).getMessage());
+        }
+
+        return ((BArray) encodedValue).getBytes();
+    }
+}
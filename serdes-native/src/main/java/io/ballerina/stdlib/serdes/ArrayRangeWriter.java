@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedOutputStream;
+import io.ballerina.runtime.api.values.BArray;
+
+import java.io.IOException;
+
+/**
+ * Encodes a range of the elements of a Ballerina array, so that the encoding of an array can be split into chunks
+ * that are encoded independently and concatenated.
+ *
+ * The encoding of a range is the part of the field encoding holding its elements: the tagged occurrences of a
+ * repeated field, or the data of a packed field without its tag and length.
+ */
+interface ArrayRangeWriter {
+
+    /**
+     * Computes the number of bytes of the encoding of the elements from start, inclusive, to end, exclusive.
+     * The sizes of their length-delimited parts are recorded in the given size cache.
+     */
+    int computeSize(BArray bArray, int start, int end, SizeCache sizeCache);
+
+    /**
+     * Writes the elements from start, inclusive, to end, exclusive, reading the sizes of their length-delimited parts
+     * from the given size cache, in which they must have been recorded by {@link #computeSize} for the same range.
+     */
+    void write(CodedOutputStream output, BArray bArray, int start, int end, SizeCache sizeCache) throws IOException;
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.values.BArray;
+
+import java.io.IOException;
+
+/**
+ * Encodes a Ballerina byte array as a Protobuf bytes field.
+ */
+class BytesFieldWriter implements FieldWriter {
+
+    private static final String BYTE_ARRAY_TYPE_NAME = "byte[]";
+
+    private final int fieldNumber;
+
+    BytesFieldWriter(FieldDescriptor fieldDescriptor) {
+        this.fieldNumber = fieldDescriptor.getNumber();
+    }
+
+    @Override
+    public int computeSize(Object value, SizeCache sizeCache) {
+        BArray bArray = toByteArray(value);
+
+        return CodedOutputStream.computeTagSize(fieldNumber)
+                + CodedOutputStream.computeUInt32SizeNoTag(bArray.size()) + bArray.size();
+    }
+
+    @Override
+    public void write(CodedOutputStream output, Object value, SizeCache sizeCache) throws IOException {
+        BArray bArray = toByteArray(value);
+
+        output.writeByteArray(fieldNumber, bArray.getByteArray(), 0, bArray.size());
+    }
+
+    private static BArray toByteArray(Object value) {
+        if (value instanceof BArray && ((BArray) value).getElementType().getTag() == TypeTags.BYTE_TAG) {
+            return (BArray) value;
+        }
+        throw new TypeMismatchException(BYTE_ARRAY_TYPE_NAME);
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import static io.ballerina.stdlib.serdes.Constants.SERDES_ERROR;
+import static io.ballerina.stdlib.serdes.Serializer.SERIALIZATION_ERROR_MESSAGE;
+import static io.ballerina.stdlib.serdes.Utils.createSerdesError;
+
+/**
+ * Output stream whose bytes are written to a Ballerina byte channel by the strand that polls it.
+ *
+ * Values are encoded into the stream on a thread of their own, since a Ballerina channel can only be written to from
+ * Ballerina code. The bytes are collected in a chunk of a fixed size, and each full chunk is handed over to the
+ * polling strand, which writes it to the channel before it polls for the next one. The encoding thread waits until
+ * then before it reuses the chunk, so only one chunk of the encoded values is held in memory at a time, and full
+ * chunks are handed over without being copied.
+ */
+final class ChannelOutputStream extends OutputStream {
+
+    static final String CANCELLED_MESSAGE = "Writing to the channel was stopped";
+    static final String ENCODING_FAILED_MESSAGE = "Encoding thread failed";
+
+    private static final int NO_CHUNK = -1;
+
+    private final byte[] chunk;
+    private final BArray chunkValue;
+
+    // Only used by the encoding thread
+    private int position = 0;
+    private long bytesWritten = 0;
+
+    // Guarded by this: the length of the chunk that is handed over, and how the encoding ended
+    private int handedOverLength = NO_CHUNK;
+    private boolean handedOut = false;
+    private boolean finished = false;
+    private boolean cancelled = false;
+    private BError error;
+
+    private ChannelOutputStream(int chunkSize) {
+        this.chunk = new byte[chunkSize];
+        this.chunkValue = ValueCreator.createArrayValue(chunk);
+    }
+
+    /**
+     * Starts encoding the given values in the format of {@link Serializer#serializeBatch} into a new stream.
+     *
+     * @param schema Schema of the data type of the values.
+     * @param messages Data that is being serialized.
+     * @param chunkSize Number of bytes handed over to the polling strand at a time.
+     * @return Stream of the length-delimited serialized values.
+     */
+    static ChannelOutputStream start(CompiledSchema schema, BArray messages, int chunkSize) {
+        ChannelOutputStream outputStream = new ChannelOutputStream(chunkSize);
+
+        Thread encoder = new Thread(() -> outputStream.encode(schema, messages, chunkSize), "serdes-channel-encoder");
+        encoder.setDaemon(true);
+        encoder.start();
+
+        return outputStream;
+    }
+
+    private void encode(CompiledSchema schema, BArray messages, int bufferSize) {
+        Object result = null;
+        try {
+            result = SerdesMetrics.measureSerialization(schema, () -> encodeDelimited(schema, messages, bufferSize));
+        } finally {
+            // The polling strand is released even if the encoding thread fails unexpectedly
+            synchronized (this) {
+                finished = true;
+                if (result instanceof BError) {
+                    error = (BError) result;
+                } else if (result == null) {
+                    error = createSerdesError(SERIALIZATION_ERROR_MESSAGE + ENCODING_FAILED_MESSAGE, SERDES_ERROR);
+                }
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Encodes the values into the stream, including the last partial chunk.
+     *
+     * @return Number of bytes of the encoded values, or {@code BError} if a value cannot be serialized.
+     */
+    private Object encodeDelimited(CompiledSchema schema, BArray messages, int bufferSize) {
+        try {
+            Serializer.encodeDelimited(schema, messages, this, bufferSize);
+            if (position > 0) {
+                handOver(position);
+            }
+            return bytesWritten;
+        } catch (BError e) {
+            return e;
+        } catch (IOException e) {
+            return createSerdesError(SERIALIZATION_ERROR_MESSAGE + e.getMessage(), SERDES_ERROR);
+        } catch (RuntimeException e) {
+            return createSerdesError(SERIALIZATION_ERROR_MESSAGE + e, SERDES_ERROR);
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (position == chunk.length) {
+            handOver(position);
+            position = 0;
+        }
+        chunk[position++] = (byte) b;
+        bytesWritten++;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (position == chunk.length) {
+                handOver(position);
+                position = 0;
+            }
+            int copied = Math.min(length, chunk.length - position);
+            System.arraycopy(bytes, offset, chunk, position, copied);
+            position += copied;
+            bytesWritten += copied;
+            offset += copied;
+            length -= copied;
+        }
+    }
+
+    /**
+     * Hands the chunk over to the polling strand, and waits until it is written to the channel.
+     */
+    private synchronized void handOver(int length) throws IOException {
+        handedOverLength = length;
+        notifyAll();
+        try {
+            while (handedOverLength != NO_CHUNK && !cancelled) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(CANCELLED_MESSAGE);
+        }
+        if (cancelled) {
+            throw new IOException(CANCELLED_MESSAGE);
+        }
+    }
+
+    /**
+     * Waits for the next chunk of the encoded values. The chunk that was returned by the previous call is considered
+     * written, and is reused by the encoding thread.
+     *
+     * @return Byte array of the chunk, null if all values are written, or {@code BError} if a value cannot be
+     *         serialized.
+     */
+    synchronized Object poll() {
+        if (handedOut) {
+            handedOut = false;
+            handedOverLength = NO_CHUNK;
+            notifyAll();
+        }
+
+        try {
+            while (handedOverLength == NO_CHUNK && !finished) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+            return createSerdesError(SERIALIZATION_ERROR_MESSAGE + CANCELLED_MESSAGE, SERDES_ERROR);
+        }
+
+        if (handedOverLength == NO_CHUNK) {
+            return error;
+        }
+        handedOut = true;
+        if (handedOverLength == chunk.length) {
+            return chunkValue;
+        }
+        // Only the last chunk is partial, so it is the only one that is copied
+        return ValueCreator.createArrayValue(Arrays.copyOf(chunk, handedOverLength));
+    }
+
+    /**
+     * Stops the encoding thread, if the values are not written to the channel to the end.
+     */
+    synchronized void cancel() {
+        cancelled = true;
+        notifyAll();
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
+import com.google.protobuf.Descriptors.Descriptor;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BString;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Protobuf schema generated for a Ballerina data type, along with the plans compiled to serialize and deserialize
+ * its values.
+ */
+public class CompiledSchema {
+
+    /**
+     * Number of bytes of the fingerprint that precedes a value serialized with its schema fingerprint.
+     */
+    public static final int FINGERPRINT_SIZE = Long.BYTES;
+
+    private static final String FINGERPRINT_ALGORITHM = "SHA-256";
+    private static final int MAX_CACHED_PROJECTIONS = 64;
+    private static final int MAX_CACHED_FIELD_QUERIES = 64;
+    private static final int MAX_CACHED_TYPE_MISMATCH_DETAILS = 64;
+    private static final BString TYPE_MISMATCH_ERROR_MESSAGE = StringUtils.fromString(
+            Serializer.SERIALIZATION_ERROR_MESSAGE + Serializer.TYPE_MISMATCH_ERROR_MESSAGE);
+
+    private final Type type;
+    private final String dataTypeName;
+    private final Descriptor descriptor;
+    private final long fingerprint;
+    private final MessageWriter messageWriter;
+    private final MessageReader messageReader;
+    private volatile MessageWriter parallelMessageWriter;
+    private volatile byte[] serializedSchema;
+    private volatile MessageReader parallelMessageReader;
+    private final Map<List<String>, MessageReader> projectionReaders = new ConcurrentHashMap<>();
+    private final Map<String, FieldQuery> fieldQueries = new ConcurrentHashMap<>();
+    private final Map<List<String>, TypeMismatchDetail> typeMismatchDetails = new ConcurrentHashMap<>();
+
+    CompiledSchema(Type type, Descriptor descriptor, MessageWriter messageWriter, MessageReader messageReader) {
+        this.type = type;
+        this.dataTypeName = SchemaCache.getCacheKey(type);
+        this.descriptor = descriptor;
+        this.fingerprint = computeFingerprint(descriptor);
+        this.messageWriter = messageWriter;
+        this.messageReader = messageReader;
+    }
+
+    public Descriptor getDescriptor() {
+        return descriptor;
+    }
+
+    /**
+     * Returns the fingerprint of the schema, which is the first 8 bytes of the SHA-256 hash of the serialized
+     * {@code FileDescriptorProto} of the schema, read in little-endian order. The schemas generated for a data type
+     * have the same fingerprint in every process.
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Serializes the schema as a {@code FileDescriptorSet}, from which it can be built again with
+     * {@link SchemaGenerator#compileSchema(io.ballerina.runtime.api.types.Type, byte[])}.
+     */
+    public byte[] toFileDescriptorSet() {
+        return getFileDescriptorSet().clone();
+    }
+
+    /**
+     * Checks whether a serialized {@code FileDescriptorSet}, such as a schema that is being loaded, holds exactly
+     * this schema.
+     */
+    boolean isSerializedAs(byte[] fileDescriptorSet) {
+        return Arrays.equals(getFileDescriptorSet(), fileDescriptorSet);
+    }
+
+    // The schema is serialized once, when it is first exported or compared with a loaded schema
+    private byte[] getFileDescriptorSet() {
+        byte[] serializedSchema = this.serializedSchema;
+        if (serializedSchema == null) {
+            serializedSchema = FileDescriptorSet.newBuilder()
+                    .addFile(descriptor.getFile().toProto())
+                    .build()
+                    .toByteArray();
+            this.serializedSchema = serializedSchema;
+        }
+        return serializedSchema;
+    }
+
+    /**
+     * Returns the name of the data type of the schema, under which its metrics are recorded.
+     */
+    String getDataTypeName() {
+        return dataTypeName;
+    }
+
+    MessageWriter getMessageWriter() {
+        return messageWriter;
+    }
+
+    MessageReader getMessageReader() {
+        return messageReader;
+    }
+
+    /**
+     * Returns the writer used to serialize values with large arrays in parallel, which is compiled when it is first
+     * used.
+     */
+    MessageWriter getParallelMessageWriter() {
+        MessageWriter writer = parallelMessageWriter;
+        if (writer == null) {
+            // Writers compiled by racing threads are equivalent, so either of them can be kept
+            writer = SerializationPlan.compileParallel(type, descriptor);
+            parallelMessageWriter = writer;
+        }
+        return writer;
+    }
+
+    /**
+     * Returns the reader used to deserialize values with large arrays in parallel, which is compiled when it is first
+     * used.
+     */
+    MessageReader getParallelMessageReader() {
+        MessageReader reader = parallelMessageReader;
+        if (reader == null) {
+            // Readers compiled by racing threads are equivalent, so either of them can be kept
+            reader = DeserializationPlan.compileParallel(type, descriptor);
+            parallelMessageReader = reader;
+        }
+        return reader;
+    }
+
+    /**
+     * Returns the reader that deserializes only the fields selected by the given field paths. Readers are compiled
+     * once for each set of field paths, up to a limit, after which they are compiled for every call.
+     */
+    MessageReader getProjectionReader(List<String> fieldPaths) {
+        MessageReader projectionReader = projectionReaders.get(fieldPaths);
+        if (projectionReader != null) {
+            return projectionReader;
+        }
+
+        projectionReader = DeserializationPlan.compileProjection(type, descriptor, FieldProjection.parse(fieldPaths));
+        if (projectionReaders.size() < MAX_CACHED_PROJECTIONS) {
+            projectionReaders.putIfAbsent(fieldPaths, projectionReader);
+        }
+        return projectionReader;
+    }
+
+    /**
+     * Returns the query that reads the field selected by the given field path. Queries are compiled once for each
+     * field path, up to a limit, after which they are compiled for every call.
+     */
+    FieldQuery getFieldQuery(String fieldPath) {
+        FieldQuery fieldQuery = fieldQueries.get(fieldPath);
+        if (fieldQuery != null) {
+            return fieldQuery;
+        }
+
+        fieldQuery = FieldQuery.compile(type, descriptor, fieldPath);
+        if (fieldQueries.size() < MAX_CACHED_FIELD_QUERIES) {
+            fieldQueries.putIfAbsent(fieldPath, fieldQuery);
+        }
+        return fieldQuery;
+    }
+
+    /**
+     * Returns a new error of a value that does not match the data type of the schema. The strings of its detail are
+     * created once for each field of the schema and expected type, up to a limit, so values rejected at the same
+     * field, in any element of the arrays or entry of the maps enclosing it, only cost the error itself.
+     */
+    BError getTypeMismatchError(TypeMismatchException mismatch) {
+        List<String> key = List.of(mismatch.getSchemaPath(), mismatch.getExpectedType());
+        TypeMismatchDetail detail = typeMismatchDetails.get(key);
+        if (detail == null) {
+            detail = new TypeMismatchDetail(key.get(0), key.get(1));
+            if (typeMismatchDetails.size() < MAX_CACHED_TYPE_MISMATCH_DETAILS) {
+                typeMismatchDetails.putIfAbsent(key, detail);
+            }
+        }
+
+        BString fieldPath = mismatch.isSchemaPath() ? detail.schemaPath
+                : StringUtils.fromString(mismatch.getFieldPath());
+        return Utils.createTypeMismatchError(TYPE_MISMATCH_ERROR_MESSAGE, fieldPath, detail.expectedType);
+    }
+
+    /**
+     * Reads the fingerprint written in front of a value serialized with its schema fingerprint.
+     *
+     * @param encodedMessage Bytes of the value, which must hold at least {@link #FINGERPRINT_SIZE} bytes.
+     * @return Fingerprint of the schema the value was serialized with.
+     */
+    static long readFingerprint(byte[] encodedMessage) {
+        return ByteBuffer.wrap(encodedMessage, 0, FINGERPRINT_SIZE).order(ByteOrder.LITTLE_ENDIAN).getLong();
+    }
+
+    private static long computeFingerprint(Descriptor descriptor) {
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance(FINGERPRINT_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+
+        byte[] hash = messageDigest.digest(descriptor.getFile().toProto().toByteArray());
+        return readFingerprint(hash);
+    }
+
+    /**
+     * Strings of the detail of the errors of values that are mismatched at the same field of the schema.
+     */
+    private static final class TypeMismatchDetail {
+
+        private final BString schemaPath;
+        private final BString expectedType;
+
+        private TypeMismatchDetail(String schemaPath, String expectedType) {
+            this.schemaPath = StringUtils.fromString(schemaPath);
+            this.expectedType = StringUtils.fromString(expectedType);
+        }
+    }
+}
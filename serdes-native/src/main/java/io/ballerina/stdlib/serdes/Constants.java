@@ -28,4 +28,9 @@ public class Constants {
 
     // Error constants
     public static final String SERDES_ERROR = "Error";
+    public static final String SCHEMA_MISMATCH_ERROR = "SchemaMismatchError";
+    public static final String TYPE_MISMATCH_ERROR = "TypeMismatchError";
+    public static final String TYPE_MISMATCH_DETAIL = "TypeMismatchDetail";
+    public static final String FIELD_PATH = "fieldPath";
+    public static final String EXPECTED_TYPE = "expectedType";
 }
@@ -42,7 +42,7 @@ public class DataTypeMapper {
         javaTypeToProto = new HashMap<>();
         javaTypeToProto.put("Double", "double");
         javaTypeToProto.put("Float", "double");
-        javaTypeToProto.put("DecimalValue", "double");
+        javaTypeToProto.put("DecimalValue", DecimalMessage.DECIMAL_MESSAGE_NAME);
         javaTypeToProto.put("Integer", "sint64");
         javaTypeToProto.put("Long", "sint64");
         javaTypeToProto.put("Boolean", "bool");
@@ -56,7 +56,7 @@ public class DataTypeMapper {
         ballerinaTypeTagToProto.put(TypeTags.INT_TAG, "sint64");
         ballerinaTypeTagToProto.put(TypeTags.BYTE_TAG, "bytes");
         ballerinaTypeTagToProto.put(TypeTags.FLOAT_TAG, "double");
-        ballerinaTypeTagToProto.put(TypeTags.DECIMAL_TAG, "double");
+        ballerinaTypeTagToProto.put(TypeTags.DECIMAL_TAG, DecimalMessage.DECIMAL_MESSAGE_NAME);
         ballerinaTypeTagToProto.put(TypeTags.STRING_TAG, "string");
         ballerinaTypeTagToProto.put(TypeTags.BOOLEAN_TAG, "bool");
     }
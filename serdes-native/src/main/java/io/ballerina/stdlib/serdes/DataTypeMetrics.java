@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of the operations on values of a data type.
+ */
+public final class DataTypeMetrics implements DataTypeMetricsMXBean {
+
+    private final String dataType;
+    private final OperationMetrics serialization = new OperationMetrics();
+    private final OperationMetrics deserialization = new OperationMetrics();
+    private final OperationMetrics schemaGeneration = new OperationMetrics();
+    private final LongAdder schemaCacheHits = new LongAdder();
+
+    DataTypeMetrics(String dataType) {
+        this.dataType = dataType;
+    }
+
+    @Override
+    public String getDataType() {
+        return dataType;
+    }
+
+    @Override
+    public OperationMetrics getSerialization() {
+        return serialization;
+    }
+
+    @Override
+    public OperationMetrics getDeserialization() {
+        return deserialization;
+    }
+
+    @Override
+    public OperationMetrics getSchemaGeneration() {
+        return schemaGeneration;
+    }
+
+    @Override
+    public long getSchemaCacheHits() {
+        return schemaCacheHits.sum();
+    }
+
+    void recordSchemaCacheHit() {
+        schemaCacheHits.increment();
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BDecimal;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static io.ballerina.stdlib.serdes.SchemaGenerator.OPTIONAL_LABEL;
+
+/**
+ * Encodes Ballerina decimals as the Protobuf message generated for them, which holds the scale and the unscaled value
+ * of the decimal so that it is encoded without loss of precision:
+ * <pre>
+ * message ballerinadecimal {
+ *     optional sint32 scale = 1;
+ *     optional sint64 value = 2;
+ *     optional bytes bigvalue = 3;
+ * }
+ * </pre>
+ * Unscaled values that fit in a long are written as the value field. Larger ones are written as the bigvalue field,
+ * in the two's-complement, big-endian byte order of {@link BigInteger#toByteArray()}. Fields with a value of zero are
+ * not written.
+ */
+final class DecimalMessage {
+
+    static final String DECIMAL_MESSAGE_NAME = "ballerinadecimal";
+
+    private static final int SCALE_FIELD_NUMBER = 1;
+    private static final int VALUE_FIELD_NUMBER = 2;
+    private static final int BIG_VALUE_FIELD_NUMBER = 3;
+
+    private static final int SCALE_TAG = makeTag(SCALE_FIELD_NUMBER, WireFormat.WIRETYPE_VARINT);
+    private static final int VALUE_TAG = makeTag(VALUE_FIELD_NUMBER, WireFormat.WIRETYPE_VARINT);
+    private static final int BIG_VALUE_TAG = makeTag(BIG_VALUE_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+
+    private static final int MAX_LONG_BIT_LENGTH = 63;
+
+    private DecimalMessage() {}
+
+    static ProtobufMessage buildProtobufMessage() {
+        return ProtobufMessage.newMessageBuilder(DECIMAL_MESSAGE_NAME)
+                .addField(OPTIONAL_LABEL, "sint32", "scale", SCALE_FIELD_NUMBER)
+                .addField(OPTIONAL_LABEL, "sint64", "value", VALUE_FIELD_NUMBER)
+                .addField(OPTIONAL_LABEL, "bytes", "bigvalue", BIG_VALUE_FIELD_NUMBER)
+                .build();
+    }
+
+    /**
+     * Computes the number of bytes of a decimal message, including its length prefix. The size of the message is
+     * recorded in the given size cache, so that writing it does not measure the decimal again.
+     */
+    static int computeSizeNoTag(BigDecimal decimal, SizeCache sizeCache) {
+        int messageSize = computeMessageSize(decimal);
+        sizeCache.set(sizeCache.reserve(), messageSize);
+        return CodedOutputStream.computeUInt32SizeNoTag(messageSize) + messageSize;
+    }
+
+    /**
+     * Writes a decimal message, starting from its length prefix, which is read from the given size cache.
+     */
+    static void writeNoTag(CodedOutputStream output, BigDecimal decimal, SizeCache sizeCache) throws IOException {
+        output.writeUInt32NoTag(sizeCache.next());
+
+        if (decimal.scale() != 0) {
+            output.writeSInt32(SCALE_FIELD_NUMBER, decimal.scale());
+        }
+
+        BigInteger unscaledValue = decimal.unscaledValue();
+        if (unscaledValue.bitLength() > MAX_LONG_BIT_LENGTH) {
+            output.writeByteArray(BIG_VALUE_FIELD_NUMBER, unscaledValue.toByteArray());
+        } else if (unscaledValue.signum() != 0) {
+            output.writeSInt64(VALUE_FIELD_NUMBER, unscaledValue.longValue());
+        }
+    }
+
+    /**
+     * Reads a decimal message, starting from its length prefix.
+     */
+    static BDecimal readNoTag(CodedInputStream input) throws IOException {
+        int oldLimit = input.pushLimit(input.readRawVarint32());
+
+        int scale = 0;
+        long value = 0;
+        BigInteger bigValue = null;
+
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            if (tag == SCALE_TAG) {
+                scale = input.readSInt32();
+            } else if (tag == VALUE_TAG) {
+                value = input.readSInt64();
+            } else if (tag == BIG_VALUE_TAG) {
+                byte[] bytes = input.readByteArray();
+                bigValue = bytes.length == 0 ? null : new BigInteger(bytes);
+            } else {
+                input.skipField(tag);
+            }
+        }
+        input.popLimit(oldLimit);
+
+        BigDecimal decimal = bigValue != null ? new BigDecimal(bigValue, scale) : BigDecimal.valueOf(value, scale);
+        return ValueCreator.createDecimalValue(decimal);
+    }
+
+    // WireFormat.makeTag is not public
+    private static int makeTag(int fieldNumber, int wireType) {
+        return fieldNumber << 3 | wireType;
+    }
+
+    private static int computeMessageSize(BigDecimal decimal) {
+        int size = 0;
+        if (decimal.scale() != 0) {
+            size += CodedOutputStream.computeSInt32Size(SCALE_FIELD_NUMBER, decimal.scale());
+        }
+
+        BigInteger unscaledValue = decimal.unscaledValue();
+        if (unscaledValue.bitLength() > MAX_LONG_BIT_LENGTH) {
+            // This is the length of BigInteger.toByteArray(), which is not created just to be measured
+            int length = unscaledValue.bitLength() / Byte.SIZE + 1;
+            size += CodedOutputStream.computeTagSize(BIG_VALUE_FIELD_NUMBER)
+                    + CodedOutputStream.computeUInt32SizeNoTag(length) + length;
+        } else if (unscaledValue.signum() != 0) {
+            size += CodedOutputStream.computeSInt64Size(VALUE_FIELD_NUMBER, unscaledValue.longValue());
+        }
+        return size;
+    }
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.TableType;
+import io.ballerina.runtime.api.types.TupleType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.UnionType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.ballerina.stdlib.serdes.Constants.SERDES_ERROR;
+import static io.ballerina.stdlib.serdes.Deserializer.DESERIALIZATION_ERROR_MESSAGE;
+import static io.ballerina.stdlib.serdes.SchemaGenerator.ARRAY_FIELD_NAME;
+import static io.ballerina.stdlib.serdes.SchemaGenerator.ATOMIC_FIELD_NAME;
+import static io.ballerina.stdlib.serdes.SchemaGenerator.MAP_FIELD_NAME;
+import static io.ballerina.stdlib.serdes.SchemaGenerator.TABLE_FIELD_NAME;
+import static io.ballerina.stdlib.serdes.SchemaGenerator.UNSUPPORTED_DATA_TYPE;
+import static io.ballerina.stdlib.serdes.Utils.createSerdesError;
+
+/**
+ * Compiles the readers used to deserialize values of a data type from messages of the schema generated for it.
+ *
+ * This mirrors {@link SerializationPlan}, so a record field, a union member or a tuple member at position n is read
+ * from the field numbered n + 1. Each record message is compiled once, like in {@link SerializationPlan}, unless
+ * only some of its fields are selected.
+ *
+ * The parallel plan differs only in the readers of repeated message fields, which defer the elements of their arrays
+ * to the {@link ParallelDecoder} reading the value.
+ */
+public class DeserializationPlan {
+
+    static final String UNKNOWN_FIELD_ERROR_MESSAGE = "Unknown field in field path: ";
+    static final String PROJECTION_OF_NON_RECORD_ERROR_MESSAGE = "Fields can only be selected in records: ";
+
+    // Type of the values that records of which only some fields are selected are decoded into
+    private static final MapType PROJECTED_RECORD_TYPE = TypeCreator.createMapType(PredefinedTypes.TYPE_ANYDATA);
+
+    // Readers of the record messages compiled so far, which are shared by every field of a record type
+    private final Map<Descriptor, MessageReader> recordReaders = new HashMap<>();
+
+    private final boolean parallel;
+
+    private DeserializationPlan() {
+        this(false);
+    }
+
+    private DeserializationPlan(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    static MessageReader compile(Type type, Descriptor schema) {
+        return new DeserializationPlan().compileMessage(type, schema);
+    }
+
+    /**
+     * Compiles the reader used by {@link ParallelDecoder} to deserialize values of a data type.
+     */
+    static MessageReader compileParallel(Type type, Descriptor schema) {
+        return new DeserializationPlan(true).compileMessage(type, schema);
+    }
+
+    /**
+     * Compiles the reader of a field holding a value of a given type.
+     */
+    static FieldReader compileFieldReader(Type type, FieldDescriptor fieldDescriptor) {
+        return new DeserializationPlan().compileField(type, fieldDescriptor, null);
+    }
+
+    /**
+     * Compiles the reader of a single element of an array, read from one occurrence of the repeated field of the
+     * array. Arrays of bytes and packed arrays do not have an occurrence for each element.
+     */
+    static FieldReader compileElementReader(ArrayType arrayType, FieldDescriptor fieldDescriptor) {
+        Type elementType = arrayType.getElementType();
+
+        if (elementType.getTag() <= TypeTags.BOOLEAN_TAG) {
+            return new PrimitiveFieldReader(elementType.getTag());
+        } else {
+            return new MessageFieldReader(new DeserializationPlan().compileElementMessage(elementType,
+                    fieldDescriptor));
+        }
+    }
+
+    private MessageReader compileMessage(Type type, Descriptor schema) {
+        if (type.getTag() <= TypeTags.BOOLEAN_TAG) {
+            FieldDescriptor field = schema.findFieldByName(ATOMIC_FIELD_NAME);
+
+            return new SingleFieldMessageReader(field.getNumber(), new PrimitiveFieldReader(type.getTag()));
+        } else if (type.getTag() == TypeTags.UNION_TAG) {
+            FieldDescriptor field = schema.findFieldByName(ATOMIC_FIELD_NAME);
+            MessageReader unionReader = compileUnion((UnionType) type, field.getMessageType());
+
+            return new SingleFieldMessageReader(field.getNumber(), new MessageFieldReader(unionReader));
+        } else if (type.getTag() == TypeTags.ARRAY_TAG) {
+            FieldDescriptor field = schema.findFieldByName(ARRAY_FIELD_NAME);
+
+            return new SingleFieldMessageReader(field.getNumber(), compileArrayField((ArrayType) type, field));
+        } else if (type.getTag() == TypeTags.RECORD_TYPE_TAG) {
+            return compileRecord((RecordType) type, schema, null);
+        } else if (type.getTag() == TypeTags.MAP_TAG) {
+            FieldDescriptor field = schema.findFieldByName(MAP_FIELD_NAME);
+
+            return new SingleFieldMessageReader(field.getNumber(), compileMapField((MapType) type, field));
+        } else if (type.getTag() == TypeTags.TABLE_TAG) {
+            FieldDescriptor field = schema.findFieldByName(TABLE_FIELD_NAME);
+
+            return new SingleFieldMessageReader(field.getNumber(), compileTableField((TableType) type, field));
+        } else if (type.getTag() == TypeTags.TUPLE_TAG) {
+            return compileTuple((TupleType) type, schema);
+        } else if (type.getTag() == TypeTags.JSON_TAG) {
+            FieldDescriptor field = schema.findFieldByName(ATOMIC_FIELD_NAME);
+
+            return new SingleFieldMessageReader(field.getNumber(), new MessageFieldReader(new JsonMessageReader()));
+        } else {
+            throw createSerdesError(UNSUPPORTED_DATA_TYPE + type.getName(), SERDES_ERROR);
+        }
+    }
+
+    /**
+     * Compiles a reader that deserializes only the fields of a record selected by the given projection. The other
+     * fields are skipped in the input without being decoded. The record, and each nested record of which only some
+     * fields are selected, is decoded into a {@code map<anydata>}, while the fields selected as a whole are decoded
+     * into values of their types.
+     *
+     * Nested records of which fields are selected are decoded along with the record, not when they are accessed.
+     */
+    static MessageReader compileProjection(Type type, Descriptor schema, FieldProjection projection) {
+        if (type.getTag() != TypeTags.RECORD_TYPE_TAG) {
+            throw createSerdesError(DESERIALIZATION_ERROR_MESSAGE + PROJECTION_OF_NON_RECORD_ERROR_MESSAGE
+                    + type.getName(), SERDES_ERROR);
+        }
+        return new DeserializationPlan().compileRecord((RecordType) type, schema, projection);
+    }
+
+    // A null projection selects every field of the record
+    private MessageReader compileRecord(RecordType recordType, Descriptor schema, FieldProjection projection) {
+        if (projection == null && recordReaders.containsKey(schema)) {
+            return recordReaders.get(schema);
+        }
+
+        Map<String, Field> fields = recordType.getFields();
+        int lastFieldNumber = fields.size();
+        if (projection != null) {
+            for (String fieldName : projection.getFieldNames()) {
+                if (!fields.containsKey(fieldName)) {
+                    throw createSerdesError(DESERIALIZATION_ERROR_MESSAGE + UNKNOWN_FIELD_ERROR_MESSAGE
+                            + projection.getPath(fieldName), SERDES_ERROR);
+                }
+            }
+            lastFieldNumber = getLastSelectedFieldNumber(fields, projection);
+        }
+
+        // Fields numbered after the last selected field are skipped like unknown fields
+        BString[] fieldNames = new BString[lastFieldNumber + 1];
+        FieldReader[] fieldReaders = new FieldReader[lastFieldNumber + 1];
+        MessageReader recordReader = projection == null
+                ? new RecordMessageReader(recordType.getPackage(), recordType.getName(), fieldNames, fieldReaders)
+                : new RecordMessageReader(PROJECTED_RECORD_TYPE, fieldNames, fieldReaders);
+        if (projection == null) {
+            // The reader is registered before its fields are compiled, as they may refer to the record type itself
+            recordReaders.put(schema, recordReader);
+        }
+
+        int fieldNumber = 1;
+        for (Field field : fields.values()) {
+            String fieldName = field.getFieldName();
+            if (fieldNumber > lastFieldNumber) {
+                break;
+            }
+
+            if (projection == null || projection.selects(fieldName)) {
+                FieldDescriptor fieldDescriptor = schema.findFieldByNumber(fieldNumber);
+                FieldProjection nestedProjection = projection == null ? null
+                        : projection.getNestedProjection(fieldName);
+
+                fieldNames[fieldNumber] = StringUtils.fromString(fieldName);
+                fieldReaders[fieldNumber] = compileField(field.getFieldType(), fieldDescriptor, nestedProjection);
+            }
+            fieldNumber++;
+        }
+
+        return recordReader;
+    }
+
+    private static int getLastSelectedFieldNumber(Map<String, Field> fields, FieldProjection projection) {
+        int fieldNumber = 1;
+        int lastFieldNumber = 0;
+        for (String fieldName : fields.keySet()) {
+            if (projection.selects(fieldName)) {
+                lastFieldNumber = fieldNumber;
+            }
+            fieldNumber++;
+        }
+        return lastFieldNumber;
+    }
+
+    private MessageReader compileUnion(UnionType unionType, Descriptor schema) {
+        List<Type> members = unionType.getMemberTypes();
+
+        FieldReader[] memberReaders = new FieldReader[members.size() + 1];
+
+        for (int i = 0; i < members.size(); i++) {
+            Type memberType = members.get(i);
+            FieldDescriptor fieldDescriptor = schema.findFieldByNumber(i + 1);
+
+            if (memberType.getTag() == TypeTags.NULL_TAG) {
+                memberReaders[i + 1] = new NilFieldReader();
+            } else {
+                memberReaders[i + 1] = compileField(memberType, fieldDescriptor, null);
+            }
+        }
+
+        return new UnionMessageReader(memberReaders);
+    }
+
+    private MessageReader compileTuple(TupleType tupleType, Descriptor schema) {
+        List<Type> members = tupleType.getTupleTypes();
+
+        FieldReader[] memberReaders = new FieldReader[members.size() + 1];
+        for (int i = 0; i < members.size(); i++) {
+            memberReaders[i + 1] = compileField(members.get(i), schema.findFieldByNumber(i + 1), null);
+        }
+
+        // Each occurrence of the field numbered after the other members is a member of the rest type
+        Type restType = tupleType.getRestType();
+        FieldReader restReader = restType == null ? null
+                : compileField(restType, schema.findFieldByNumber(members.size() + 1), null);
+
+        return new TupleMessageReader(tupleType, memberReaders, restReader);
+    }
+
+    private FieldReader compileField(Type type, FieldDescriptor fieldDescriptor, FieldProjection projection) {
+        if (projection != null) {
+            return compileProjectedField(type, fieldDescriptor, projection);
+        } else if (type.getTag() <= TypeTags.BOOLEAN_TAG) {
+            return new PrimitiveFieldReader(type.getTag());
+        } else if (type.getTag() == TypeTags.UNION_TAG) {
+            return new MessageFieldReader(compileUnion((UnionType) type, fieldDescriptor.getMessageType()));
+        } else if (type.getTag() == TypeTags.RECORD_TYPE_TAG) {
+            return new MessageFieldReader(compileRecord((RecordType) type, fieldDescriptor.getMessageType(), null));
+        } else if (type.getTag() == TypeTags.ARRAY_TAG) {
+            return compileArrayField((ArrayType) type, fieldDescriptor);
+        } else if (type.getTag() == TypeTags.MAP_TAG) {
+            return compileMapField((MapType) type, fieldDescriptor);
+        } else if (type.getTag() == TypeTags.TABLE_TAG) {
+            return compileTableField((TableType) type, fieldDescriptor);
+        } else if (type.getTag() == TypeTags.TUPLE_TAG) {
+            return new MessageFieldReader(compileTuple((TupleType) type, fieldDescriptor.getMessageType()));
+        } else if (type.getTag() == TypeTags.JSON_TAG) {
+            return new MessageFieldReader(new JsonMessageReader());
+        } else {
+            throw createSerdesError(UNSUPPORTED_DATA_TYPE + type.getName(), SERDES_ERROR);
+        }
+    }
+
+    private FieldReader compileMapField(MapType mapType, FieldDescriptor fieldDescriptor) {
+        Descriptor entrySchema = fieldDescriptor.getMessageType();
+        FieldDescriptor valueField = entrySchema.findFieldByNumber(MapFieldWriter.VALUE_FIELD_NUMBER);
+
+        return new MapFieldReader(mapType, compileField(mapType.getConstrainedType(), valueField, null));
+    }
+
+    private FieldReader compileTableField(TableType tableType, FieldDescriptor fieldDescriptor) {
+        MessageReader rowReader = compileRecord((RecordType) tableType.getConstrainedType(),
+                fieldDescriptor.getMessageType(), null);
+
+        return new TableFieldReader(tableType, rowReader);
+    }
+
+    private FieldReader compileArrayField(ArrayType arrayType, FieldDescriptor fieldDescriptor) {
+        Type elementType = arrayType.getElementType();
+        // Decoded arrays are created with an open array type of the element type
+        ArrayType decodedArrayType = TypeCreator.createArrayType(elementType);
+
+        if (elementType.getTag() == TypeTags.BYTE_TAG) {
+            return new BytesFieldReader();
+        } else if (fieldDescriptor.isPacked()) {
+            return new PackedPrimitiveFieldReader(decodedArrayType);
+        } else if (elementType.getTag() <= TypeTags.BOOLEAN_TAG) {
+            return new RepeatedPrimitiveFieldReader(decodedArrayType);
+        } else if (parallel) {
+            return new ParallelRepeatedMessageFieldReader(compileElementMessage(elementType, fieldDescriptor),
+                    decodedArrayType);
+        } else {
+            return new RepeatedMessageFieldReader(compileElementMessage(elementType, fieldDescriptor),
+                    decodedArrayType);
+        }
+    }
+
+    private MessageReader compileElementMessage(Type elementType, FieldDescriptor fieldDescriptor) {
+        if (elementType.getTag() == TypeTags.UNION_TAG) {
+            return compileUnion((UnionType) elementType, fieldDescriptor.getMessageType());
+        } else if (elementType.getTag() == TypeTags.RECORD_TYPE_TAG) {
+            return compileRecord((RecordType) elementType, fieldDescriptor.getMessageType(), null);
+        } else if (elementType.getTag() == TypeTags.ARRAY_TAG) {
+            // Nested arrays are wrapped in a message that holds the inner array in its only field
+            Descriptor nestedSchema = fieldDescriptor.getMessageType();
+            FieldDescriptor nestedField = nestedSchema.getFields().get(0);
+            FieldReader nestedArrayReader = compileArrayField((ArrayType) elementType, nestedField);
+
+            return new SingleFieldMessageReader(nestedField.getNumber(), nestedArrayReader);
+        } else if (elementType.getTag() == TypeTags.MAP_TAG || elementType.getTag() == TypeTags.TABLE_TAG) {
+            // Maps and tables are wrapped the same way as nested arrays
+            FieldDescriptor nestedField = fieldDescriptor.getMessageType().getFields().get(0);
+
+            return new SingleFieldMessageReader(nestedField.getNumber(), compileField(elementType, nestedField, null));
+        } else if (elementType.getTag() == TypeTags.TUPLE_TAG) {
+            return compileTuple((TupleType) elementType, fieldDescriptor.getMessageType());
+        } else if (elementType.getTag() == TypeTags.JSON_TAG) {
+            return new JsonMessageReader();
+        } else {
+            throw createSerdesError(UNSUPPORTED_DATA_TYPE + elementType.getName(), SERDES_ERROR);
+        }
+    }
+
+    // Nested fields can be selected in a record, or in each record of an array of records
+    private FieldReader compileProjectedField(Type type, FieldDescriptor fieldDescriptor,
+                                              FieldProjection projection) {
+        if (type.getTag() == TypeTags.RECORD_TYPE_TAG) {
+            return new MessageFieldReader(compileRecord((RecordType) type, fieldDescriptor.getMessageType(),
+                    projection));
+        } else if (type.getTag() == TypeTags.ARRAY_TAG
+                && ((ArrayType) type).getElementType().getTag() == TypeTags.RECORD_TYPE_TAG) {
+            RecordType elementType = (RecordType) ((ArrayType) type).getElementType();
+            MessageReader recordReader = compileRecord(elementType, fieldDescriptor.getMessageType(), projection);
+
+            return new RepeatedMessageFieldReader(recordReader, TypeCreator.createArrayType(PROJECTED_RECORD_TYPE));
+        } else {
+            throw createSerdesError(DESERIALIZATION_ERROR_MESSAGE + PROJECTION_OF_NON_RECORD_ERROR_MESSAGE
+                    + projection.getPath(), SERDES_ERROR);
+        }
+    }
+}
@@ -18,58 +18,37 @@
 
 package io.ballerina.stdlib.serdes;
 
-import com.google.protobuf.ByteString;
-import com.google.protobuf.Descriptors.Descriptor;
-import com.google.protobuf.Descriptors.FieldDescriptor;
-import com.google.protobuf.DynamicMessage;
-import com.google.protobuf.InvalidProtocolBufferException;
-import io.ballerina.runtime.api.TypeTags;
+import com.google.protobuf.CodedInputStream;
 import io.ballerina.runtime.api.creators.TypeCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
-import io.ballerina.runtime.api.types.ArrayType;
-import io.ballerina.runtime.api.types.Field;
-import io.ballerina.runtime.api.types.RecordType;
 import io.ballerina.runtime.api.types.Type;
-import io.ballerina.runtime.api.types.UnionType;
-import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BError;
-import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BHandle;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTypedesc;
 
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.Map;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
 
 import static io.ballerina.stdlib.serdes.Constants.SERDES_ERROR;
 import static io.ballerina.stdlib.serdes.Utils.createSerdesError;
+import static io.ballerina.stdlib.serdes.Utils.toParallelThreshold;
 
 /**
  * Deserializer class to generate an object from a byte array.
  */
 public class Deserializer {
 
-    static final String BYTE = "LiteralByteString";
-    static final String STRING = "String";
-    static final String FLOAT = "Float";
-    static final String DOUBLE = "Double";
-    static final String DYNAMIC_MESSAGE = "DynamicMessage";
-
-    static final String ATOMIC_FIELD_NAME = "atomicField";
-    static final String ARRAY_FIELD_NAME = "arrayfield";
-    static final String NULL_FIELD_NAME = "nullField";
-
     static final String SCHEMA_NAME = "schema";
 
-    static final String UNION_FIELD_NAME = "unionelement";
-    static final String UNION_TYPE_IDENTIFIER = "ballerinauniontype";
-    static final String UNION_FIELD_SEPARATOR = "__";
-
     static final String UNSUPPORTED_DATA_TYPE = "Unsupported data type: ";
     static final String DESERIALIZATION_ERROR_MESSAGE = "Failed to Deserialize data: ";
+    static final String NOT_A_BYTE_BUFFER_ERROR_MESSAGE = "Handle does not refer to a java.nio.ByteBuffer";
+    static final String FINGERPRINT_MISMATCH_ERROR_MESSAGE = "Schema fingerprint does not match the data type";
 
     /**
      * Creates an anydata object from a byte array after deserializing.
@@ -80,281 +59,283 @@ public class Deserializer {
      * @return anydata object.
      */
     public static Object deserialize(BObject des, BArray encodedMessage, BTypedesc dataType) {
-        Descriptor schema = (Descriptor) des.getNativeData(SCHEMA_NAME);
+        CompiledSchema schema = (CompiledSchema) des.getNativeData(SCHEMA_NAME);
+        return SerdesMetrics.measureDeserialization(schema, encodedMessage.size(),
+                () -> decode(schema, newCodedInputStream(encodedMessage)));
+    }
 
-        Object object = null;
-        
-        try {
-            DynamicMessage dynamicMessage = generateDynamicMessageFromBytes(schema, encodedMessage);
+    /**
+     * Creates an anydata object from a byte array produced by {@link Serializer#serializeWithFingerprint} after
+     * checking that its schema fingerprint matches the schema of the data type and deserializing.
+     *
+     * @param des  Deserializer object.
+     * @param encodedMessage Byte array corresponding to the schema fingerprint and the encoded data.
+     * @param dataType Data type of the encoded value.
+     * @return anydata object.
+     */
+    public static Object deserializeWithFingerprint(BObject des, BArray encodedMessage, BTypedesc dataType) {
+        CompiledSchema schema = (CompiledSchema) des.getNativeData(SCHEMA_NAME);
+        return SerdesMetrics.measureDeserialization(schema, encodedMessage.size(),
+                () -> decodeWithFingerprint(schema, encodedMessage));
+    }
 
-            object = dynamicMessageToBallerinaType(dynamicMessage, dataType, schema);
-        } catch (BError e) {
-            return e;
-        } catch (InvalidProtocolBufferException e) {
+    private static Object decodeWithFingerprint(CompiledSchema schema, BArray encodedMessage) {
+        CodedInputStream input = newCodedInputStream(encodedMessage);
+        try {
+            if (input.readFixed64() != schema.getFingerprint()) {
+                return createSerdesError(DESERIALIZATION_ERROR_MESSAGE + FINGERPRINT_MISMATCH_ERROR_MESSAGE,
+                        SERDES_ERROR);
+            }
+        } catch (IOException e) {
             return createSerdesError(DESERIALIZATION_ERROR_MESSAGE + e.getMessage(), SERDES_ERROR);
         }
 
-        return object;
+        return decode(schema, input);
     }
 
-    private static DynamicMessage generateDynamicMessageFromBytes(Descriptor schema, BArray encodedMessage)
-                                                                                throws InvalidProtocolBufferException {
-        return DynamicMessage.parseFrom(schema, encodedMessage.getBytes());
-    }
+    /**
+     * Creates an anydata object from the bytes of a {@code ByteBuffer} between its position and limit after
+     * deserializing. The bytes are read in place, and the position of the buffer is not changed.
+     *
+     * @param des  Deserializer object.
+     * @param byteBuffer Handle to the {@code ByteBuffer} holding the encoded data.
+     * @param dataType Data type of the encoded value.
+     * @return anydata object.
+     */
+    public static Object deserializeByteBuffer(BObject des, BHandle byteBuffer, BTypedesc dataType) {
+        CompiledSchema schema = (CompiledSchema) des.getNativeData(SCHEMA_NAME);
 
-    private static Object dynamicMessageToBallerinaType(DynamicMessage dynamicMessage, BTypedesc typedesc,
-                                                        Descriptor schema) {
-        Type type = typedesc.getDescribingType();
+        if (!(byteBuffer.getValue() instanceof ByteBuffer)) {
+            return createSerdesError(DESERIALIZATION_ERROR_MESSAGE + NOT_A_BYTE_BUFFER_ERROR_MESSAGE, SERDES_ERROR);
+        }
 
-        if (type.getTag() <= TypeTags.BOOLEAN_TAG) {
-            FieldDescriptor fieldDescriptor = schema.findFieldByName(ATOMIC_FIELD_NAME);
+        ByteBuffer encodedMessage = (ByteBuffer) byteBuffer.getValue();
+        return SerdesMetrics.measureDeserialization(schema, encodedMessage.remaining(),
+                () -> decode(schema, encodedMessage));
+    }
 
-            return primitiveToBallerina(dynamicMessage.getField(fieldDescriptor));
-        } else if (type.getTag() == TypeTags.UNION_TAG) {
-            FieldDescriptor fieldDescriptor = schema.findFieldByName(ATOMIC_FIELD_NAME);
-            DynamicMessage dynamicMessageForUnion = (DynamicMessage) dynamicMessage.getField(fieldDescriptor);
+    /**
+     * Creates an anydata object from a byte array after deserializing it with the given schema.
+     *
+     * @param schema Schema of the data type of the encoded value.
+     * @param encodedMessage Byte array corresponding to encoded data.
+     * @return anydata object.
+     */
+    public static Object decode(CompiledSchema schema, byte[] encodedMessage) {
+        return decode(schema, CodedInputStream.newInstance(encodedMessage));
+    }
 
-            return resolveUnionType(dynamicMessageForUnion, typedesc.getDescribingType(), schema);
-        } else if (type.getTag() == TypeTags.ARRAY_TAG) {
-            ArrayType arrayType = (ArrayType) type;
-            Type elementType = arrayType.getElementType();
+    /**
+     * Creates an anydata object from the bytes of a {@code ByteBuffer} between its position and limit after
+     * deserializing them with the given schema. Heap, direct and memory-mapped buffers are read in place, and the
+     * position of the buffer is not changed.
+     *
+     * @param schema Schema of the data type of the encoded value.
+     * @param encodedMessage Buffer holding the encoded data.
+     * @return anydata object.
+     */
+    public static Object decode(CompiledSchema schema, ByteBuffer encodedMessage) {
+        return decode(schema, CodedInputStream.newInstance(encodedMessage));
+    }
 
-            FieldDescriptor fieldDescriptor = schema.findFieldByName(ARRAY_FIELD_NAME);
-            schema = fieldDescriptor.getContainingType();
+    /**
+     * Creates an anydata object from a byte array after deserializing, decoding the elements of large arrays of
+     * records, and of other values encoded as messages, in parallel on the common {@code ForkJoinPool}. The calling
+     * thread waits until the whole value is decoded.
+     *
+     * @param des  Deserializer object.
+     * @param encodedMessage Byte array corresponding to encoded data.
+     * @param parallelThreshold Minimum number of elements of an array for its elements to be decoded in parallel.
+     * @param dataType Data type of the encoded value.
+     * @return anydata object.
+     */
+    public static Object deserializeParallel(BObject des, BArray encodedMessage, long parallelThreshold,
+                                             BTypedesc dataType) {
+        CompiledSchema schema = (CompiledSchema) des.getNativeData(SCHEMA_NAME);
+
+        // The storage of the byte array is read in place, like in newCodedInputStream
+        return SerdesMetrics.measureDeserialization(schema, encodedMessage.size(),
+                () -> decodeParallel(schema, encodedMessage.getByteArray(), encodedMessage.size(),
+                        toParallelThreshold(parallelThreshold)));
+    }
 
-            return arrayToBallerina(dynamicMessage.getField(fieldDescriptor), elementType, schema, 1);
-        } else if (type.getTag() == TypeTags.RECORD_TYPE_TAG) {
-            Map<String, Object> mapObject = recordToBallerina(dynamicMessage, type, schema);
+    /**
+     * Creates an anydata object from a byte array after deserializing it with the given schema, decoding the
+     * elements of arrays that have at least the given number of elements in parallel.
+     *
+     * @param schema Schema of the data type of the encoded value.
+     * @param encodedMessage Byte array corresponding to encoded data.
+     * @param parallelThreshold Minimum number of elements of an array for its elements to be decoded in parallel.
+     * @return anydata object.
+     */
+    public static Object decodeParallel(CompiledSchema schema, byte[] encodedMessage, int parallelThreshold) {
+        return decodeParallel(schema, encodedMessage, encodedMessage.length, toParallelThreshold(parallelThreshold));
+    }
 
-            return ValueCreator.createRecordValue(type.getPackage(), type.getName(), mapObject);
-        } else {
-            throw createSerdesError(UNSUPPORTED_DATA_TYPE + type.getName(), SERDES_ERROR);
+    private static Object decodeParallel(CompiledSchema schema, byte[] buffer, int length, int parallelThreshold) {
+        try {
+            return ParallelDecoder.decode(schema.getParallelMessageReader(), buffer, length, parallelThreshold);
+        } catch (BError e) {
+            return e;
+        } catch (IOException e) {
+            return createSerdesError(DESERIALIZATION_ERROR_MESSAGE + e.getMessage(), SERDES_ERROR);
         }
     }
 
-    private static Object primitiveToBallerina(Object value) {
-        String valueInString = value.toString();
+    /**
+     * Creates a map from a byte array after deserializing only the fields selected by the given field paths.
+     * The names of nested fields in a path are separated by dots, like {@code address.country}.
+     *
+     * @param des  Deserializer object.
+     * @param encodedMessage Byte array corresponding to encoded data.
+     * @param fieldPaths Paths of the fields that are deserialized.
+     * @param dataType Data type of the encoded value, which must be a record type.
+     * @return {@code map<anydata>} holding the selected fields that are present in the encoded data.
+     */
+    public static Object deserializeFields(BObject des, BArray encodedMessage, BArray fieldPaths, BTypedesc dataType) {
+        CompiledSchema schema = (CompiledSchema) des.getNativeData(SCHEMA_NAME);
+        return SerdesMetrics.measureDeserialization(schema, encodedMessage.size(), () -> {
+            try {
+                MessageReader projectionReader = schema.getProjectionReader(
+                        Arrays.asList(fieldPaths.getStringArray()));
+                return decode(projectionReader, newCodedInputStream(encodedMessage));
+            } catch (BError e) {
+                return e;
+            }
+        });
+    }
 
-        switch (value.getClass().getSimpleName()) {
-            case STRING:
-                return StringUtils.fromString(valueInString);
-            case DOUBLE:
-                return ValueCreator.createDecimalValue(valueInString);
-            default:
-                return value;
+    /**
+     * Creates a map from a byte array after deserializing only the fields selected by the given field paths with
+     * the given schema.
+     *
+     * @param schema Schema of the data type of the encoded value, which must be a record type.
+     * @param encodedMessage Byte array corresponding to encoded data.
+     * @param fieldPaths Paths of the fields that are deserialized.
+     * @return {@code map<anydata>} holding the selected fields that are present in the encoded data.
+     */
+    public static Object decodeFields(CompiledSchema schema, byte[] encodedMessage, List<String> fieldPaths) {
+        try {
+            return decode(schema.getProjectionReader(fieldPaths), CodedInputStream.newInstance(encodedMessage));
+        } catch (BError e) {
+            return e;
         }
     }
 
-    private static Object arrayToBallerina(Object value, Type type, Descriptor schema, int unionFieldIdentifier) {
-        if (value.getClass().getSimpleName().equals(BYTE)) {
-            ByteString byteString = (ByteString) value;
-
-            return ValueCreator.createArrayValue(byteString.toByteArray());
-        } else {
-            Collection collection = (Collection) value;
-
-            BArray bArray = ValueCreator.createArrayValue(TypeCreator.createArrayType(type));
-
-            for (Iterator it = collection.iterator(); it.hasNext(); ) {
-                Object element = it.next();
-
-                if (type.getTag() == TypeTags.STRING_TAG) {
-                    bArray.append(StringUtils.fromString(element.toString()));
-                } else if (type.getTag() == TypeTags.FLOAT_TAG) {
-                    bArray.append(Double.valueOf(element.toString()));
-                } else if (type.getTag() == TypeTags.ARRAY_TAG) {
-                    ArrayType arrayType = (ArrayType) type;
-                    Type elementType = arrayType.getElementType();
-                    String fieldName;
-                    if (elementType.getTag() == TypeTags.UNION_TAG) {
-                        fieldName = UNION_FIELD_NAME + unionFieldIdentifier;
-//                        unionFieldIdentifier++;
-                    } else if (elementType.getTag() == TypeTags.ARRAY_TAG) {
-                        fieldName = UNION_FIELD_NAME + unionFieldIdentifier;
-                        unionFieldIdentifier++;
-                    } else {
-                        fieldName = elementType.getName();
-                    }
-
-                    Descriptor nestedSchema = schema.findNestedTypeByName(fieldName);
-                    DynamicMessage nestedDynamicMessage = (DynamicMessage) element;
-                    FieldDescriptor fieldDescriptor = nestedSchema.findFieldByName(fieldName);
-
-                    BArray nestedArray = (BArray) arrayToBallerina(nestedDynamicMessage.getField(fieldDescriptor),
-                                                                   elementType, nestedSchema, unionFieldIdentifier);
-
-                    bArray.append(nestedArray);
-                } else if (type.getTag() == TypeTags.UNION_TAG) {
-                    DynamicMessage dynamicMessageForUnion = (DynamicMessage) element;
-
-                    bArray.append(resolveUnionType(dynamicMessageForUnion, type, schema));
-                } else if (type.getTag() == TypeTags.RECORD_TYPE_TAG) {
-                    Map<String, Object> mapObject = recordToBallerina((DynamicMessage) element, type, schema);
-
-                    bArray.append(ValueCreator.createRecordValue(type.getPackage(), type.getName(), mapObject));
-                } else {
-                    bArray.append(element);
-                }
+    /**
+     * Reads a single field from a byte array without deserializing the other fields. The names of nested fields in
+     * the path are separated by dots, and an element of an array is selected by its index, like
+     * {@code contacts[3].mobile}.
+     *
+     * @param des  Deserializer object.
+     * @param encodedMessage Byte array corresponding to encoded data.
+     * @param fieldPath Path of the field that is read.
+     * @param dataType Data type of the encoded value, which must be a record type.
+     * @return Value of the field, or nil if the encoded data does not have it.
+     */
+    public static Object extractField(BObject des, BArray encodedMessage, BString fieldPath, BTypedesc dataType) {
+        CompiledSchema schema = (CompiledSchema) des.getNativeData(SCHEMA_NAME);
+        return SerdesMetrics.measureDeserialization(schema, encodedMessage.size(), () -> {
+            try {
+                return decode(schema.getFieldQuery(fieldPath.getValue()), newCodedInputStream(encodedMessage));
+            } catch (BError e) {
+                return e;
             }
+        });
+    }
 
-            return bArray;
+    /**
+     * Reads a single field from a byte array with the given schema, without deserializing the other fields.
+     *
+     * @param schema Schema of the data type of the encoded value, which must be a record type.
+     * @param encodedMessage Byte array corresponding to encoded data.
+     * @param fieldPath Path of the field that is read.
+     * @return Value of the field, or null if the encoded data does not have it.
+     */
+    public static Object decodeField(CompiledSchema schema, byte[] encodedMessage, String fieldPath) {
+        try {
+            return decode(schema.getFieldQuery(fieldPath), CodedInputStream.newInstance(encodedMessage));
+        } catch (BError e) {
+            return e;
         }
     }
 
-    private static Map<String, Object> recordToBallerina(DynamicMessage dynamicMessage, Type type, Descriptor schema) {
-        Map<String, Object> map = new HashMap();
-
-        for (Map.Entry<FieldDescriptor, Object> entry : dynamicMessage.getAllFields().entrySet()) {
-            String fieldName = entry.getKey().getName();
-            Object value = entry.getValue();
-
-            if (value instanceof DynamicMessage) {
-                DynamicMessage nestedDynamicMessage = (DynamicMessage) value;
-
-                String fieldType = nestedDynamicMessage.getDescriptorForType().getName();
-
-                String[] processFieldName = fieldType.split("_");
-                String unionCheck = processFieldName[processFieldName.length - 1];
-
-                if (unionCheck.contains(UNION_TYPE_IDENTIFIER)) {
-                    Descriptor unionSchema = schema.findNestedTypeByName(fieldType);
-
-                    Type unionType = null;
-                    RecordType recordType = (RecordType) type;
-
-                    for (Map.Entry<String, Field> member: recordType.getFields().entrySet()) {
-                        if (member.getKey().equals(fieldName)) {
-                            unionType = member.getValue().getFieldType();
-                            break;
-                        }
-                    }
-
-                    map.put(fieldName, resolveUnionType(nestedDynamicMessage, unionType, unionSchema));
-
-                } else {
-                    Map<String, Object> nestedMap = recordToBallerina(nestedDynamicMessage, type, schema);
-                    String recordTypeName = getRecordTypeName(type, fieldName);
-
-                    BMap<BString, Object> nestedRecord = ValueCreator.createRecordValue(
-                            type.getPackage(),
-                            recordTypeName,
-                            nestedMap
-                    );
-
-                    map.put(fieldName, nestedRecord);
-                }
-            } else if (value.getClass().getSimpleName().equals(BYTE) || entry.getKey().isRepeated()) {
-                if (!value.getClass().getSimpleName().equals(BYTE)) {
-                    Type elementType = getArrayElementType(type, fieldName);
-                    Object handleArray = arrayToBallerina(value, elementType, schema, 1);
-
-                    map.put(fieldName, handleArray);
-                } else {
-                    Object handleArray = arrayToBallerina(value, type, schema, 1);
-
-                    map.put(fieldName, handleArray);
-                }
-
-            } else if (DataTypeMapper.getProtoTypeFromJavaType(value.getClass().getSimpleName()) != null) {
-                Object handlePrimitive = primitiveToBallerina(value);
-
-                map.put(fieldName, handlePrimitive);
-            } else {
-                throw createSerdesError(UNSUPPORTED_DATA_TYPE + value.getClass().getSimpleName(), SERDES_ERROR);
-            }
+    /**
+     * Finds the offset of the value of a single field in a byte array with the given schema.
+     *
+     * @param schema Schema of the data type of the encoded value, which must be a record type.
+     * @param encodedMessage Byte array corresponding to encoded data.
+     * @param fieldPath Path of the field that is found.
+     * @return Index of the encoding of the value of the field, after its tag, or -1 if the encoded data does not have
+     *         it.
+     * @throws BError If the field path is invalid or the encoded data cannot be read.
+     */
+    public static int findFieldOffset(CompiledSchema schema, byte[] encodedMessage, String fieldPath) {
+        try {
+            return schema.getFieldQuery(fieldPath).findOffset(CodedInputStream.newInstance(encodedMessage));
+        } catch (IOException e) {
+            throw createSerdesError(DESERIALIZATION_ERROR_MESSAGE + e.getMessage(), SERDES_ERROR);
         }
-
-        return map;
     }
 
-    private static String getRecordTypeName(Type type, String fieldName) {
-        RecordType recordType = (RecordType) type;
-
-        for (Map.Entry<String, Field> entry: recordType.getFields().entrySet()) {
-            Type fieldType = entry.getValue().getFieldType();
-
-            if (fieldType.getTag() == TypeTags.RECORD_TYPE_TAG && entry.getKey().equals(fieldName)) {
-                return fieldType.getName();
-            } else if (fieldType.getTag() == TypeTags.RECORD_TYPE_TAG) {
-                return getRecordTypeName(fieldType, fieldName);
-            } else {
-                continue;
-            }
+    private static Object decode(FieldQuery fieldQuery, CodedInputStream input) {
+        try {
+            return fieldQuery.read(input);
+        } catch (BError e) {
+            return e;
+        } catch (IOException e) {
+            return createSerdesError(DESERIALIZATION_ERROR_MESSAGE + e.getMessage(), SERDES_ERROR);
         }
-
-        return null;
     }
 
-    private static Type getArrayElementType(Type type, String fieldName) {
-        RecordType recordType = (RecordType) type;
-
-        for (Map.Entry<String, Field> entry: recordType.getFields().entrySet()) {
-            if (entry.getValue().getFieldType().getTag() == TypeTags.ARRAY_TAG && entry.getKey().equals(fieldName)) {
-                ArrayType arrayType = (ArrayType) entry.getValue().getFieldType();
+    private static Object decode(CompiledSchema schema, CodedInputStream input) {
+        return decode(schema.getMessageReader(), input);
+    }
 
-                return arrayType.getElementType();
-            } else if (entry.getValue().getFieldType().getTag() == TypeTags.RECORD_TYPE_TAG) {
-                return getArrayElementType(entry.getValue().getFieldType(), fieldName);
-            }
+    private static Object decode(MessageReader messageReader, CodedInputStream input) {
+        try {
+            return messageReader.read(input);
+        } catch (BError e) {
+            return e;
+        } catch (IOException e) {
+            return createSerdesError(DESERIALIZATION_ERROR_MESSAGE + e.getMessage(), SERDES_ERROR);
         }
-
-        return null;
     }
 
-    private static Object resolveUnionType(DynamicMessage dynamicMessage, Type type, Descriptor schema) {
-        for (Map.Entry<FieldDescriptor, Object> entry : dynamicMessage.getAllFields().entrySet()) {
-            Object value = entry.getValue();
-
-            if (entry.getKey().getName().equals(NULL_FIELD_NAME) && (Boolean) value) {
-                return null;
-            }
-
-            if (value instanceof DynamicMessage) {
-                DynamicMessage dynamicMessageForUnion = (DynamicMessage) entry.getValue();
-                Type recordType = getElementTypeFromUnion(type, entry.getKey().getName());
-
-                Map<String, Object> mapObject = recordToBallerina(dynamicMessageForUnion, recordType, schema);
+    /**
+     * Creates an array of anydata objects from a byte array of length-delimited encoded values after deserializing.
+     *
+     * @param des  Deserializer object.
+     * @param encodedMessages Byte array corresponding to the length-delimited encoded data.
+     * @param dataType Data type of the encoded values.
+     * @return Array of the anydata objects, in the order they were encoded.
+     */
+    public static Object deserializeBatch(BObject des, BArray encodedMessages, BTypedesc dataType) {
+        CompiledSchema schema = (CompiledSchema) des.getNativeData(SCHEMA_NAME);
+        return SerdesMetrics.measureDeserialization(schema, encodedMessages.size(),
+                () -> decodeBatch(schema, encodedMessages, dataType.getDescribingType()));
+    }
 
-                return ValueCreator.createRecordValue(recordType.getPackage(), recordType.getName(), mapObject);
-            } else if (value.getClass().getSimpleName().equals(BYTE) || entry.getKey().isRepeated()) {
-                Type elementType = getElementTypeFromUnion(type, entry.getKey().getName());
+    private static Object decodeBatch(CompiledSchema schema, BArray encodedMessages, Type dataType) {
+        MessageReader messageReader = schema.getMessageReader();
 
-                return arrayToBallerina(value, elementType, schema, 1);
-            } else {
-                return primitiveToBallerina(entry.getValue());
+        BArray values = ValueCreator.createArrayValue(TypeCreator.createArrayType(dataType));
+        try {
+            CodedInputStream input = newCodedInputStream(encodedMessages);
+            while (!input.isAtEnd()) {
+                values.append(MessageFieldReader.readMessage(input, messageReader));
             }
+        } catch (BError e) {
+            return e;
+        } catch (IOException e) {
+            return createSerdesError(DESERIALIZATION_ERROR_MESSAGE + e.getMessage(), SERDES_ERROR);
         }
 
-        return null;
+        return values;
     }
 
-    private static Type getElementTypeFromUnion(Type type, String fieldName) {
-        UnionType unionType = (UnionType) type;
-        String typeFromFieldName = fieldName.split(UNION_FIELD_SEPARATOR)[0];
-
-        for (Type memberType : unionType.getMemberTypes()) {
-            if (memberType.getTag() == TypeTags.ARRAY_TAG) {
-                ArrayType arrayType = (ArrayType) memberType;
-
-                String elementType;
-                if (DataTypeMapper.getProtoTypeFromTag(arrayType.getElementType().getTag()) != null) {
-                    elementType = DataTypeMapper.getProtoTypeFromTag(arrayType.getElementType().getTag());
-                } else {
-                    elementType = arrayType.getElementType().getName();
-                }
-
-                if (typeFromFieldName.equals(elementType)) {
-                    return arrayType.getElementType();
-                }
-            } else if (memberType.getTag() == TypeTags.RECORD_TYPE_TAG) {
-                RecordType recordType = (RecordType) memberType;
-
-                if (recordType.getName().equals(typeFromFieldName)) {
-                    return recordType;
-                }
-            }
-        }
-
-        return null;
+    // The storage of a byte array is read in place instead of copying the array. It can be larger than the array.
+    static CodedInputStream newCodedInputStream(BArray encodedMessage) {
+        return CodedInputStream.newInstance(encodedMessage.getByteArray(), 0, encodedMessage.size());
     }
 }
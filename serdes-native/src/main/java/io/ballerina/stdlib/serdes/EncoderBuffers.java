@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.stdlib.serdes;
+
+/**
+ * Scratch state of the serializer, kept per thread so that it is reused by the serialize calls made on that thread
+ * instead of being allocated for every call. Only the size cache is kept. The output of a call is written straight
+ * into its result array, or into the destination given to {@link Serializer#encodeInto}, through a
+ * {@code CodedOutputStream} created for that call, as an array-backed stream cannot be reset to a new array.
+ *
+ * A size cache that grew beyond the pooled maximum is replaced when it is reused, so that a single large value does
+ * not hold on to its memory after it is encoded.
+ */
+final class EncoderBuffers {
+
+    static final int MAX_POOLED_SIZES = 16 * 1024;
+
+    private static final ThreadLocal<EncoderBuffers> BUFFERS = ThreadLocal.withInitial(EncoderBuffers::new);
+
+    private final SizeCache sizeCache = new SizeCache();
+
+    private EncoderBuffers() {}
+
+    static EncoderBuffers get() {
+        return BUFFERS.get();
+    }
+
+    /**
+     * Returns the size cache of the thread, with no sizes recorded.
+     */
+    SizeCache getSizeCache() {
+        sizeCache.clear(MAX_POOLED_SIZES);
+        return sizeCache;
+    }
+}
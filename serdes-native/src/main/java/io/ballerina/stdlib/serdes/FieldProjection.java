@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static io.ballerina.stdlib.serdes.Constants.SERDES_ERROR;
+import static io.ballerina.stdlib.serdes.Deserializer.DESERIALIZATION_ERROR_MESSAGE;
+import static io.ballerina.stdlib.serdes.Utils.createSerdesError;
+
+/**
+ * Fields of a record selected by a set of field paths, such as {@code name} and {@code address.country}, to be
+ * deserialized without the other fields of the record.
+ *
+ * A field selected by a path that ends at it is deserialized as a whole. A field of which only nested fields are
+ * selected has a projection of its own, which applies to each element of an array of records.
+ */
+final class FieldProjection {
+
+    static final String INVALID_FIELD_PATH_ERROR_MESSAGE = "Invalid field path: ";
+
+    private static final String PATH_SEPARATOR = ".";
+    private static final String PATH_SEPARATOR_REGEX = "\\.";
+
+    private final String path;
+    private final Map<String, FieldProjection> fields = new LinkedHashMap<>();
+    private boolean wholeValue;
+
+    private FieldProjection(String path) {
+        this.path = path;
+    }
+
+    /**
+     * Parses the given field paths, in which the names of nested fields are separated by dots.
+     *
+     * @param fieldPaths Paths of the selected fields.
+     * @return Projection of the record at the root of the paths.
+     * @throws io.ballerina.runtime.api.values.BError If a path has an empty field name.
+     */
+    static FieldProjection parse(List<String> fieldPaths) {
+        FieldProjection root = new FieldProjection("");
+
+        for (String fieldPath : fieldPaths) {
+            String[] fieldNames = fieldPath.split(PATH_SEPARATOR_REGEX, -1);
+
+            FieldProjection projection = root;
+            for (int i = 0; i < fieldNames.length && !projection.wholeValue; i++) {
+                if (fieldNames[i].isEmpty()) {
+                    throw createSerdesError(DESERIALIZATION_ERROR_MESSAGE + INVALID_FIELD_PATH_ERROR_MESSAGE
+                            + fieldPath, SERDES_ERROR);
+                }
+                projection = projection.fields.computeIfAbsent(fieldNames[i], projection::newNestedProjection);
+            }
+
+            // A field selected as a whole includes every nested field selected by another path
+            projection.wholeValue = true;
+            projection.fields.clear();
+        }
+
+        return root;
+    }
+
+    String getPath() {
+        return path;
+    }
+
+    Set<String> getFieldNames() {
+        return fields.keySet();
+    }
+
+    boolean selects(String fieldName) {
+        return fields.containsKey(fieldName);
+    }
+
+    /**
+     * Returns the projection of a selected field, or null if the field is selected as a whole.
+     */
+    FieldProjection getNestedProjection(String fieldName) {
+        FieldProjection nestedProjection = fields.get(fieldName);
+        return nestedProjection.wholeValue ? null : nestedProjection;
+    }
+
+    String getPath(String fieldName) {
+        return path.isEmpty() ? fieldName : path + PATH_SEPARATOR + fieldName;
+    }
+
+    private FieldProjection newNestedProjection(String fieldName) {
+        return new FieldProjection(getPath(fieldName));
+    }
+}
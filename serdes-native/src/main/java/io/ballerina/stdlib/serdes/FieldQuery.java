@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.WireFormat;
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.values.BError;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.ballerina.stdlib.serdes.Constants.SERDES_ERROR;
+import static io.ballerina.stdlib.serdes.DeserializationPlan.PROJECTION_OF_NON_RECORD_ERROR_MESSAGE;
+import static io.ballerina.stdlib.serdes.DeserializationPlan.UNKNOWN_FIELD_ERROR_MESSAGE;
+import static io.ballerina.stdlib.serdes.Deserializer.DESERIALIZATION_ERROR_MESSAGE;
+import static io.ballerina.stdlib.serdes.FieldProjection.INVALID_FIELD_PATH_ERROR_MESSAGE;
+import static io.ballerina.stdlib.serdes.Utils.createSerdesError;
+
+/**
+ * Reads a single field of an encoded record, selected by a path such as {@code contacts[3].mobile}, without
+ * deserializing the record.
+ *
+ * The path is resolved against the schema when the query is compiled, into the field number and the occurrence of the
+ * field to look for at each level of nesting. Reading follows these through the encoded bytes, and skips the fields
+ * that are not on the path, including length-delimited ones, by their length without parsing them.
+ */
+class FieldQuery {
+
+    static final String NOT_AN_ARRAY_ERROR_MESSAGE = "Field is not an array in field path: ";
+
+    private static final Pattern SEGMENT_PATTERN = Pattern.compile("([^\\[\\]]+)((?:\\[\\d{1,9}])*)");
+    private static final Pattern INDEX_PATTERN = Pattern.compile("\\[(\\d+)]");
+    private static final String PATH_SEPARATOR_REGEX = "\\.";
+
+    // The selected value is one occurrence of its field, every occurrence of a repeated field, or an element of a
+    // packed field or of a bytes field
+    private static final int OCCURRENCE = 0;
+    private static final int ALL_OCCURRENCES = 1;
+    private static final int PACKED_ELEMENT = 2;
+    private static final int BYTES_ELEMENT = 3;
+
+    private final int[] fieldNumbers;
+    private final int[] occurrences;
+    private final int leafKind;
+    private final FieldReader leafReader;
+    private final int leafElementTag;
+
+    /**
+     * @param fieldNumbers Numbers of the fields on the path, the last of which holds the selected value.
+     * @param occurrences Indexes of the occurrences of the fields on the path, or of the element of a packed or
+     *                    bytes field that is selected.
+     */
+    private FieldQuery(int[] fieldNumbers, int[] occurrences, int leafKind, FieldReader leafReader,
+                       int leafElementTag) {
+        this.fieldNumbers = fieldNumbers;
+        this.occurrences = occurrences;
+        this.leafKind = leafKind;
+        this.leafReader = leafReader;
+        this.leafElementTag = leafElementTag;
+    }
+
+    /**
+     * Compiles a query of a field of a record type. The names of nested fields are separated by dots in the path, and
+     * an element of an array is selected by its index in square brackets.
+     *
+     * @param type Record type of the encoded values.
+     * @param schema Schema generated for the record type.
+     * @param fieldPath Path of the selected field.
+     * @return Query of the field.
+     * @throws BError If the path is invalid or does not select a field of the type.
+     */
+    static FieldQuery compile(Type type, Descriptor schema, String fieldPath) {
+        if (type.getTag() != TypeTags.RECORD_TYPE_TAG) {
+            throw createQueryError(PROJECTION_OF_NON_RECORD_ERROR_MESSAGE, type.getName());
+        }
+
+        List<Integer> fieldNumbers = new ArrayList<>();
+        List<Integer> occurrences = new ArrayList<>();
+
+        Type valueType = type;
+        Descriptor messageSchema = schema;
+        FieldDescriptor field = null;
+        // Array of which the value is an element, or null if the value is the field itself
+        ArrayType elementOf = null;
+
+        for (String segment : fieldPath.split(PATH_SEPARATOR_REGEX, -1)) {
+            Matcher segmentMatcher = SEGMENT_PATTERN.matcher(segment);
+            if (!segmentMatcher.matches()) {
+                throw createQueryError(INVALID_FIELD_PATH_ERROR_MESSAGE, fieldPath);
+            }
+            if (valueType.getTag() != TypeTags.RECORD_TYPE_TAG) {
+                throw createQueryError(PROJECTION_OF_NON_RECORD_ERROR_MESSAGE, fieldPath);
+            }
+            if (field != null) {
+                messageSchema = field.getMessageType();
+            }
+
+            int fieldNumber = 1;
+            Type fieldType = null;
+            for (Field recordField : ((RecordType) valueType).getFields().values()) {
+                if (recordField.getFieldName().equals(segmentMatcher.group(1))) {
+                    fieldType = recordField.getFieldType();
+                    break;
+                }
+                fieldNumber++;
+            }
+            if (fieldType == null) {
+                throw createQueryError(UNKNOWN_FIELD_ERROR_MESSAGE, fieldPath);
+            }
+
+            valueType = fieldType;
+            field = messageSchema.findFieldByNumber(fieldNumber);
+            elementOf = null;
+            fieldNumbers.add(fieldNumber);
+            occurrences.add(0);
+
+            Matcher indexMatcher = INDEX_PATTERN.matcher(segmentMatcher.group(2));
+            while (indexMatcher.find()) {
+                if (valueType.getTag() != TypeTags.ARRAY_TAG) {
+                    throw createQueryError(NOT_AN_ARRAY_ERROR_MESSAGE, fieldPath);
+                }
+                int index = Integer.parseInt(indexMatcher.group(1));
+
+                if (elementOf == null) {
+                    // The elements of an array field are the occurrences of the field
+                    occurrences.set(occurrences.size() - 1, index);
+                } else {
+                    // An element of a nested array is a message that holds the inner array in its only field
+                    field = field.getMessageType().getFields().get(0);
+                    fieldNumbers.add(field.getNumber());
+                    occurrences.add(index);
+                }
+                elementOf = (ArrayType) valueType;
+                valueType = elementOf.getElementType();
+            }
+        }
+
+        int leafKind;
+        FieldReader leafReader;
+        if (elementOf == null) {
+            // Arrays, maps and tables are repeated fields, of which every occurrence is read
+            leafKind = field.isRepeated() ? ALL_OCCURRENCES : OCCURRENCE;
+            leafReader = DeserializationPlan.compileFieldReader(valueType, field);
+        } else if (valueType.getTag() == TypeTags.BYTE_TAG) {
+            leafKind = BYTES_ELEMENT;
+            leafReader = null;
+        } else if (field.isPacked()) {
+            leafKind = PACKED_ELEMENT;
+            leafReader = null;
+        } else {
+            leafKind = OCCURRENCE;
+            leafReader = DeserializationPlan.compileElementReader(elementOf, field);
+        }
+
+        return new FieldQuery(toArray(fieldNumbers), toArray(occurrences), leafKind, leafReader,
+                valueType.getTag());
+    }
+
+    /**
+     * Reads the selected field from an encoded record.
+     *
+     * @param input Input holding the encoded record.
+     * @return Value of the field, or null if the encoded record does not have it.
+     */
+    Object read(CodedInputStream input) throws IOException {
+        int wireType = seek(input);
+        if (wireType < 0) {
+            return null;
+        }
+
+        switch (leafKind) {
+            case PACKED_ELEMENT:
+                return PrimitiveFieldReader.readValue(input, leafElementTag);
+            case BYTES_ELEMENT:
+                return Byte.toUnsignedInt(input.readRawByte());
+            case ALL_OCCURRENCES:
+                int leafFieldNumber = fieldNumbers[fieldNumbers.length - 1];
+                Object value = leafReader.read(input, wireType, null);
+
+                int tag;
+                while ((tag = input.readTag()) != 0) {
+                    if (WireFormat.getTagFieldNumber(tag) == leafFieldNumber
+                            && leafReader.acceptsWireType(WireFormat.getTagWireType(tag))) {
+                        value = leafReader.read(input, WireFormat.getTagWireType(tag), value);
+                    } else {
+                        input.skipField(tag);
+                    }
+                }
+                return value;
+            default:
+                return leafReader.read(input, wireType, null);
+        }
+    }
+
+    /**
+     * Finds the offset of the selected field in an encoded record.
+     *
+     * @param input Input holding the encoded record.
+     * @return Number of bytes of the input before the encoding of the value of the field, after its tag, or -1 if the
+     *         encoded record does not have it.
+     */
+    int findOffset(CodedInputStream input) throws IOException {
+        return seek(input) < 0 ? -1 : input.getTotalBytesRead();
+    }
+
+    // Positions the input at the value of the selected field, and returns its wire type, or -1 if it is not present
+    private int seek(CodedInputStream input) throws IOException {
+        int leaf = fieldNumbers.length - 1;
+        for (int i = 0; i < leaf; i++) {
+            if (seekOccurrence(input, fieldNumbers[i], occurrences[i]) != WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+                return -1;
+            }
+            // The limit is not popped, as the input is not read past the nested message
+            input.pushLimit(input.readRawVarint32());
+        }
+
+        switch (leafKind) {
+            case PACKED_ELEMENT:
+                return seekPackedElement(input, fieldNumbers[leaf], occurrences[leaf]);
+            case BYTES_ELEMENT:
+                return seekBytesElement(input, fieldNumbers[leaf], occurrences[leaf]);
+            default:
+                int wireType = seekOccurrence(input, fieldNumbers[leaf], occurrences[leaf]);
+                return wireType >= 0 && leafReader.acceptsWireType(wireType) ? wireType : -1;
+        }
+    }
+
+    private static int seekOccurrence(CodedInputStream input, int fieldNumber, int occurrence) throws IOException {
+        int count = 0;
+
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            if (WireFormat.getTagFieldNumber(tag) == fieldNumber) {
+                if (count == occurrence) {
+                    return WireFormat.getTagWireType(tag);
+                }
+                count++;
+            }
+            input.skipField(tag);
+        }
+        return -1;
+    }
+
+    private int seekPackedElement(CodedInputStream input, int fieldNumber, int index) throws IOException {
+        int elementWireType = PrimitiveFieldReader.getWireType(leafElementTag);
+        int remaining = index;
+
+        int wireType;
+        while ((wireType = seekOccurrence(input, fieldNumber, 0)) >= 0) {
+            if (wireType != WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+                // An element that is not packed is an occurrence of the field by itself
+                if (remaining == 0) {
+                    return wireType;
+                }
+                PrimitiveFieldReader.readValue(input, leafElementTag);
+                remaining--;
+                continue;
+            }
+
+            int length = input.readRawVarint32();
+            if (leafElementTag == TypeTags.FLOAT_TAG) {
+                // Floats have a fixed size, so the element is found without reading the ones before it
+                if (remaining < length / Double.BYTES) {
+                    input.skipRawBytes(remaining * Double.BYTES);
+                    return elementWireType;
+                }
+                input.skipRawBytes(length);
+                remaining -= length / Double.BYTES;
+                continue;
+            }
+
+            int oldLimit = input.pushLimit(length);
+            while (!input.isAtEnd()) {
+                if (remaining == 0) {
+                    return elementWireType;
+                }
+                PrimitiveFieldReader.readValue(input, leafElementTag);
+                remaining--;
+            }
+            input.popLimit(oldLimit);
+        }
+        return -1;
+    }
+
+    private static int seekBytesElement(CodedInputStream input, int fieldNumber, int index) throws IOException {
+        int wireType = seekOccurrence(input, fieldNumber, 0);
+        if (wireType != WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+            return -1;
+        }
+
+        int length = input.readRawVarint32();
+        if (index >= length) {
+            return -1;
+        }
+        input.skipRawBytes(index);
+        return wireType;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    private static BError createQueryError(String message, String detail) {
+        return createSerdesError(DESERIALIZATION_ERROR_MESSAGE + message + detail, SERDES_ERROR);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedInputStream;
+
+import java.io.IOException;
+
+/**
+ * Decodes a pre-resolved field of a Protobuf message into a Ballerina value.
+ */
+interface FieldReader {
+
+    /**
+     * Reads one occurrence of the field.
+     *
+     * @param input Input positioned right after the tag of the field.
+     * @param wireType Wire type of the tag that was read.
+     * @param previousValue Value read from the earlier occurrences of the field, null if there is none.
+     * @return Value of the field, including the values of the earlier occurrences of a repeated field.
+     */
+    Object read(CodedInputStream input, int wireType, Object previousValue) throws IOException;
+
+    /**
+     * Checks whether an occurrence of the field with the given wire type can be read. Fields with unexpected wire
+     * types are skipped like unknown fields.
+     */
+    boolean acceptsWireType(int wireType);
+
+    /**
+     * Returns the value of the field when it is not present in a message.
+     */
+    Object getDefaultValue();
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedOutputStream;
+
+import java.io.IOException;
+
+/**
+ * Encodes a Ballerina value as a pre-resolved field of a Protobuf message.
+ */
+interface FieldWriter {
+
+    /**
+     * Computes the number of bytes of the field encoding, including its tags.
+     * The sizes of its length-delimited parts are recorded in the given size cache.
+     *
+     * @throws TypeMismatchException If the value, or a value nested in it, does not match the type it is written as.
+     */
+    int computeSize(Object value, SizeCache sizeCache);
+
+    /**
+     * Writes the value, reading the sizes of its length-delimited parts from the given size cache, in which they must
+     * have been recorded by {@link #computeSize} for the same value.
+     */
+    void write(CodedOutputStream output, Object value, SizeCache sizeCache) throws IOException;
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+
+import java.io.IOException;
+
+/**
+ * Decodes length-delimited values from input that arrives in chunks of arbitrary sizes.
+ *
+ * Only the bytes of the frame that is being decoded and of the chunk that was fed last are buffered, so a sequence of
+ * frames of any length is decoded in memory proportional to the largest frame.
+ */
+class FrameDecoder {
+
+    static final Object INCOMPLETE_FRAME = new Object();
+    static final String MALFORMED_LENGTH_MESSAGE = "Malformed length of a value";
+
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+    private static final int MAX_VARINT32_SIZE = 5;
+
+    private final MessageReader messageReader;
+
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+    private int start = 0;
+    private int end = 0;
+
+    FrameDecoder(MessageReader messageReader) {
+        this.messageReader = messageReader;
+    }
+
+    void feed(byte[] bytes, int length) {
+        if (end + length > buffer.length) {
+            // Bytes of frames that are already decoded are dropped before the buffer is grown
+            int remaining = end - start;
+            if (remaining + length > buffer.length) {
+                byte[] newBuffer = new byte[Math.max(buffer.length * 2, remaining + length)];
+                System.arraycopy(buffer, start, newBuffer, 0, remaining);
+                buffer = newBuffer;
+            } else {
+                System.arraycopy(buffer, start, buffer, 0, remaining);
+            }
+            start = 0;
+            end = remaining;
+        }
+
+        System.arraycopy(bytes, 0, buffer, end, length);
+        end += length;
+    }
+
+    /**
+     * Decodes the next frame.
+     *
+     * @return Decoded value, or {@link #INCOMPLETE_FRAME} if the whole frame has not been fed yet.
+     */
+    Object poll() throws IOException {
+        int position = start;
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (position == end) {
+                return INCOMPLETE_FRAME;
+            }
+            if (position - start == MAX_VARINT32_SIZE) {
+                throw new InvalidProtocolBufferException(MALFORMED_LENGTH_MESSAGE);
+            }
+
+            byte b = buffer[position++];
+            length |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                break;
+            }
+        }
+
+        if (length < 0) {
+            throw new InvalidProtocolBufferException(MALFORMED_LENGTH_MESSAGE);
+        }
+        if (end - position < length) {
+            return INCOMPLETE_FRAME;
+        }
+
+        CodedInputStream input = CodedInputStream.newInstance(buffer, position, length);
+        Object value = messageReader.read(input);
+        start = position + length;
+
+        if (start == end) {
+            // A large buffer is not kept once the frame that needed it is decoded
+            if (buffer.length > INITIAL_BUFFER_SIZE) {
+                buffer = new byte[INITIAL_BUFFER_SIZE];
+            }
+            start = 0;
+            end = 0;
+        }
+
+        return value;
+    }
+
+    boolean hasRemainingBytes() {
+        return end > start;
+    }
+}
@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static io.ballerina.stdlib.serdes.DecimalMessage.DECIMAL_MESSAGE_NAME;
+import static io.ballerina.stdlib.serdes.SchemaGenerator.OPTIONAL_LABEL;
+import static io.ballerina.stdlib.serdes.SchemaGenerator.REPEATED_LABEL;
+
+/**
+ * Encodes Ballerina json values as the Protobuf messages generated for them, which hold a json value in the field of
+ * its kind, so that it is encoded without loss like a value of any other type:
+ * <pre>
+ * message ballerinajson {
+ *     optional bool booleanvalue = 1;
+ *     optional sint64 intvalue = 2;
+ *     optional double floatvalue = 3;
+ *     optional ballerinadecimal decimalvalue = 4;
+ *     optional string stringvalue = 5;
+ *     optional ballerinajsonarray arrayvalue = 6;
+ *     optional ballerinajsonobject objectvalue = 7;
+ * }
+ * message ballerinajsonarray {
+ *     repeated ballerinajson elements = 1;
+ * }
+ * message ballerinajsonobject {
+ *     map&lt;string, ballerinajson&gt; fields = 1;
+ * }
+ * </pre>
+ * Nil is encoded as a message without fields, and nil values of json objects are not written.
+ */
+final class JsonMessage {
+
+    static final String JSON_MESSAGE_NAME = "ballerinajson";
+    static final String JSON_ARRAY_MESSAGE_NAME = "ballerinajsonarray";
+    static final String JSON_OBJECT_MESSAGE_NAME = "ballerinajsonobject";
+
+    private static final int BOOLEAN_FIELD_NUMBER = 1;
+    private static final int INT_FIELD_NUMBER = 2;
+    private static final int FLOAT_FIELD_NUMBER = 3;
+    private static final int DECIMAL_FIELD_NUMBER = 4;
+    private static final int STRING_FIELD_NUMBER = 5;
+    private static final int ARRAY_FIELD_NUMBER = 6;
+    private static final int OBJECT_FIELD_NUMBER = 7;
+    private static final int ELEMENTS_FIELD_NUMBER = 1;
+    private static final int FIELDS_FIELD_NUMBER = 1;
+    private static final int KEY_FIELD_NUMBER = 1;
+    private static final int VALUE_FIELD_NUMBER = 2;
+
+    private static final int BOOLEAN_TAG = makeTag(BOOLEAN_FIELD_NUMBER, WireFormat.WIRETYPE_VARINT);
+    private static final int INT_TAG = makeTag(INT_FIELD_NUMBER, WireFormat.WIRETYPE_VARINT);
+    private static final int FLOAT_TAG = makeTag(FLOAT_FIELD_NUMBER, WireFormat.WIRETYPE_FIXED64);
+    private static final int DECIMAL_TAG = makeTag(DECIMAL_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+    private static final int STRING_TAG = makeTag(STRING_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+    private static final int ARRAY_TAG = makeTag(ARRAY_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+    private static final int OBJECT_TAG = makeTag(OBJECT_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+    private static final int ELEMENTS_TAG = makeTag(ELEMENTS_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+    private static final int FIELDS_TAG = makeTag(FIELDS_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+    private static final int KEY_TAG = makeTag(KEY_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+    private static final int VALUE_TAG = makeTag(VALUE_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+
+    // Every field of a json message has a tag of one byte
+    private static final int TAG_SIZE = 1;
+
+    private static final String JSON_TYPE_NAME = "json";
+
+    private static final ArrayType JSON_ARRAY_TYPE = TypeCreator.createArrayType(PredefinedTypes.TYPE_JSON);
+    private static final MapType JSON_MAP_TYPE = TypeCreator.createMapType(PredefinedTypes.TYPE_JSON);
+
+    private JsonMessage() {}
+
+    static ProtobufMessage[] buildProtobufMessages() {
+        ProtobufMessage jsonMessage = ProtobufMessage.newMessageBuilder(JSON_MESSAGE_NAME)
+                .addField(OPTIONAL_LABEL, "bool", "booleanvalue", BOOLEAN_FIELD_NUMBER)
+                .addField(OPTIONAL_LABEL, "sint64", "intvalue", INT_FIELD_NUMBER)
+                .addField(OPTIONAL_LABEL, "double", "floatvalue", FLOAT_FIELD_NUMBER)
+                .addField(OPTIONAL_LABEL, DECIMAL_MESSAGE_NAME, "decimalvalue", DECIMAL_FIELD_NUMBER)
+                .addField(OPTIONAL_LABEL, "string", "stringvalue", STRING_FIELD_NUMBER)
+                .addField(OPTIONAL_LABEL, JSON_ARRAY_MESSAGE_NAME, "arrayvalue", ARRAY_FIELD_NUMBER)
+                .addField(OPTIONAL_LABEL, JSON_OBJECT_MESSAGE_NAME, "objectvalue", OBJECT_FIELD_NUMBER)
+                .build();
+        ProtobufMessage arrayMessage = ProtobufMessage.newMessageBuilder(JSON_ARRAY_MESSAGE_NAME)
+                .addField(REPEATED_LABEL, JSON_MESSAGE_NAME, "elements", ELEMENTS_FIELD_NUMBER)
+                .build();
+        ProtobufMessage entryMessage = ProtobufMessage.newMessageBuilder("FieldsEntry")
+                .addField(OPTIONAL_LABEL, "string", "key", KEY_FIELD_NUMBER)
+                .addField(OPTIONAL_LABEL, JSON_MESSAGE_NAME, "value", VALUE_FIELD_NUMBER)
+                .setMapEntry()
+                .build();
+        ProtobufMessage objectMessage = ProtobufMessage.newMessageBuilder(JSON_OBJECT_MESSAGE_NAME)
+                .addNestedMessage(entryMessage)
+                .addField(REPEATED_LABEL, "FieldsEntry", "fields", FIELDS_FIELD_NUMBER)
+                .build();
+
+        return new ProtobufMessage[]{jsonMessage, arrayMessage, objectMessage};
+    }
+
+    /**
+     * Computes the number of bytes of a json message, excluding its length prefix. The sizes of the arrays, objects,
+     * object fields and decimals nested in it are recorded in the given size cache.
+     */
+    @SuppressWarnings("unchecked")
+    static int computeSize(Object value, SizeCache sizeCache) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof Boolean) {
+            return TAG_SIZE + 1;
+        } else if (value instanceof Long) {
+            return TAG_SIZE + CodedOutputStream.computeSInt64SizeNoTag((Long) value);
+        } else if (value instanceof Integer) {
+            // Bytes are ints in json
+            return TAG_SIZE + CodedOutputStream.computeSInt64SizeNoTag((Integer) value);
+        } else if (value instanceof Double) {
+            return TAG_SIZE + Double.BYTES;
+        } else if (value instanceof BDecimal) {
+            return TAG_SIZE + DecimalMessage.computeSizeNoTag(((BDecimal) value).decimalValue(), sizeCache);
+        } else if (value instanceof BString) {
+            return TAG_SIZE + CodedOutputStream.computeStringSizeNoTag(((BString) value).getValue());
+        } else if (value instanceof BArray) {
+            int index = sizeCache.reserve();
+            int arraySize = computeArraySize((BArray) value, sizeCache);
+            sizeCache.set(index, arraySize);
+            return TAG_SIZE + CodedOutputStream.computeUInt32SizeNoTag(arraySize) + arraySize;
+        } else if (value instanceof BMap) {
+            int index = sizeCache.reserve();
+            int objectSize = computeObjectSize((BMap<BString, Object>) value, sizeCache);
+            sizeCache.set(index, objectSize);
+            return TAG_SIZE + CodedOutputStream.computeUInt32SizeNoTag(objectSize) + objectSize;
+        }
+        throw new TypeMismatchException(JSON_TYPE_NAME);
+    }
+
+    /**
+     * Writes a json message without its length prefix, reading the sizes of the arrays, objects, object fields
+     * and decimals nested in it from the given size cache.
+     */
+    @SuppressWarnings("unchecked")
+    static void write(CodedOutputStream output, Object value, SizeCache sizeCache) throws IOException {
+        if (value == null) {
+            return;
+        } else if (value instanceof Boolean) {
+            output.writeBool(BOOLEAN_FIELD_NUMBER, (Boolean) value);
+        } else if (value instanceof Long) {
+            output.writeSInt64(INT_FIELD_NUMBER, (Long) value);
+        } else if (value instanceof Integer) {
+            output.writeSInt64(INT_FIELD_NUMBER, (Integer) value);
+        } else if (value instanceof Double) {
+            output.writeDouble(FLOAT_FIELD_NUMBER, (Double) value);
+        } else if (value instanceof BDecimal) {
+            output.writeTag(DECIMAL_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            DecimalMessage.writeNoTag(output, ((BDecimal) value).decimalValue(), sizeCache);
+        } else if (value instanceof BString) {
+            output.writeString(STRING_FIELD_NUMBER, ((BString) value).getValue());
+        } else if (value instanceof BArray) {
+            output.writeTag(ARRAY_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            output.writeUInt32NoTag(sizeCache.next());
+            writeArray(output, (BArray) value, sizeCache);
+        } else if (value instanceof BMap) {
+            output.writeTag(OBJECT_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            output.writeUInt32NoTag(sizeCache.next());
+            writeObject(output, (BMap<BString, Object>) value, sizeCache);
+        } else {
+            throw new TypeMismatchException(JSON_TYPE_NAME);
+        }
+    }
+
+    /**
+     * Reads a json message until the end of the input or the current limit of the input.
+     */
+    static Object read(CodedInputStream input) throws IOException {
+        Object value = null;
+
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            if (tag == BOOLEAN_TAG) {
+                value = input.readBool();
+            } else if (tag == INT_TAG) {
+                value = input.readSInt64();
+            } else if (tag == FLOAT_TAG) {
+                value = input.readDouble();
+            } else if (tag == DECIMAL_TAG) {
+                value = DecimalMessage.readNoTag(input);
+            } else if (tag == STRING_TAG) {
+                value = StringUtils.fromString(input.readString());
+            } else if (tag == ARRAY_TAG) {
+                int oldLimit = input.pushLimit(input.readRawVarint32());
+                value = readArray(input);
+                input.popLimit(oldLimit);
+            } else if (tag == OBJECT_TAG) {
+                int oldLimit = input.pushLimit(input.readRawVarint32());
+                value = readObject(input);
+                input.popLimit(oldLimit);
+            } else {
+                input.skipField(tag);
+            }
+        }
+        return value;
+    }
+
+    // WireFormat.makeTag is not public
+    private static int makeTag(int fieldNumber, int wireType) {
+        return fieldNumber << 3 | wireType;
+    }
+
+    private static int computeArraySize(BArray array, SizeCache sizeCache) {
+        int len = array.size();
+        int size = len * TAG_SIZE;
+        for (int i = 0; i < len; i++) {
+            int index = sizeCache.reserve();
+            int elementSize;
+            try {
+                elementSize = computeSize(array.get(i), sizeCache);
+            } catch (TypeMismatchException e) {
+                throw e.atIndex(i);
+            }
+            sizeCache.set(index, elementSize);
+            size += CodedOutputStream.computeUInt32SizeNoTag(elementSize) + elementSize;
+        }
+        return size;
+    }
+
+    private static void writeArray(CodedOutputStream output, BArray array, SizeCache sizeCache) throws IOException {
+        int len = array.size();
+        for (int i = 0; i < len; i++) {
+            Object element = array.get(i);
+
+            output.writeTag(ELEMENTS_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            output.writeUInt32NoTag(sizeCache.next());
+            write(output, element, sizeCache);
+        }
+    }
+
+    private static BArray readArray(CodedInputStream input) throws IOException {
+        BArray array = ValueCreator.createArrayValue(JSON_ARRAY_TYPE);
+
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            if (tag != ELEMENTS_TAG) {
+                input.skipField(tag);
+                continue;
+            }
+            int oldLimit = input.pushLimit(input.readRawVarint32());
+            array.append(read(input));
+            input.popLimit(oldLimit);
+        }
+        return array;
+    }
+
+    private static int computeObjectSize(BMap<BString, Object> object, SizeCache sizeCache) {
+        int size = 0;
+        for (Map.Entry<BString, Object> field : object.entrySet()) {
+            int index = sizeCache.reserve();
+            int entrySize = TAG_SIZE + CodedOutputStream.computeStringSizeNoTag(field.getKey().getValue());
+            if (field.getValue() != null) {
+                int valueIndex = sizeCache.reserve();
+                int valueSize;
+                try {
+                    valueSize = computeSize(field.getValue(), sizeCache);
+                } catch (TypeMismatchException e) {
+                    throw e.atKey(field.getKey().getValue());
+                }
+                sizeCache.set(valueIndex, valueSize);
+                entrySize += TAG_SIZE + CodedOutputStream.computeUInt32SizeNoTag(valueSize) + valueSize;
+            }
+            sizeCache.set(index, entrySize);
+            size += TAG_SIZE + CodedOutputStream.computeUInt32SizeNoTag(entrySize) + entrySize;
+        }
+        return size;
+    }
+
+    private static void writeObject(CodedOutputStream output, BMap<BString, Object> object, SizeCache sizeCache)
+            throws IOException {
+        for (Map.Entry<BString, Object> field : object.entrySet()) {
+            output.writeTag(FIELDS_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            output.writeUInt32NoTag(sizeCache.next());
+            output.writeString(KEY_FIELD_NUMBER, field.getKey().getValue());
+            if (field.getValue() != null) {
+                output.writeTag(VALUE_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                output.writeUInt32NoTag(sizeCache.next());
+                write(output, field.getValue(), sizeCache);
+            }
+        }
+    }
+
+    private static BMap<BString, Object> readObject(CodedInputStream input) throws IOException {
+        BMap<BString, Object> object = ValueCreator.createMapValue(JSON_MAP_TYPE);
+
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            if (tag != FIELDS_TAG) {
+                input.skipField(tag);
+                continue;
+            }
+            int oldLimit = input.pushLimit(input.readRawVarint32());
+            readField(input, object);
+            input.popLimit(oldLimit);
+        }
+        return object;
+    }
+
+    private static void readField(CodedInputStream input, BMap<BString, Object> object) throws IOException {
+        String key = "";
+        Object value = null;
+
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            if (tag == KEY_TAG) {
+                key = input.readString();
+            } else if (tag == VALUE_TAG) {
+                int oldLimit = input.pushLimit(input.readRawVarint32());
+                value = read(input);
+                input.popLimit(oldLimit);
+            } else {
+                input.skipField(tag);
+            }
+        }
+        object.put(StringUtils.fromString(key), value);
+    }
+}
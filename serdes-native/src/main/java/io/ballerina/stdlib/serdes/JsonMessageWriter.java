@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedOutputStream;
+
+import java.io.IOException;
+
+/**
+ * Encodes a Ballerina json value as the Protobuf message generated for json values.
+ */
+class JsonMessageWriter implements MessageWriter {
+
+    @Override
+    public int computeSize(Object value, SizeCache sizeCache) {
+        return JsonMessage.computeSize(value, sizeCache);
+    }
+
+    @Override
+    public void write(CodedOutputStream output, Object value, SizeCache sizeCache) throws IOException {
+        JsonMessage.write(output, value, sizeCache);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.IOException;
+
+import static io.ballerina.stdlib.serdes.MapFieldWriter.KEY_FIELD_NUMBER;
+import static io.ballerina.stdlib.serdes.MapFieldWriter.VALUE_FIELD_NUMBER;
+
+/**
+ * Decodes a Protobuf map field into a Ballerina map, adding the entry read from each occurrence of the field.
+ */
+class MapFieldReader implements FieldReader {
+
+    private final MapType mapType;
+    private final FieldReader valueReader;
+
+    /**
+     * @param valueReader Reader of the value field of the entry messages.
+     */
+    MapFieldReader(MapType mapType, FieldReader valueReader) {
+        this.mapType = mapType;
+        this.valueReader = valueReader;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object read(CodedInputStream input, int wireType, Object previousValue) throws IOException {
+        BMap<BString, Object> bMap = previousValue == null ? ValueCreator.createMapValue(mapType)
+                : (BMap<BString, Object>) previousValue;
+
+        String key = "";
+        Object value = null;
+        boolean present = false;
+
+        int oldLimit = input.pushLimit(input.readRawVarint32());
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            int fieldNumber = WireFormat.getTagFieldNumber(tag);
+            int tagWireType = WireFormat.getTagWireType(tag);
+
+            if (fieldNumber == KEY_FIELD_NUMBER && tagWireType == WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+                key = input.readString();
+            } else if (fieldNumber == VALUE_FIELD_NUMBER && valueReader.acceptsWireType(tagWireType)) {
+                value = valueReader.read(input, tagWireType, value);
+                present = true;
+            } else {
+                input.skipField(tag);
+            }
+        }
+        input.popLimit(oldLimit);
+
+        // An absent key or value has the default value of its type, as in any Protobuf map
+        bMap.put(StringUtils.fromString(key), present ? value : valueReader.getDefaultValue());
+        return bMap;
+    }
+
+    @Override
+    public boolean acceptsWireType(int wireType) {
+        return wireType == WireFormat.WIRETYPE_LENGTH_DELIMITED;
+    }
+
+    @Override
+    public Object getDefaultValue() {
+        return ValueCreator.createMapValue(mapType);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.WireFormat;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Encodes the entries of a Ballerina map as a Protobuf map field, i.e. a repeated field of entry messages that hold
+ * the key of an entry in field 1 and its value in field 2.
+ */
+class MapFieldWriter implements FieldWriter {
+
+    static final int KEY_FIELD_NUMBER = 1;
+    static final int VALUE_FIELD_NUMBER = 2;
+
+    private static final int KEY_TAG_SIZE = CodedOutputStream.computeTagSize(KEY_FIELD_NUMBER);
+
+    private final int fieldNumber;
+    private final int tagSize;
+    private final FieldWriter valueWriter;
+    private final boolean nilableValues;
+    private final String mapTypeName;
+
+    /**
+     * @param valueWriter Writer of the value field of the entry messages.
+     * @param nilableValues Whether nil values are written, which is the case for values of union types.
+     */
+    MapFieldWriter(FieldDescriptor fieldDescriptor, FieldWriter valueWriter, boolean nilableValues,
+                   String mapTypeName) {
+        this.fieldNumber = fieldDescriptor.getNumber();
+        this.tagSize = CodedOutputStream.computeTagSize(fieldNumber);
+        this.valueWriter = valueWriter;
+        this.nilableValues = nilableValues;
+        this.mapTypeName = mapTypeName;
+    }
+
+    @Override
+    public int computeSize(Object value, SizeCache sizeCache) {
+        int size = 0;
+        for (Map.Entry<BString, Object> entry : toMap(value).entrySet()) {
+            int index = sizeCache.reserve();
+            int entrySize = KEY_TAG_SIZE + CodedOutputStream.computeStringSizeNoTag(entry.getKey().getValue());
+            if (entry.getValue() != null || nilableValues) {
+                try {
+                    entrySize += valueWriter.computeSize(entry.getValue(), sizeCache);
+                } catch (TypeMismatchException e) {
+                    throw e.atKey(entry.getKey().getValue());
+                }
+            }
+            sizeCache.set(index, entrySize);
+            size += tagSize + CodedOutputStream.computeUInt32SizeNoTag(entrySize) + entrySize;
+        }
+        return size;
+    }
+
+    @Override
+    public void write(CodedOutputStream output, Object value, SizeCache sizeCache) throws IOException {
+        for (Map.Entry<BString, Object> entry : toMap(value).entrySet()) {
+            output.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            output.writeUInt32NoTag(sizeCache.next());
+            output.writeString(KEY_FIELD_NUMBER, entry.getKey().getValue());
+            if (entry.getValue() != null || nilableValues) {
+                valueWriter.write(output, entry.getValue(), sizeCache);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private BMap<BString, Object> toMap(Object value) {
+        if (value instanceof BMap) {
+            return (BMap<BString, Object>) value;
+        }
+        throw new TypeMismatchException(mapTypeName);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+
+/**
+ * Encodes a Ballerina value as a singular, length-delimited Protobuf field of a message type.
+ */
+class MessageFieldWriter implements FieldWriter {
+
+    private final int fieldNumber;
+    private final int tagSize;
+    private final MessageWriter messageWriter;
+
+    MessageFieldWriter(FieldDescriptor fieldDescriptor, MessageWriter messageWriter) {
+        this.fieldNumber = fieldDescriptor.getNumber();
+        this.tagSize = CodedOutputStream.computeTagSize(fieldNumber);
+        this.messageWriter = messageWriter;
+    }
+
+    @Override
+    public int computeSize(Object value, SizeCache sizeCache) {
+        int index = sizeCache.reserve();
+        int messageSize = messageWriter.computeSize(value, sizeCache);
+        sizeCache.set(index, messageSize);
+
+        return tagSize + CodedOutputStream.computeUInt32SizeNoTag(messageSize) + messageSize;
+    }
+
+    @Override
+    public void write(CodedOutputStream output, Object value, SizeCache sizeCache) throws IOException {
+        output.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        output.writeUInt32NoTag(sizeCache.next());
+        messageWriter.write(output, value, sizeCache);
+    }
+}
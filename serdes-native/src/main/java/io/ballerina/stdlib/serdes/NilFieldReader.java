@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+
+/**
+ * Decodes the boolean field that marks the nil member of a union.
+ */
+class NilFieldReader implements FieldReader {
+
+    @Override
+    public Object read(CodedInputStream input, int wireType, Object previousValue) throws IOException {
+        input.readBool();
+        return null;
+    }
+
+    @Override
+    public boolean acceptsWireType(int wireType) {
+        return wireType == WireFormat.WIRETYPE_VARINT;
+    }
+
+    @Override
+    public Object getDefaultValue() {
+        return null;
+    }
+}
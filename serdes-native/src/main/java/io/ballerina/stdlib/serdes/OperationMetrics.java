@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts, errors, latencies and sizes of one kind of operation, such as serialization, on values of a data type.
+ */
+public final class OperationMetrics {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final Histogram latencyNanos = new Histogram();
+    private final Histogram sizeBytes = new Histogram();
+
+    OperationMetrics() {}
+
+    /**
+     * Records an operation.
+     *
+     * @param latency Duration of the operation in nanoseconds.
+     * @param size Number of bytes of the encoded value, which is recorded only if the operation succeeded and the
+     *             size is not negative.
+     * @param failed Whether the operation returned an error.
+     */
+    void record(long latency, long size, boolean failed) {
+        count.increment();
+        latencyNanos.record(latency);
+        if (failed) {
+            errorCount.increment();
+        } else if (size >= 0) {
+            sizeBytes.record(size);
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    public Histogram getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    /**
+     * Returns the distribution of the sizes of the encoded values, which is empty for schema generation.
+     */
+    public Histogram getSizeBytes() {
+        return sizeBytes;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.values.BArray;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Decodes a packed repeated Protobuf field of int, float or boolean values into a Ballerina array.
+ *
+ * Elements are decoded in bulk into a primitive array that the Ballerina array is created from, so they are not
+ * boxed. Occurrences of the field that hold a single element, which is how the field is written when it is not
+ * packed, are accepted as well.
+ */
+class PackedPrimitiveFieldReader implements FieldReader {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int elementWireType;
+    private final int elementTag;
+    private final ArrayType arrayType;
+
+    PackedPrimitiveFieldReader(ArrayType arrayType) {
+        this.elementTag = arrayType.getElementType().getTag();
+        this.elementWireType = PrimitiveFieldReader.getWireType(elementTag);
+        this.arrayType = arrayType;
+    }
+
+    @Override
+    public Object read(CodedInputStream input, int wireType, Object previousValue) throws IOException {
+        if (wireType != WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+            BArray bArray = previousValue == null ? ValueCreator.createArrayValue(arrayType) : (BArray) previousValue;
+            bArray.append(PrimitiveFieldReader.readValue(input, elementTag));
+
+            return bArray;
+        }
+
+        int length = input.readRawVarint32();
+        int oldLimit = input.pushLimit(length);
+        BArray elements = readPackedElements(input, length);
+        input.popLimit(oldLimit);
+
+        if (previousValue == null) {
+            return elements;
+        }
+
+        // The elements of an array split into more than one occurrence of the field are concatenated
+        BArray bArray = (BArray) previousValue;
+        for (int i = 0; i < elements.size(); i++) {
+            bArray.append(elements.get(i));
+        }
+
+        return bArray;
+    }
+
+    @Override
+    public boolean acceptsWireType(int wireType) {
+        return wireType == elementWireType || wireType == WireFormat.WIRETYPE_LENGTH_DELIMITED;
+    }
+
+    @Override
+    public Object getDefaultValue() {
+        return ValueCreator.createArrayValue(arrayType);
+    }
+
+    private BArray readPackedElements(CodedInputStream input, int length) throws IOException {
+        switch (elementTag) {
+            case TypeTags.INT_TAG:
+                // The number of varints is not known upfront, so the buffer grows as they are read
+                long[] ints = new long[Math.min(length, INITIAL_CAPACITY)];
+                int count = 0;
+                while (input.getBytesUntilLimit() > 0) {
+                    if (count == ints.length) {
+                        ints = Arrays.copyOf(ints, Math.min(ints.length * 2, length));
+                    }
+                    ints[count++] = input.readSInt64();
+                }
+                return ValueCreator.createArrayValue(count == ints.length ? ints : Arrays.copyOf(ints, count));
+            case TypeTags.FLOAT_TAG:
+                // A length that is not a multiple of the element size fails the last read as a truncated message
+                double[] floats = new double[(length + Double.BYTES - 1) / Double.BYTES];
+                for (int i = 0; i < floats.length; i++) {
+                    floats[i] = input.readDouble();
+                }
+                return ValueCreator.createArrayValue(floats);
+            default:
+                // Booleans are varints, which are written in a single byte but can be longer
+                boolean[] booleans = new boolean[length];
+                int booleanCount = 0;
+                while (input.getBytesUntilLimit() > 0) {
+                    booleans[booleanCount++] = input.readBool();
+                }
+                return ValueCreator.createArrayValue(
+                        booleanCount == length ? booleans : Arrays.copyOf(booleans, booleanCount));
+        }
+    }
+}
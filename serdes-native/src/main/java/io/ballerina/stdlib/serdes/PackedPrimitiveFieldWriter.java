@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.WireFormat;
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.values.BArray;
+
+import java.io.IOException;
+
+/**
+ * Encodes the elements of a Ballerina array of int, float or boolean values as a packed repeated Protobuf field.
+ *
+ * Elements are read in bulk from the primitive storage of the array, so they are not boxed. Arrays of other element
+ * types, such as the {@code anydata[]} of an array literal passed as anydata, are written element by element, checking
+ * the type of each element.
+ */
+class PackedPrimitiveFieldWriter implements FieldWriter, ArrayRangeWriter {
+
+    private final FieldDescriptor.Type fieldType;
+    private final int fieldNumber;
+    private final int tagSize;
+    private final int elementTag;
+    private final String arrayTypeName;
+
+    PackedPrimitiveFieldWriter(FieldDescriptor fieldDescriptor, int elementTag, String arrayTypeName) {
+        this.fieldType = fieldDescriptor.getType();
+        this.fieldNumber = fieldDescriptor.getNumber();
+        this.tagSize = CodedOutputStream.computeTagSize(fieldNumber);
+        this.elementTag = elementTag;
+        this.arrayTypeName = arrayTypeName;
+    }
+
+    @Override
+    public int computeSize(Object value, SizeCache sizeCache) {
+        BArray bArray = toArray(value);
+        if (bArray.size() == 0) {
+            return 0;
+        }
+
+        return computeFieldSize(computeSize(bArray, 0, bArray.size(), sizeCache), sizeCache);
+    }
+
+    /**
+     * Computes the number of bytes of the field encoding from the size of its packed data, recording the size of the
+     * data in the given size cache.
+     */
+    int computeFieldSize(int dataSize, SizeCache sizeCache) {
+        sizeCache.set(sizeCache.reserve(), dataSize);
+        return tagSize + CodedOutputStream.computeUInt32SizeNoTag(dataSize) + dataSize;
+    }
+
+    @Override
+    public void write(CodedOutputStream output, Object value, SizeCache sizeCache) throws IOException {
+        BArray bArray = toArray(value);
+
+        int len = bArray.size();
+        if (len == 0) {
+            return;
+        }
+
+        writeFieldHeader(output, sizeCache);
+        write(output, bArray, 0, len, sizeCache);
+    }
+
+    /**
+     * Writes the tag of the field and the size of its packed data, which is read from the given size cache.
+     */
+    void writeFieldHeader(CodedOutputStream output, SizeCache sizeCache) throws IOException {
+        output.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        output.writeUInt32NoTag(sizeCache.next());
+    }
+
+    // The packed data of a range has no length-delimited parts, so nothing is recorded in the size cache for it
+    @Override
+    public int computeSize(BArray bArray, int start, int end, SizeCache sizeCache) {
+        if (!hasPrimitiveStorage(bArray)) {
+            int size = 0;
+            for (int i = start; i < end; i++) {
+                try {
+                    size += PrimitiveFieldWriter.computeSizeNoTag(fieldType, bArray.get(i), sizeCache);
+                } catch (TypeMismatchException e) {
+                    throw e.atIndex(i);
+                }
+            }
+            return size;
+        }
+
+        switch (elementTag) {
+            case TypeTags.INT_TAG:
+                long[] ints = bArray.getIntArray();
+                int size = 0;
+                for (int i = start; i < end; i++) {
+                    size += CodedOutputStream.computeSInt64SizeNoTag(ints[i]);
+                }
+                return size;
+            case TypeTags.FLOAT_TAG:
+                return (end - start) * Double.BYTES;
+            default:
+                return end - start;
+        }
+    }
+
+    // The primitive storage of an array can be larger than the array, so only the elements of the range are written
+    @Override
+    public void write(CodedOutputStream output, BArray bArray, int start, int end, SizeCache sizeCache)
+            throws IOException {
+        if (!hasPrimitiveStorage(bArray)) {
+            for (int i = start; i < end; i++) {
+                PrimitiveFieldWriter.writeNoTag(output, fieldType, bArray.get(i), sizeCache);
+            }
+            return;
+        }
+
+        switch (elementTag) {
+            case TypeTags.INT_TAG:
+                long[] ints = bArray.getIntArray();
+                for (int i = start; i < end; i++) {
+                    output.writeSInt64NoTag(ints[i]);
+                }
+                break;
+            case TypeTags.FLOAT_TAG:
+                double[] floats = bArray.getFloatArray();
+                for (int i = start; i < end; i++) {
+                    output.writeDoubleNoTag(floats[i]);
+                }
+                break;
+            default:
+                boolean[] booleans = bArray.getBooleanArray();
+                for (int i = start; i < end; i++) {
+                    output.writeBoolNoTag(booleans[i]);
+                }
+                break;
+        }
+    }
+
+    BArray toArray(Object value) {
+        return Serializer.toArray(value, arrayTypeName);
+    }
+
+    private boolean hasPrimitiveStorage(BArray bArray) {
+        return bArray.getElementType().getTag() == elementTag;
+    }
+}
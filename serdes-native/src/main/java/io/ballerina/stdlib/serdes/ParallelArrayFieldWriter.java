@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedOutputStream;
+import io.ballerina.runtime.api.values.BArray;
+
+import java.io.IOException;
+
+/**
+ * Encodes a Ballerina array as a repeated or packed Protobuf field, in chunks encoded in parallel by the
+ * {@link ParallelEncoder} encoding the value if the array is large enough, and sequentially otherwise.
+ */
+class ParallelArrayFieldWriter implements FieldWriter {
+
+    private final FieldWriter arrayWriter;
+    private final ArrayRangeWriter rangeWriter;
+    // Writer of the tag and the length of a packed field, or null if the elements are occurrences of a repeated field
+    private final PackedPrimitiveFieldWriter packedWriter;
+
+    ParallelArrayFieldWriter(RepeatedMessageFieldWriter arrayWriter) {
+        this(arrayWriter, arrayWriter, null);
+    }
+
+    ParallelArrayFieldWriter(RepeatedPrimitiveFieldWriter arrayWriter) {
+        this(arrayWriter, arrayWriter, null);
+    }
+
+    ParallelArrayFieldWriter(PackedPrimitiveFieldWriter arrayWriter) {
+        this(arrayWriter, arrayWriter, arrayWriter);
+    }
+
+    private ParallelArrayFieldWriter(FieldWriter arrayWriter, ArrayRangeWriter rangeWriter,
+                                     PackedPrimitiveFieldWriter packedWriter) {
+        this.arrayWriter = arrayWriter;
+        this.rangeWriter = rangeWriter;
+        this.packedWriter = packedWriter;
+    }
+
+    @Override
+    public int computeSize(Object value, SizeCache sizeCache) {
+        ParallelEncoder encoder = ParallelEncoder.getActive();
+        if (encoder == null || !encoder.encodesInParallel(value)) {
+            return arrayWriter.computeSize(value, sizeCache);
+        }
+
+        BArray bArray = packedWriter == null ? (BArray) value : packedWriter.toArray(value);
+        int size = encoder.encodeChunks(bArray, rangeWriter);
+
+        return packedWriter == null ? size : packedWriter.computeFieldSize(size, sizeCache);
+    }
+
+    @Override
+    public void write(CodedOutputStream output, Object value, SizeCache sizeCache) throws IOException {
+        ParallelEncoder encoder = ParallelEncoder.getActive();
+        if (encoder == null || !encoder.encodesInParallel(value)) {
+            arrayWriter.write(output, value, sizeCache);
+            return;
+        }
+
+        if (packedWriter != null) {
+            packedWriter.writeFieldHeader(output, sizeCache);
+        }
+        encoder.writeChunks(output);
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedInputStream;
+import io.ballerina.runtime.api.values.BArray;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Decodes the elements of large arrays of messages in parallel.
+ *
+ * While a value is read with the parallel plan, the readers of repeated message fields only record where the
+ * elements of their arrays are in the input, and skip them. Once the whole value is read, the arrays with at least the
+ * threshold number of elements are decoded in chunks on the common {@link ForkJoinPool}, and the others on the
+ * calling thread. The elements are appended to each array in the order they were encoded.
+ *
+ * Arrays nested in the elements of a deferred array are read while those elements are decoded, so they are decoded
+ * sequentially.
+ */
+final class ParallelDecoder {
+
+    // Number of chunks each worker thread of the pool gets, so that threads that finish early can take more work
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int INITIAL_ELEMENT_CAPACITY = 16;
+
+    private static final ThreadLocal<ParallelDecoder> ACTIVE_DECODER = new ThreadLocal<>();
+
+    private final byte[] buffer;
+    private final int threshold;
+    private final Map<BArray, DeferredArray> deferredArrays = new IdentityHashMap<>();
+    private final List<DeferredArray> deferredArrayList = new ArrayList<>();
+    private DeferredArray lastDeferredArray;
+
+    private ParallelDecoder(byte[] buffer, int threshold) {
+        this.buffer = buffer;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Reads a value with a reader of the parallel plan, decoding the elements of its arrays that have at least the
+     * given number of elements in parallel.
+     *
+     * @param messageReader Reader of the parallel plan of the data type of the value.
+     * @param buffer Byte array holding the encoded value from its start.
+     * @param length Number of bytes of the encoded value.
+     * @param threshold Minimum number of elements of an array for its elements to be decoded in parallel.
+     */
+    static Object decode(MessageReader messageReader, byte[] buffer, int length, int threshold) throws IOException {
+        ParallelDecoder decoder = new ParallelDecoder(buffer, threshold);
+
+        ACTIVE_DECODER.set(decoder);
+        Object value;
+        try {
+            value = messageReader.read(CodedInputStream.newInstance(buffer, 0, length));
+        } finally {
+            ACTIVE_DECODER.remove();
+        }
+
+        decoder.decodeDeferredArrays();
+        return value;
+    }
+
+    /**
+     * Returns the decoder reading a value on the current thread, or null if the elements of arrays are decoded as
+     * they are read.
+     */
+    static ParallelDecoder getActive() {
+        return ACTIVE_DECODER.get();
+    }
+
+    /**
+     * Skips an element of an array in the input, deferring decoding it until the whole value is read.
+     *
+     * @param input Input positioned at the length of the element.
+     */
+    void defer(BArray array, MessageReader elementReader, CodedInputStream input) throws IOException {
+        DeferredArray deferredArray = lastDeferredArray;
+        if (deferredArray == null || deferredArray.array != array) {
+            // The occurrences of a repeated field are usually contiguous, so the array of the last element is checked
+            // before looking it up
+            deferredArray = deferredArrays.get(array);
+            if (deferredArray == null) {
+                deferredArray = new DeferredArray(array, elementReader);
+                deferredArrays.put(array, deferredArray);
+                deferredArrayList.add(deferredArray);
+            }
+            lastDeferredArray = deferredArray;
+        }
+
+        int length = input.readRawVarint32();
+        // The input starts at the start of the buffer, so the number of bytes read is the offset of the element
+        deferredArray.add(input.getTotalBytesRead(), length);
+        input.skipRawBytes(length);
+    }
+
+    private void decodeDeferredArrays() throws IOException {
+        for (DeferredArray deferredArray : deferredArrayList) {
+            Object[] values = new Object[deferredArray.size];
+
+            if (values.length < threshold) {
+                decodeElements(deferredArray, values, 0, values.length);
+            } else {
+                ForkJoinPool pool = ForkJoinPool.commonPool();
+                int chunkSize = Math.max(1, values.length / (pool.getParallelism() * CHUNKS_PER_THREAD));
+                try {
+                    pool.invoke(new DecodeTask(deferredArray, values, 0, values.length, chunkSize));
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            }
+
+            // Ballerina arrays are not thread-safe, so the decoded elements are appended on the calling thread
+            for (Object value : values) {
+                deferredArray.array.append(value);
+            }
+        }
+    }
+
+    // Decodes the elements in a range with a single input spanning them, skipping the tags between them
+    private void decodeElements(DeferredArray deferredArray, Object[] values, int start, int end)
+            throws IOException {
+        int rangeOffset = deferredArray.offsets[start];
+        int rangeEnd = deferredArray.offsets[end - 1] + deferredArray.lengths[end - 1];
+        CodedInputStream input = CodedInputStream.newInstance(buffer, rangeOffset, rangeEnd - rangeOffset);
+
+        for (int i = start; i < end; i++) {
+            input.skipRawBytes(deferredArray.offsets[i] - rangeOffset - input.getTotalBytesRead());
+
+            int oldLimit = input.pushLimit(deferredArray.lengths[i]);
+            values[i] = deferredArray.elementReader.read(input);
+            input.checkLastTagWas(0);
+            input.popLimit(oldLimit);
+        }
+    }
+
+    private static final class DeferredArray {
+
+        private final BArray array;
+        private final MessageReader elementReader;
+        private int[] offsets = new int[INITIAL_ELEMENT_CAPACITY];
+        private int[] lengths = new int[INITIAL_ELEMENT_CAPACITY];
+        private int size;
+
+        private DeferredArray(BArray array, MessageReader elementReader) {
+            this.array = array;
+            this.elementReader = elementReader;
+        }
+
+        private void add(int offset, int length) {
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, size * 2);
+                lengths = Arrays.copyOf(lengths, size * 2);
+            }
+            offsets[size] = offset;
+            lengths[size] = length;
+            size++;
+        }
+    }
+
+    // Decodes the elements in a range, splitting it in halves until it is no larger than a chunk
+    private final class DecodeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final DeferredArray deferredArray;
+        private final Object[] values;
+        private final int start;
+        private final int end;
+        private final int chunkSize;
+
+        private DecodeTask(DeferredArray deferredArray, Object[] values, int start, int end, int chunkSize) {
+            this.deferredArray = deferredArray;
+            this.values = values;
+            this.start = start;
+            this.end = end;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= chunkSize) {
+                try {
+                    decodeElements(deferredArray, values, start, end);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return;
+            }
+
+            int middle = (start + end) >>> 1;
+            invokeAll(new DecodeTask(deferredArray, values, start, middle, chunkSize),
+                    new DecodeTask(deferredArray, values, middle, end, chunkSize));
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedOutputStream;
+import io.ballerina.runtime.api.values.BArray;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Encodes the elements of large arrays in parallel.
+ *
+ * While a value is encoded with the parallel plan, the size computation splits each array with at least the threshold
+ * number of elements into chunks, which are encoded on the executor into byte arrays of their exact sizes. Each chunk
+ * has its own size cache, so the chunks do not depend on each other or on the rest of the value. The encoded chunks
+ * are queued in the order the arrays are reached, which is the order they are written in, like the sizes of a
+ * {@link SizeCache}, and writing the value copies them into the output.
+ *
+ * The encoding of a repeated field is the concatenation of the encodings of its elements, so the encoded value is the
+ * same as when it is encoded sequentially. Arrays nested in the elements of a chunk are encoded sequentially.
+ */
+final class ParallelEncoder {
+
+    // Number of chunks each thread of the executor gets, so that threads that finish early can take more work
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private static final ThreadLocal<ParallelEncoder> ACTIVE_ENCODER = new ThreadLocal<>();
+
+    private final int threshold;
+    private final Executor executor;
+    private final int parallelism;
+    private final Queue<byte[][]> encodedChunks = new ArrayDeque<>();
+
+    private ParallelEncoder(int threshold, Executor executor) {
+        this.threshold = threshold;
+        this.executor = executor;
+        this.parallelism = executor instanceof ForkJoinPool ? ((ForkJoinPool) executor).getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Encodes a value with a writer of the parallel plan, encoding the arrays that have at least the given number of
+     * elements in parallel on the given executor.
+     *
+     * @return Encoded value.
+     */
+    static byte[] encode(MessageWriter messageWriter, Object message, int threshold, Executor executor)
+            throws IOException {
+        ParallelEncoder encoder = new ParallelEncoder(threshold, executor);
+        SizeCache sizeCache = EncoderBuffers.get().getSizeCache();
+
+        ACTIVE_ENCODER.set(encoder);
+        try {
+            byte[] encodedMessage = new byte[messageWriter.computeSize(message, sizeCache)];
+
+            CodedOutputStream output = CodedOutputStream.newInstance(encodedMessage);
+            messageWriter.write(output, message, sizeCache);
+            output.checkNoSpaceLeft();
+
+            return encodedMessage;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            ACTIVE_ENCODER.remove();
+        }
+    }
+
+    /**
+     * Returns the encoder encoding a value on the current thread, or null if arrays are encoded sequentially.
+     */
+    static ParallelEncoder getActive() {
+        return ACTIVE_ENCODER.get();
+    }
+
+    /**
+     * Checks whether a value is an array that is encoded in chunks. Both the size computation and the writing of an
+     * array check it, so they agree on how it is encoded.
+     */
+    boolean encodesInParallel(Object value) {
+        return value instanceof BArray && ((BArray) value).size() >= threshold;
+    }
+
+    /**
+     * Encodes the elements of an array in chunks on the executor, queueing the encoded chunks to be written.
+     *
+     * @return Number of bytes of the encoded elements.
+     */
+    int encodeChunks(BArray bArray, ArrayRangeWriter rangeWriter) {
+        int len = bArray.size();
+        int chunkCount = Math.min(len, parallelism * CHUNKS_PER_THREAD);
+
+        List<CompletableFuture<byte[]>> futures = new ArrayList<>(chunkCount);
+        for (int i = 0; i < chunkCount; i++) {
+            int start = (int) ((long) len * i / chunkCount);
+            int end = (int) ((long) len * (i + 1) / chunkCount);
+            futures.add(CompletableFuture.supplyAsync(() -> encodeChunk(bArray, rangeWriter, start, end), executor));
+        }
+
+        byte[][] chunks = new byte[chunkCount][];
+        int size = 0;
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+            for (int i = 0; i < chunkCount; i++) {
+                chunks[i] = futures.get(i).join();
+                size += chunks[i].length;
+            }
+        } catch (CompletionException e) {
+            // Errors of the chunks, such as type mismatches, are thrown as if the array was encoded sequentially
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+
+        encodedChunks.add(chunks);
+        return size;
+    }
+
+    /**
+     * Writes the chunks of the next array encoded in chunks.
+     */
+    void writeChunks(CodedOutputStream output) throws IOException {
+        for (byte[] chunk : encodedChunks.remove()) {
+            output.writeRawBytes(chunk);
+        }
+    }
+
+    private static byte[] encodeChunk(BArray bArray, ArrayRangeWriter rangeWriter, int start, int end) {
+        // Executors may run a chunk on the calling thread, where arrays nested in the chunk must not be encoded in
+        // chunks of their own, and where the size cache of the thread is in use
+        ParallelEncoder activeEncoder = ACTIVE_ENCODER.get();
+        ACTIVE_ENCODER.remove();
+        try {
+            SizeCache sizeCache = new SizeCache();
+            byte[] chunk = new byte[rangeWriter.computeSize(bArray, start, end, sizeCache)];
+
+            CodedOutputStream output = CodedOutputStream.newInstance(chunk);
+            rangeWriter.write(output, bArray, start, end, sizeCache);
+            output.checkNoSpaceLeft();
+
+            return chunk;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (activeEncoder != null) {
+                ACTIVE_ENCODER.set(activeEncoder);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.values.BArray;
+
+import java.io.IOException;
+
+/**
+ * Decodes a repeated, length-delimited Protobuf field of a message type into a Ballerina array, deferring the
+ * elements to the {@link ParallelDecoder} reading the value, if there is one.
+ */
+class ParallelRepeatedMessageFieldReader implements FieldReader {
+
+    private final MessageReader elementReader;
+    private final ArrayType arrayType;
+
+    ParallelRepeatedMessageFieldReader(MessageReader elementReader, ArrayType arrayType) {
+        this.elementReader = elementReader;
+        this.arrayType = arrayType;
+    }
+
+    @Override
+    public Object read(CodedInputStream input, int wireType, Object previousValue) throws IOException {
+        BArray bArray = previousValue == null ? ValueCreator.createArrayValue(arrayType) : (BArray) previousValue;
+
+        ParallelDecoder decoder = ParallelDecoder.getActive();
+        if (decoder == null) {
+            // Elements of deferred arrays are decoded on the worker threads, which decode their own arrays in place
+            bArray.append(MessageFieldReader.readMessage(input, elementReader));
+        } else {
+            decoder.defer(bArray, elementReader, input);
+        }
+
+        return bArray;
+    }
+
+    @Override
+    public boolean acceptsWireType(int wireType) {
+        return wireType == WireFormat.WIRETYPE_LENGTH_DELIMITED;
+    }
+
+    @Override
+    public Object getDefaultValue() {
+        return ValueCreator.createArrayValue(arrayType);
+    }
+}
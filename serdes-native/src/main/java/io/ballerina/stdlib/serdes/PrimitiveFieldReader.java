@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import static io.ballerina.stdlib.serdes.Constants.SERDES_ERROR;
+import static io.ballerina.stdlib.serdes.Deserializer.UNSUPPORTED_DATA_TYPE;
+import static io.ballerina.stdlib.serdes.Utils.createSerdesError;
+
+/**
+ * Decodes a singular Protobuf field into a Ballerina primitive value.
+ *
+ * The value is decoded according to the Ballerina type it is read into, so ints, floats and decimals are created
+ * directly from the values read from the input.
+ */
+class PrimitiveFieldReader implements FieldReader {
+
+    private final int typeTag;
+    private final int wireType;
+    private final Object defaultValue;
+
+    /**
+     * @param typeTag Tag of the Ballerina primitive type the field is read into.
+     */
+    PrimitiveFieldReader(int typeTag) {
+        this.typeTag = typeTag;
+        this.wireType = getWireType(typeTag);
+        this.defaultValue = createDefaultValue(typeTag);
+    }
+
+    @Override
+    public Object read(CodedInputStream input, int wireType, Object previousValue) throws IOException {
+        return readValue(input, typeTag);
+    }
+
+    @Override
+    public boolean acceptsWireType(int wireType) {
+        return this.wireType == wireType;
+    }
+
+    @Override
+    public Object getDefaultValue() {
+        return defaultValue;
+    }
+
+    static Object readValue(CodedInputStream input, int typeTag) throws IOException {
+        switch (typeTag) {
+            case TypeTags.INT_TAG:
+                return input.readSInt64();
+            case TypeTags.BYTE_TAG:
+                // A byte is written as a bytes field of length one, which is read without creating a byte array
+                int length = input.readRawVarint32();
+                if (length == 0) {
+                    return 0;
+                }
+                int value = Byte.toUnsignedInt(input.readRawByte());
+                input.skipRawBytes(length - 1);
+                return value;
+            case TypeTags.FLOAT_TAG:
+                return input.readDouble();
+            case TypeTags.DECIMAL_TAG:
+                return DecimalMessage.readNoTag(input);
+            case TypeTags.STRING_TAG:
+                return StringUtils.fromString(input.readString());
+            case TypeTags.BOOLEAN_TAG:
+                return input.readBool();
+            default:
+                throw createSerdesError(UNSUPPORTED_DATA_TYPE + typeTag, SERDES_ERROR);
+        }
+    }
+
+    static int getWireType(int typeTag) {
+        switch (typeTag) {
+            case TypeTags.INT_TAG:
+            case TypeTags.BOOLEAN_TAG:
+                return WireFormat.WIRETYPE_VARINT;
+            case TypeTags.FLOAT_TAG:
+                return WireFormat.WIRETYPE_FIXED64;
+            default:
+                return WireFormat.WIRETYPE_LENGTH_DELIMITED;
+        }
+    }
+
+    private static Object createDefaultValue(int typeTag) {
+        switch (typeTag) {
+            case TypeTags.INT_TAG:
+                return 0L;
+            case TypeTags.BYTE_TAG:
+                return 0;
+            case TypeTags.FLOAT_TAG:
+                return 0.0;
+            case TypeTags.DECIMAL_TAG:
+                return ValueCreator.createDecimalValue(BigDecimal.ZERO);
+            case TypeTags.STRING_TAG:
+                return StringUtils.fromString("");
+            case TypeTags.BOOLEAN_TAG:
+                return false;
+            default:
+                return null;
+        }
+    }
+}
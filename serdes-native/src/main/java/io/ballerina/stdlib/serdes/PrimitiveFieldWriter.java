@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Locale;
+
+/**
+ * Encodes a Ballerina primitive value as a singular Protobuf field.
+ */
+class PrimitiveFieldWriter implements FieldWriter {
+
+    private final FieldDescriptor.Type fieldType;
+    private final int fieldNumber;
+    private final int wireType;
+    private final int tagSize;
+
+    PrimitiveFieldWriter(FieldDescriptor fieldDescriptor) {
+        this.fieldType = fieldDescriptor.getType();
+        this.fieldNumber = fieldDescriptor.getNumber();
+        this.wireType = fieldDescriptor.getLiteType().getWireType();
+        this.tagSize = CodedOutputStream.computeTagSize(fieldNumber);
+    }
+
+    @Override
+    public int computeSize(Object value, SizeCache sizeCache) {
+        return tagSize + computeSizeNoTag(fieldType, value, sizeCache);
+    }
+
+    @Override
+    public void write(CodedOutputStream output, Object value, SizeCache sizeCache) throws IOException {
+        output.writeTag(fieldNumber, wireType);
+        writeNoTag(output, fieldType, value, sizeCache);
+    }
+
+    static int computeSizeNoTag(FieldDescriptor.Type fieldType, Object value, SizeCache sizeCache) {
+        switch (fieldType) {
+            case SINT64:
+                return CodedOutputStream.computeSInt64SizeNoTag(toLong(value));
+            case DOUBLE:
+                toDouble(value);
+                return Double.BYTES;
+            case BOOL:
+                toBoolean(value);
+                return 1;
+            case STRING:
+                return CodedOutputStream.computeStringSizeNoTag(toJavaString(value));
+            case BYTES:
+                toByte(value);
+                return CodedOutputStream.computeUInt32SizeNoTag(1) + 1;
+            case MESSAGE:
+                // Decimals are the only primitives encoded as a message
+                return DecimalMessage.computeSizeNoTag(toBigDecimal(value), sizeCache);
+            default:
+                throw new TypeMismatchException(fieldType.name().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    static void writeNoTag(CodedOutputStream output, FieldDescriptor.Type fieldType, Object value,
+                           SizeCache sizeCache) throws IOException {
+        switch (fieldType) {
+            case SINT64:
+                output.writeSInt64NoTag(toLong(value));
+                break;
+            case DOUBLE:
+                output.writeDoubleNoTag(toDouble(value));
+                break;
+            case BOOL:
+                output.writeBoolNoTag(toBoolean(value));
+                break;
+            case STRING:
+                output.writeStringNoTag(toJavaString(value));
+                break;
+            case BYTES:
+                output.writeByteArrayNoTag(new byte[]{toByte(value)});
+                break;
+            case MESSAGE:
+                DecimalMessage.writeNoTag(output, toBigDecimal(value), sizeCache);
+                break;
+            default:
+                throw new TypeMismatchException(fieldType.name().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private static long toLong(Object value) {
+        if (value instanceof Long) {
+            return (Long) value;
+        } else if (value instanceof Integer) {
+            // Bytes are ints as well, such as a byte held by a union with an int member
+            return (Integer) value;
+        }
+        throw new TypeMismatchException("int");
+    }
+
+    private static double toDouble(Object value) {
+        if (value instanceof Double) {
+            return (Double) value;
+        }
+        throw new TypeMismatchException("float");
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof BDecimal) {
+            return ((BDecimal) value).decimalValue();
+        } else if (value instanceof Double) {
+            // Floating point literals passed as anydata are floats, which are converted like Ballerina converts them
+            return BigDecimal.valueOf((Double) value);
+        }
+        throw new TypeMismatchException("decimal");
+    }
+
+    private static boolean toBoolean(Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        throw new TypeMismatchException("boolean");
+    }
+
+    private static String toJavaString(Object value) {
+        if (value instanceof BString) {
+            return ((BString) value).getValue();
+        }
+        throw new TypeMismatchException("string");
+    }
+
+    private static byte toByte(Object value) {
+        if (value instanceof Integer) {
+            return ((Integer) value).byteValue();
+        }
+        throw new TypeMismatchException("byte");
+    }
+}
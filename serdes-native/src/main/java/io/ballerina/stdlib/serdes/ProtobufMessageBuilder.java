@@ -41,6 +41,16 @@ public class ProtobufMessageBuilder {
         addField(fieldLabel, type, name, number, null, null);
         return this;
     }
+    // Add repeated field of a numeric or boolean type, encoded in the packed format
+    public ProtobufMessageBuilder addPackedField(String type, String name, int number) {
+        addField(DescriptorProtos.FieldDescriptorProto.Label.LABEL_REPEATED, type, name, number, null, null);
+
+        int fieldIndex = messageBuilder.getFieldCount() - 1;
+        messageBuilder.getFieldBuilder(fieldIndex).setOptions(
+                DescriptorProtos.FieldOptions.newBuilder().setPacked(true));
+        return this;
+    }
+
 //  Add message field with default value - not used
 /*
     public ProtobufMessageBuilder addField(String label, String type, String name, int number, String defaultValue) {
@@ -63,6 +73,12 @@ public class ProtobufMessageBuilder {
     }
 */
 
+    // Mark the message as the synthesized entry type of a protobuf map field
+    public ProtobufMessageBuilder setMapEntry() {
+        messageBuilder.setOptions(DescriptorProtos.MessageOptions.newBuilder().setMapEntry(true));
+        return this;
+    }
+
     public ProtobufMessage build() {
 
         return new ProtobufMessage(messageBuilder.build());
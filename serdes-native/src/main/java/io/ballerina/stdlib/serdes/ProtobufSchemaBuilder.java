@@ -59,6 +59,13 @@ public class ProtobufSchemaBuilder {
         newFileDescriptorSetBuilder.mergeFrom(fileDescriptorSetBuilder.build());
         DescriptorProtos.FileDescriptorSet fileDescriptorSet = newFileDescriptorSetBuilder.build();
 
+        return buildFromFileDescriptorSet(fileDescriptorSet);
+    }
+
+    // Builds the FileDescriptors of a FileDescriptorSet and returns the last message of the last file, which is the
+    // message of the schema
+    static Descriptors.Descriptor buildFromFileDescriptorSet(DescriptorProtos.FileDescriptorSet fileDescriptorSet)
+            throws Descriptors.DescriptorValidationException {
         Descriptors.FileDescriptor fileDescriptor = null;
         for (DescriptorProtos.FileDescriptorProto fileDescriptorProto : fileDescriptorSet.getFileList()) {
             List<Descriptors.FileDescriptor> resolvedFileDescriptors = new ArrayList<>();
@@ -79,6 +86,10 @@ public class ProtobufSchemaBuilder {
             fileDescriptor = Descriptors.FileDescriptor
                                 .buildFrom(fileDescriptorProto, resolvedFileDescriptors.toArray(fileDescriptorArray));
         }
+        if (fileDescriptor == null) {
+            return null;
+        }
+
         Descriptors.Descriptor messageBuilder = null;
         for (Descriptors.Descriptor messageType : fileDescriptor.getMessageTypes()) {
             messageBuilder = messageType;
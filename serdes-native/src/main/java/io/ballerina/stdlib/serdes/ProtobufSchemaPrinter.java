@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Descriptors.FileDescriptor;
+
+import java.util.Locale;
+
+/**
+ * Prints a generated Protobuf schema in the .proto file format.
+ *
+ * Message types of fields are printed with their fully-qualified names, so the printed file resolves to the same
+ * schema regardless of how the generated messages are nested. Map fields are printed as maps, which declare their
+ * entry messages implicitly.
+ */
+class ProtobufSchemaPrinter {
+
+    private static final String INDENTATION = "    ";
+
+    private ProtobufSchemaPrinter() {}
+
+    static String print(FileDescriptor fileDescriptor) {
+        StringBuilder proto = new StringBuilder();
+        proto.append("syntax = \"proto2\";\n");
+
+        for (Descriptor messageType : fileDescriptor.getMessageTypes()) {
+            proto.append('\n');
+            printMessage(proto, messageType, 0);
+        }
+
+        return proto.toString();
+    }
+
+    private static void printMessage(StringBuilder proto, Descriptor messageType, int depth) {
+        indent(proto, depth).append("message ").append(messageType.getName()).append(" {\n");
+
+        for (Descriptor nestedType : messageType.getNestedTypes()) {
+            if (!nestedType.getOptions().getMapEntry()) {
+                printMessage(proto, nestedType, depth + 1);
+            }
+        }
+        for (FieldDescriptor field : messageType.getFields()) {
+            printField(proto, field, depth + 1);
+        }
+
+        indent(proto, depth).append("}\n");
+    }
+
+    private static void printField(StringBuilder proto, FieldDescriptor field, int depth) {
+        indent(proto, depth);
+        if (field.isMapField()) {
+            Descriptor entryType = field.getMessageType();
+            proto.append("map<").append(getTypeName(entryType.findFieldByNumber(MapFieldWriter.KEY_FIELD_NUMBER)))
+                    .append(", ").append(getTypeName(entryType.findFieldByNumber(MapFieldWriter.VALUE_FIELD_NUMBER)))
+                    .append('>');
+        } else {
+            proto.append(getLabel(field)).append(' ').append(getTypeName(field));
+        }
+        proto.append(' ').append(field.getName()).append(" = ").append(field.getNumber());
+        if (field.isPacked()) {
+            proto.append(" [packed = true]");
+        }
+        proto.append(";\n");
+    }
+
+    private static String getLabel(FieldDescriptor field) {
+        if (field.isRepeated()) {
+            return SchemaGenerator.REPEATED_LABEL;
+        }
+        return field.isRequired() ? "required" : SchemaGenerator.OPTIONAL_LABEL;
+    }
+
+    private static String getTypeName(FieldDescriptor field) {
+        if (field.getType() == FieldDescriptor.Type.MESSAGE) {
+            return "." + field.getMessageType().getFullName();
+        }
+        return field.getType().name().toLowerCase(Locale.ROOT);
+    }
+
+    private static StringBuilder indent(StringBuilder proto, int depth) {
+        for (int i = 0; i < depth; i++) {
+            proto.append(INDENTATION);
+        }
+        return proto;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.IOException;
+
+/**
+ * Decodes a Protobuf message into a Ballerina record using the field readers compiled for its fields.
+ *
+ * Field readers are indexed by the field number, so a field read from the input is dispatched without a lookup.
+ * Messages of which only some fields are read are decoded into maps instead, since a record value without its
+ * required fields would not belong to its record type.
+ */
+class RecordMessageReader implements MessageReader {
+
+    private final Module recordPackage;
+    private final String recordName;
+    // Type of the map a message is decoded into, or null if it is decoded into a record
+    private final MapType mapType;
+    private final BString[] fieldNames;
+    private final FieldReader[] fieldReaders;
+
+    /**
+     * @param fieldNames Names of the record fields, indexed by field number.
+     * @param fieldReaders Readers of the record fields, indexed by field number.
+     */
+    RecordMessageReader(Module recordPackage, String recordName, BString[] fieldNames, FieldReader[] fieldReaders) {
+        this(recordPackage, recordName, null, fieldNames, fieldReaders);
+    }
+
+    /**
+     * Creates a reader that decodes messages into maps of the given type.
+     *
+     * @param fieldNames Names of the read fields, indexed by field number.
+     * @param fieldReaders Readers of the read fields, indexed by field number.
+     */
+    RecordMessageReader(MapType mapType, BString[] fieldNames, FieldReader[] fieldReaders) {
+        this(null, null, mapType, fieldNames, fieldReaders);
+    }
+
+    private RecordMessageReader(Module recordPackage, String recordName, MapType mapType, BString[] fieldNames,
+                                FieldReader[] fieldReaders) {
+        this.recordPackage = recordPackage;
+        this.recordName = recordName;
+        this.mapType = mapType;
+        this.fieldNames = fieldNames;
+        this.fieldReaders = fieldReaders;
+    }
+
+    @Override
+    public Object read(CodedInputStream input) throws IOException {
+        Object[] values = new Object[fieldReaders.length];
+        boolean[] present = new boolean[fieldReaders.length];
+
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            int fieldNumber = WireFormat.getTagFieldNumber(tag);
+            int wireType = WireFormat.getTagWireType(tag);
+
+            if (fieldNumber >= fieldReaders.length || fieldReaders[fieldNumber] == null
+                    || !fieldReaders[fieldNumber].acceptsWireType(wireType)) {
+                input.skipField(tag);
+                continue;
+            }
+
+            values[fieldNumber] = fieldReaders[fieldNumber].read(input, wireType, values[fieldNumber]);
+            present[fieldNumber] = true;
+        }
+
+        // Only the fields present in the message are added, so a nil union field is kept but an absent one is not
+        BMap<BString, Object> record = mapType == null ? ValueCreator.createRecordValue(recordPackage, recordName)
+                : ValueCreator.createMapValue(mapType);
+        for (int i = 1; i < fieldReaders.length; i++) {
+            if (present[i]) {
+                record.put(fieldNames[i], values[i]);
+            }
+        }
+
+        return record;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedOutputStream;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.IOException;
+
+/**
+ * Encodes a Ballerina record as a Protobuf message using the field writers compiled for its fields.
+ */
+class RecordMessageWriter implements MessageWriter {
+
+    private final String recordTypeName;
+    private final BString[] fieldNames;
+    private final FieldWriter[] fieldWriters;
+    private final boolean[] nilableFields;
+
+    RecordMessageWriter(String recordTypeName, BString[] fieldNames, FieldWriter[] fieldWriters,
+                        boolean[] nilableFields) {
+        this.recordTypeName = recordTypeName;
+        this.fieldNames = fieldNames;
+        this.fieldWriters = fieldWriters;
+        this.nilableFields = nilableFields;
+    }
+
+    @Override
+    public int computeSize(Object value, SizeCache sizeCache) {
+        BMap<BString, Object> bMap = toRecord(value);
+
+        int size = 0;
+        for (int i = 0; i < fieldNames.length; i++) {
+            Object fieldValue = bMap.get(fieldNames[i]);
+            if (isFieldWritten(bMap, i, fieldValue)) {
+                try {
+                    size += fieldWriters[i].computeSize(fieldValue, sizeCache);
+                } catch (TypeMismatchException e) {
+                    throw e.inField(fieldNames[i].getValue());
+                }
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void write(CodedOutputStream output, Object value, SizeCache sizeCache) throws IOException {
+        BMap<BString, Object> bMap = toRecord(value);
+
+        // Fields are written in the order of their field numbers, which is how Protobuf itself writes them
+        for (int i = 0; i < fieldNames.length; i++) {
+            Object fieldValue = bMap.get(fieldNames[i]);
+            if (isFieldWritten(bMap, i, fieldValue)) {
+                fieldWriters[i].write(output, fieldValue, sizeCache);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private BMap<BString, Object> toRecord(Object value) {
+        if (value instanceof BMap) {
+            return (BMap<BString, Object>) value;
+        }
+        throw new TypeMismatchException(recordTypeName);
+    }
+
+    // Nil is written only for fields of union types that are present in the record
+    private boolean isFieldWritten(BMap<BString, Object> bMap, int index, Object fieldValue) {
+        return fieldValue != null || (nilableFields[index] && bMap.containsKey(fieldNames[index]));
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.WireFormat;
+import io.ballerina.runtime.api.values.BArray;
+
+import java.io.IOException;
+
+/**
+ * Encodes the elements of a Ballerina array as a repeated, length-delimited Protobuf field of a message type.
+ */
+class RepeatedMessageFieldWriter implements FieldWriter, ArrayRangeWriter {
+
+    private final int fieldNumber;
+    private final int tagSize;
+    private final MessageWriter elementWriter;
+    private final String arrayTypeName;
+
+    RepeatedMessageFieldWriter(FieldDescriptor fieldDescriptor, MessageWriter elementWriter, String arrayTypeName) {
+        this.fieldNumber = fieldDescriptor.getNumber();
+        this.tagSize = CodedOutputStream.computeTagSize(fieldNumber);
+        this.elementWriter = elementWriter;
+        this.arrayTypeName = arrayTypeName;
+    }
+
+    @Override
+    public int computeSize(Object value, SizeCache sizeCache) {
+        BArray bArray = Serializer.toArray(value, arrayTypeName);
+
+        return computeSize(bArray, 0, bArray.size(), sizeCache);
+    }
+
+    @Override
+    public int computeSize(BArray bArray, int start, int end, SizeCache sizeCache) {
+        int size = (end - start) * tagSize;
+        for (int i = start; i < end; i++) {
+            int index = sizeCache.reserve();
+            int elementSize;
+            try {
+                elementSize = elementWriter.computeSize(bArray.get(i), sizeCache);
+            } catch (TypeMismatchException e) {
+                throw e.atIndex(i);
+            }
+            sizeCache.set(index, elementSize);
+            size += CodedOutputStream.computeUInt32SizeNoTag(elementSize) + elementSize;
+        }
+        return size;
+    }
+
+    @Override
+    public void write(CodedOutputStream output, Object value, SizeCache sizeCache) throws IOException {
+        BArray bArray = Serializer.toArray(value, arrayTypeName);
+
+        write(output, bArray, 0, bArray.size(), sizeCache);
+    }
+
+    @Override
+    public void write(CodedOutputStream output, BArray bArray, int start, int end, SizeCache sizeCache)
+            throws IOException {
+        for (int i = start; i < end; i++) {
+            Object element = bArray.get(i);
+
+            output.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            output.writeUInt32NoTag(sizeCache.next());
+            elementWriter.write(output, element, sizeCache);
+        }
+    }
+}
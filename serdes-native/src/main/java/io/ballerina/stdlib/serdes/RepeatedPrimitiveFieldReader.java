@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedInputStream;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.values.BArray;
+
+import java.io.IOException;
+
+/**
+ * Decodes a repeated Protobuf field of strings or decimals into a Ballerina array.
+ */
+class RepeatedPrimitiveFieldReader implements FieldReader {
+
+    private final int elementTag;
+    private final int wireType;
+    private final ArrayType arrayType;
+
+    RepeatedPrimitiveFieldReader(ArrayType arrayType) {
+        this.elementTag = arrayType.getElementType().getTag();
+        this.wireType = PrimitiveFieldReader.getWireType(elementTag);
+        this.arrayType = arrayType;
+    }
+
+    @Override
+    public Object read(CodedInputStream input, int wireType, Object previousValue) throws IOException {
+        BArray bArray = previousValue == null ? ValueCreator.createArrayValue(arrayType) : (BArray) previousValue;
+        bArray.append(PrimitiveFieldReader.readValue(input, elementTag));
+
+        return bArray;
+    }
+
+    @Override
+    public boolean acceptsWireType(int wireType) {
+        return this.wireType == wireType;
+    }
+
+    @Override
+    public Object getDefaultValue() {
+        return ValueCreator.createArrayValue(arrayType);
+    }
+}
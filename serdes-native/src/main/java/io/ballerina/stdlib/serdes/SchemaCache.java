@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.TableType;
+import io.ballerina.runtime.api.types.TupleType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.UnionType;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide, bounded cache of generated Protobuf schemas keyed by Ballerina type.
+ *
+ * Named types (records) are keyed by their qualified name, while arrays, unions, maps, tables and tuples are keyed
+ * by the structure of their member types. The key of a type is built once and then looked up by the identity of the
+ * type. Once the cache is full, the least recently used entries are evicted first.
+ */
+public class SchemaCache {
+
+    static final int DEFAULT_CAPACITY = 1024;
+    static final int MAX_CACHED_KEYS = 4 * DEFAULT_CAPACITY;
+
+    static final String SCHEMA_CACHE_STATISTICS = "SchemaCacheStatistics";
+    static final String HITS = "hits";
+    static final String MISSES = "misses";
+    static final String EVICTIONS = "evictions";
+    static final String SIZE = "size";
+    static final String CAPACITY = "capacity";
+
+    // Guarded by itself, since looking an entry up moves it to the end of the access order
+    private static final LinkedHashMap<String, CompiledSchema> schemas = new LinkedHashMap<>(16, 0.75f, true);
+    private static final Map<Type, String> cacheKeys = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong evictions = new AtomicLong();
+
+    private static volatile int capacity = DEFAULT_CAPACITY;
+
+    private SchemaCache() {}
+
+    /**
+     * Returns the cached schema of a data type.
+     *
+     * @param type Ballerina data type.
+     * @return Cached schema, or null if the schema of the type is not cached.
+     */
+    public static CompiledSchema get(Type type) {
+        String key = getCacheKey(type);
+        CompiledSchema schema;
+        synchronized (schemas) {
+            schema = schemas.get(key);
+        }
+
+        if (schema == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return schema;
+    }
+
+    /**
+     * Adds the schema of a data type to the cache, evicting the least recently used entries if the cache is full.
+     *
+     * @param type Ballerina data type.
+     * @param schema Schema compiled for the data type.
+     * @return The schema that is cached for the type, which is the existing one if another thread added it first.
+     */
+    public static CompiledSchema put(Type type, CompiledSchema schema) {
+        String key = getCacheKey(type);
+        synchronized (schemas) {
+            CompiledSchema existingSchema = schemas.get(key);
+            if (existingSchema != null) {
+                return existingSchema;
+            }
+
+            schemas.put(key, schema);
+            evictLeastRecentlyUsedEntries();
+        }
+        return schema;
+    }
+
+    private static void evictLeastRecentlyUsedEntries() {
+        synchronized (schemas) {
+            Iterator<CompiledSchema> leastRecentlyUsed = schemas.values().iterator();
+            while (schemas.size() > capacity && leastRecentlyUsed.hasNext()) {
+                leastRecentlyUsed.next();
+                leastRecentlyUsed.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Creates a record with the hit, miss and eviction counts of the schema cache.
+     *
+     * @return {@code SchemaCacheStatistics} record.
+     */
+    public static BMap<BString, Object> getSchemaCacheStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put(HITS, hits.get());
+        statistics.put(MISSES, misses.get());
+        statistics.put(EVICTIONS, evictions.get());
+        synchronized (schemas) {
+            statistics.put(SIZE, (long) schemas.size());
+        }
+        statistics.put(CAPACITY, (long) capacity);
+
+        return ValueCreator.createRecordValue(Utils.getModule(), SCHEMA_CACHE_STATISTICS, statistics);
+    }
+
+    /**
+     * Sets the maximum number of schemas kept in the cache.
+     *
+     * @param newCapacity Maximum number of cached schemas.
+     */
+    public static void setSchemaCacheCapacity(long newCapacity) {
+        capacity = (int) Math.min(Math.max(newCapacity, 1), Integer.MAX_VALUE);
+        evictLeastRecentlyUsedEntries();
+    }
+
+    /**
+     * Returns the name by which the schema of a data type is cached, which is also the name its metrics are recorded
+     * under.
+     */
+    static String getCacheKey(Type type) {
+        String key = cacheKeys.get(type);
+        if (key != null) {
+            return key;
+        }
+
+        StringBuilder keyBuilder = new StringBuilder();
+        appendCacheKey(keyBuilder, type);
+        key = keyBuilder.toString();
+        if (cacheKeys.size() < MAX_CACHED_KEYS) {
+            cacheKeys.put(type, key);
+        }
+        return key;
+    }
+
+    private static void appendCacheKey(StringBuilder key, Type type) {
+        if (type.getTag() == TypeTags.ARRAY_TAG) {
+            appendCacheKey(key, ((ArrayType) type).getElementType());
+            key.append("[]");
+        } else if (type.getTag() == TypeTags.UNION_TAG) {
+            key.append('(');
+            appendMemberKeys(key, ((UnionType) type).getMemberTypes(), '|');
+            key.append(')');
+        } else if (type.getTag() == TypeTags.MAP_TAG) {
+            key.append("map<");
+            appendCacheKey(key, ((MapType) type).getConstrainedType());
+            key.append('>');
+        } else if (type.getTag() == TypeTags.TABLE_TAG) {
+            key.append("table<");
+            appendCacheKey(key, ((TableType) type).getConstrainedType());
+            key.append('>');
+        } else if (type.getTag() == TypeTags.TUPLE_TAG) {
+            TupleType tupleType = (TupleType) type;
+            key.append('[');
+            appendMemberKeys(key, tupleType.getTupleTypes(), ',');
+            if (tupleType.getRestType() != null) {
+                if (!tupleType.getTupleTypes().isEmpty()) {
+                    key.append(',');
+                }
+                appendCacheKey(key, tupleType.getRestType());
+                key.append("...");
+            }
+            key.append(']');
+        } else if (type.getTag() == TypeTags.RECORD_TYPE_TAG) {
+            key.append(type.getQualifiedName());
+        } else {
+            key.append(type.getName());
+        }
+    }
+
+    private static void appendMemberKeys(StringBuilder key, List<Type> memberTypes, char separator) {
+        for (int i = 0; i < memberTypes.size(); i++) {
+            if (i > 0) {
+                key.append(separator);
+            }
+            appendCacheKey(key, memberTypes.get(i));
+        }
+    }
+}
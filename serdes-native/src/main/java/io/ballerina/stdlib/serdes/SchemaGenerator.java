@@ -18,19 +18,35 @@
 
 package io.ballerina.stdlib.serdes;
 
+import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
 import com.google.protobuf.Descriptors;
+import com.google.protobuf.InvalidProtocolBufferException;
 import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
 import io.ballerina.runtime.api.types.ArrayType;
 import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.MapType;
 import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.TableType;
+import io.ballerina.runtime.api.types.TupleType;
 import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.types.UnionType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BTypedesc;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import static io.ballerina.stdlib.serdes.Constants.SCHEMA_MISMATCH_ERROR;
 import static io.ballerina.stdlib.serdes.Constants.SERDES_ERROR;
 import static io.ballerina.stdlib.serdes.Utils.createSerdesError;
 
@@ -50,15 +66,43 @@ public class SchemaGenerator {
     static final String UNION_BUILDER_NAME = "UnionBuilder";
     static final String UNION_FIELD_NAME = "UnionField";
     static final String NULL_FIELD_NAME = "nullField";
+    static final String MAP_BUILDER_NAME = "MapBuilder";
+    static final String MAP_FIELD_NAME = "mapfield";
+    static final String TABLE_BUILDER_NAME = "TableBuilder";
+    static final String TABLE_FIELD_NAME = "tablefield";
+    static final String TUPLE_BUILDER_NAME = "TupleBuilder";
+    static final String JSON_BUILDER_NAME = "JsonBuilder";
+
+    static final String MAP_ENTRY_SUFFIX = "Entry";
+    static final String MAP_KEY_FIELD_NAME = "key";
+    static final String MAP_VALUE_FIELD_NAME = "value";
+    static final String ARRAY_TYPE_IDENTIFIER = "ballerinaarraytype";
+    static final String MAP_TYPE_IDENTIFIER = "ballerinamaptype";
+    static final String TABLE_TYPE_IDENTIFIER = "ballerinatabletype";
+    static final String TUPLE_TYPE_IDENTIFIER = "ballerinatupletype";
+    static final String TUPLE_ELEMENT_FIELD_NAME = "element";
+    static final String TUPLE_REST_FIELD_NAME = "rest";
 
-    static final String NESTED_UNION_FIELD_NAME = "unionelement";
     static final String UNION_TYPE_IDENTIFIER = "ballerinauniontype";
     static final String UNION_FIELD_SEPARATOR = "__";
 
     static final String BYTES = "bytes";
+    static final String STRING = "string";
 
     static final String UNSUPPORTED_DATA_TYPE = "Unsupported data type: ";
     static final String SCHEMA_GENERATION_FAILURE = "Failed to generate schema: ";
+    static final String SCHEMA_LOADING_FAILURE = "Failed to load schema: ";
+    static final String SCHEMA_MISMATCH_ERROR_MESSAGE = "Schema does not match the data type ";
+
+    // Names of the messages generated for record types, by the qualified name of the record type
+    private final Map<String, String> recordMessageNames = new HashMap<>();
+    // Names of the messages at the top level of the schema
+    private final Set<String> messageNames = new HashSet<>(Arrays.asList(DecimalMessage.DECIMAL_MESSAGE_NAME,
+            JsonMessage.JSON_MESSAGE_NAME, JsonMessage.JSON_ARRAY_MESSAGE_NAME, JsonMessage.JSON_OBJECT_MESSAGE_NAME));
+    // Messages generated for record types other than the data type itself, in the order they are completed
+    private final List<ProtobufMessage> recordMessages = new ArrayList<>();
+
+    private SchemaGenerator() {}
 
     /**
      * Creates a schema for a given data type and adds to native data.
@@ -68,41 +112,264 @@ public class SchemaGenerator {
      * @return {@code BError}, if there are schema generation errors, null otherwise.
      */
     public static Object generateSchema(BObject serdes, BTypedesc typedesc) {
-        ProtobufMessage protobufMessage;
+        CompiledSchema schema;
+        try {
+            schema = getSchema(typedesc.getDescribingType());
+        } catch (BError e) {
+            return e;
+        }
+        serdes.addNativeData(SCHEMA_NAME, schema);
+
+        return null;
+    }
+
+    /**
+     * Generates the schema of a given data type and adds it to the schema cache.
+     *
+     * @param typedesc Data type of which the schema is generated.
+     * @return {@code BError}, if there are schema generation errors, null otherwise.
+     */
+    public static Object prewarmSchema(BTypedesc typedesc) {
+        try {
+            getSchema(typedesc.getDescribingType());
+        } catch (BError e) {
+            return e;
+        }
+
+        return null;
+    }
+
+    /**
+     * Creates a schema for a given data type from a schema exported earlier by {@link #exportSchema} and adds it to
+     * native data. If the schema cache holds exactly the same schema for the data type, the cached schema is used.
+     * Otherwise the schema is compiled once its fields are checked to be the ones generated for the data type, and it
+     * is added to the schema cache unless the cache holds another schema for the data type.
+     *
+     * @param serdes  Serializer or Deserializer object.
+     * @param typedesc Data type that is being serialized.
+     * @param fileDescriptorSet Serialized {@code FileDescriptorSet} of the schema.
+     * @return {@code BError}, if the schema cannot be loaded, or {@code SchemaMismatchError} if it does not match the
+     *         data type, null otherwise.
+     */
+    public static Object loadSchema(BObject serdes, BTypedesc typedesc, BArray fileDescriptorSet) {
+        Type type = typedesc.getDescribingType();
+
+        byte[] loadedSchema = fileDescriptorSet.getBytes();
+
+        CompiledSchema schema = SchemaCache.get(type);
+        if (schema != null && schema.isSerializedAs(loadedSchema)) {
+            SerdesMetrics.recordSchemaCacheHit(type);
+        } else {
+            CompiledSchema compiledSchema;
+            try {
+                compiledSchema = SerdesMetrics.measureSchemaGeneration(type,
+                        () -> compileSchema(type, loadedSchema));
+            } catch (BError e) {
+                return e;
+            }
+            // A schema that matches the data type but differs from the cached one, such as in the options of its
+            // fields, is used only by this object
+            schema = schema == null ? SchemaCache.put(type, compiledSchema) : compiledSchema;
+        }
+        serdes.addNativeData(SCHEMA_NAME, schema);
+
+        return null;
+    }
+
+    /**
+     * Exports the schema of a given data type as a serialized {@code FileDescriptorSet}, which can be loaded later
+     * with {@link #loadSchema} instead of generating the schema again.
+     *
+     * @param typedesc Data type of which the schema is exported.
+     * @return Byte array of the {@code FileDescriptorSet}, or {@code BError} if the data type is not supported.
+     */
+    public static Object exportSchema(BTypedesc typedesc) {
+        CompiledSchema schema;
+        try {
+            schema = getSchema(typedesc.getDescribingType());
+        } catch (BError e) {
+            return e;
+        }
 
+        return ValueCreator.createArrayValue(schema.toFileDescriptorSet());
+    }
+
+    /**
+     * Exports the schema of a given data type in the .proto file format.
+     *
+     * @param typedesc Data type of which the schema is exported.
+     * @return .proto file of the schema, or {@code BError} if the data type is not supported.
+     */
+    public static Object exportSchemaAsProto(BTypedesc typedesc) {
+        CompiledSchema schema;
         try {
-            protobufMessage = buildProtobufMessageFromTypedesc(typedesc);
+            schema = getSchema(typedesc.getDescribingType());
         } catch (BError e) {
             return e;
         }
 
+        return StringUtils.fromString(ProtobufSchemaPrinter.print(schema.getDescriptor().getFile()));
+    }
+
+    /**
+     * Returns the schema of a given data type from the schema cache, generating it on a cache miss. Cache hits and
+     * schema generations are recorded as separate metrics of the data type.
+     *
+     * @param type Data type of which the schema is returned.
+     * @return Schema of the data type.
+     */
+    public static CompiledSchema getSchema(Type type) {
+        CompiledSchema schema = SchemaCache.get(type);
+        if (schema != null) {
+            SerdesMetrics.recordSchemaCacheHit(type);
+            return schema;
+        }
+
+        return SchemaCache.put(type, SerdesMetrics.measureSchemaGeneration(type, () -> compileSchema(type)));
+    }
+
+    /**
+     * Generates the schema of a given data type without looking it up in or adding it to the schema cache.
+     *
+     * @param type Data type of which the schema is generated.
+     * @return Schema of the data type.
+     */
+    public static CompiledSchema compileSchema(Type type) {
+        SchemaGenerator generator = new SchemaGenerator();
+        ProtobufMessage protobufMessage = generator.buildProtobufMessageFromType(type);
+
         ProtobufSchemaBuilder schemaBuilder = ProtobufSchemaBuilder.newSchemaBuilder(SCHEMA_BUILDER_NAME);
+        // The schema is the last message of the file, so the decimal and json messages it refers to are added
+        // before it. Json messages refer to the decimal message themselves.
+        boolean containsJson = containsType(type, TypeTags.JSON_TAG, new HashSet<>());
+        if (containsJson || containsType(type, TypeTags.DECIMAL_TAG, new HashSet<>())) {
+            schemaBuilder.addMessageToProtoSchema(DecimalMessage.buildProtobufMessage());
+        }
+        if (containsJson) {
+            for (ProtobufMessage jsonMessage : JsonMessage.buildProtobufMessages()) {
+                schemaBuilder.addMessageToProtoSchema(jsonMessage);
+            }
+        }
+        for (ProtobufMessage recordMessage : generator.recordMessages) {
+            schemaBuilder.addMessageToProtoSchema(recordMessage);
+        }
         schemaBuilder.addMessageToProtoSchema(protobufMessage);
 
-        Descriptors.Descriptor schema = null;
+        Descriptors.Descriptor descriptor;
         try {
-            schema = schemaBuilder.build();
+            descriptor = schemaBuilder.build();
         } catch (Descriptors.DescriptorValidationException e) {
-            return createSerdesError(SCHEMA_GENERATION_FAILURE + e.getMessage(), SERDES_ERROR);
+            throw createSerdesError(SCHEMA_GENERATION_FAILURE + e.getMessage(), SERDES_ERROR);
         }
-        serdes.addNativeData(SCHEMA_NAME, schema);
 
-        return null;
+        return new CompiledSchema(type, descriptor, SerializationPlan.compile(type, descriptor),
+                DeserializationPlan.compile(type, descriptor));
     }
 
-    private static ProtobufMessage buildProtobufMessageFromTypedesc(BTypedesc typedesc) {
-        Type type = typedesc.getDescribingType();
+    /**
+     * Builds the schema of a given data type from a serialized {@code FileDescriptorSet} exported earlier for it.
+     * The schema is not generated from the data type. Instead, each field of the loaded schema is checked while the
+     * serialization plan binds it, so that a schema exported for another data type, or for another version of the
+     * data type, is never used for its values.
+     *
+     * @param type Data type of which the schema was exported.
+     * @param fileDescriptorSet Serialized {@code FileDescriptorSet} of the schema.
+     * @return Schema of the data type.
+     * @throws BError {@code SchemaMismatchError} if the schema is not the one generated for the data type.
+     */
+    public static CompiledSchema compileSchema(Type type, byte[] fileDescriptorSet) {
+        FileDescriptorSet loadedSchema;
+        try {
+            loadedSchema = FileDescriptorSet.parseFrom(fileDescriptorSet);
+        } catch (InvalidProtocolBufferException e) {
+            throw createSerdesError(SCHEMA_LOADING_FAILURE + e.getMessage(), SERDES_ERROR);
+        }
+        if (loadedSchema.getFileCount() != 1) {
+            throw createSchemaMismatchError(type, "expected 1 file, found " + loadedSchema.getFileCount());
+        }
 
+        Descriptors.Descriptor descriptor;
+        try {
+            descriptor = ProtobufSchemaBuilder.buildFromFileDescriptorSet(loadedSchema);
+        } catch (Descriptors.DescriptorValidationException e) {
+            throw createSerdesError(SCHEMA_LOADING_FAILURE + e.getMessage(), SERDES_ERROR);
+        }
+        if (descriptor == null) {
+            throw createSchemaMismatchError(type, "expected a message, found none");
+        }
+
+        return new CompiledSchema(type, descriptor, SerializationPlan.compileLoaded(type, descriptor),
+                DeserializationPlan.compile(type, descriptor));
+    }
+
+    /**
+     * Creates the error returned when a loaded schema is not the schema generated for a data type.
+     *
+     * @param type Data type for which the schema was loaded.
+     * @param mismatch Description of the first difference found between the schemas.
+     * @return {@code SchemaMismatchError}.
+     */
+    static BError createSchemaMismatchError(Type type, String mismatch) {
+        return createSerdesError(SCHEMA_LOADING_FAILURE + SCHEMA_MISMATCH_ERROR_MESSAGE + type.getName() + ": "
+                + mismatch, SCHEMA_MISMATCH_ERROR);
+    }
+
+    // Whether a type refers to a type with the given tag, whose message is defined at the top level of the schema
+    private static boolean containsType(Type type, int typeTag, Set<Type> visitedTypes) {
+        if (type.getTag() == typeTag) {
+            return true;
+        } else if (!visitedTypes.add(type)) {
+            return false;
+        }
+
+        switch (type.getTag()) {
+            case TypeTags.ARRAY_TAG:
+                return containsType(((ArrayType) type).getElementType(), typeTag, visitedTypes);
+            case TypeTags.MAP_TAG:
+                return containsType(((MapType) type).getConstrainedType(), typeTag, visitedTypes);
+            case TypeTags.TABLE_TAG:
+                return containsType(((TableType) type).getConstrainedType(), typeTag, visitedTypes);
+            case TypeTags.TUPLE_TAG:
+                TupleType tupleType = (TupleType) type;
+                if (tupleType.getRestType() != null
+                        && containsType(tupleType.getRestType(), typeTag, visitedTypes)) {
+                    return true;
+                }
+                return containsAnyType(tupleType.getTupleTypes(), typeTag, visitedTypes);
+            case TypeTags.UNION_TAG:
+                return containsAnyType(((UnionType) type).getMemberTypes(), typeTag, visitedTypes);
+            case TypeTags.RECORD_TYPE_TAG:
+                for (Field field : ((RecordType) type).getFields().values()) {
+                    if (containsType(field.getFieldType(), typeTag, visitedTypes)) {
+                        return true;
+                    }
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean containsAnyType(List<Type> types, int typeTag, Set<Type> visitedTypes) {
+        for (Type type : types) {
+            if (containsType(type, typeTag, visitedTypes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ProtobufMessage buildProtobufMessageFromType(Type type) {
         if (type.getTag() <= TypeTags.BOOLEAN_TAG) {
             String ballerinaToProtoMap = DataTypeMapper.getProtoTypeFromTag(type.getTag());
 
-            ProtobufMessageBuilder messageBuilder = ProtobufMessage.newMessageBuilder(ballerinaToProtoMap);
+            ProtobufMessageBuilder messageBuilder = ProtobufMessage.newMessageBuilder(getMessageName(type));
             buildProtobufMessageForPrimitive(messageBuilder, ballerinaToProtoMap, ATOMIC_FIELD_NAME, 1);
 
             return messageBuilder.build();
         } else if (type.getTag() == TypeTags.UNION_TAG) {
             ProtobufMessage protobufMessage = buildProtobufMessageForUnion(type, UNION_FIELD_NAME);
-            ProtobufMessageBuilder messageBuilder = ProtobufMessage.newMessageBuilder(UNION_BUILDER_NAME);
+            ProtobufMessageBuilder messageBuilder = ProtobufMessage.newMessageBuilder(getMessageName(type));
 
             messageBuilder.addNestedMessage(protobufMessage);
             messageBuilder.addField(OPTIONAL_LABEL, UNION_FIELD_NAME, ATOMIC_FIELD_NAME, 1);
@@ -111,27 +378,74 @@ public class SchemaGenerator {
         } else if (type.getTag() == TypeTags.ARRAY_TAG) {
             ArrayType arrayType = (ArrayType) type;
 
-            ProtobufMessageBuilder messageBuilder = ProtobufMessage.newMessageBuilder(ARRAY_BUILDER_NAME);
-            buildProtobufMessageForArray(messageBuilder, arrayType, ARRAY_FIELD_NAME, 1, 1);
+            ProtobufMessageBuilder messageBuilder = ProtobufMessage.newMessageBuilder(getMessageName(type));
+            buildProtobufMessageForArray(messageBuilder, arrayType, ARRAY_FIELD_NAME, 1);
 
             return messageBuilder.build();
         } else if (type.getTag() == TypeTags.RECORD_TYPE_TAG) {
             RecordType recordType = (RecordType) type;
 
-            return buildProtobufMessageForRecord(recordType.getFields(), type.getName());
+            // The schema is the message of the record itself, which is referred to like any other record message
+            String messageName = getMessageName(type);
+            recordMessageNames.put(recordType.getQualifiedName(), messageName);
+            messageNames.add(messageName);
+
+            return buildProtobufMessageForRecord(recordType.getFields(), messageName);
+        } else if (type.getTag() == TypeTags.MAP_TAG) {
+            ProtobufMessageBuilder messageBuilder = ProtobufMessage.newMessageBuilder(getMessageName(type));
+            buildProtobufMessageForMap(messageBuilder, (MapType) type, MAP_FIELD_NAME, 1);
+
+            return messageBuilder.build();
+        } else if (type.getTag() == TypeTags.TABLE_TAG) {
+            ProtobufMessageBuilder messageBuilder = ProtobufMessage.newMessageBuilder(getMessageName(type));
+            buildProtobufMessageForTable(messageBuilder, (TableType) type, TABLE_FIELD_NAME, 1);
+
+            return messageBuilder.build();
+        } else if (type.getTag() == TypeTags.TUPLE_TAG) {
+            return buildProtobufMessageForTuple((TupleType) type, getMessageName(type));
+        } else if (type.getTag() == TypeTags.JSON_TAG) {
+            ProtobufMessageBuilder messageBuilder = ProtobufMessage.newMessageBuilder(getMessageName(type));
+            messageBuilder.addField(OPTIONAL_LABEL, JsonMessage.JSON_MESSAGE_NAME, ATOMIC_FIELD_NAME, 1);
+
+            return messageBuilder.build();
         } else {
             throw createSerdesError(UNSUPPORTED_DATA_TYPE + type.getName(), SERDES_ERROR);
         }
 
     }
 
+    // Name of the message that is generated as the schema of a data type
+    static String getMessageName(Type type) {
+        if (type.getTag() == TypeTags.DECIMAL_TAG) {
+            // The Protobuf type of a decimal is a message itself, so the message holding it is named after the
+            // Ballerina type instead
+            return type.getName();
+        } else if (type.getTag() <= TypeTags.BOOLEAN_TAG) {
+            return DataTypeMapper.getProtoTypeFromTag(type.getTag());
+        } else if (type.getTag() == TypeTags.UNION_TAG) {
+            return UNION_BUILDER_NAME;
+        } else if (type.getTag() == TypeTags.ARRAY_TAG) {
+            return ARRAY_BUILDER_NAME;
+        } else if (type.getTag() == TypeTags.MAP_TAG) {
+            return MAP_BUILDER_NAME;
+        } else if (type.getTag() == TypeTags.TABLE_TAG) {
+            return TABLE_BUILDER_NAME;
+        } else if (type.getTag() == TypeTags.TUPLE_TAG) {
+            return TUPLE_BUILDER_NAME;
+        } else if (type.getTag() == TypeTags.JSON_TAG) {
+            return JSON_BUILDER_NAME;
+        } else {
+            return type.getName();
+        }
+    }
+
     private static void buildProtobufMessageForPrimitive(ProtobufMessageBuilder messageBuilder, String type,
                                                          String name, int number) {
         messageBuilder.addField(OPTIONAL_LABEL, type, name, number);
     }
 
-    private static void buildProtobufMessageForArray(ProtobufMessageBuilder messageBuilder, ArrayType arrayType,
-                                                     String name, int number, int unionFieldIdentifier) {
+    private void buildProtobufMessageForArray(ProtobufMessageBuilder messageBuilder, ArrayType arrayType,
+                                              String name, int number) {
         Type type = arrayType.getElementType();
 
         if (type.getTag() == TypeTags.UNION_TAG) {
@@ -143,43 +457,43 @@ public class SchemaGenerator {
 
             if (protoElementType.equals(BYTES)) {
                 messageBuilder.addField(OPTIONAL_LABEL, protoElementType, name, number);
-            } else {
+            } else if (protoElementType.equals(STRING) || type.getTag() == TypeTags.DECIMAL_TAG) {
+                // Elements of a length-delimited type cannot be packed
                 messageBuilder.addField(REPEATED_LABEL, protoElementType, name, number);
+            } else {
+                // Int, float and boolean elements are written together in a single length-delimited field
+                messageBuilder.addPackedField(protoElementType, name, number);
             }
         } else if (type.getTag() == TypeTags.ARRAY_TAG) {
+            // Inner arrays are wrapped in a message named after the field, so that the wrappers of the fields of a
+            // message do not clash
             ArrayType nestedArrayType = (ArrayType) type;
-            String nestedMessageName;
-
-            int elementTag = nestedArrayType.getElementType().getTag();
-            if (elementTag == TypeTags.UNION_TAG || elementTag == TypeTags.ARRAY_TAG) {
-                nestedMessageName = NESTED_UNION_FIELD_NAME + unionFieldIdentifier;
-                unionFieldIdentifier++;
-            } else {
-                nestedMessageName = nestedArrayType.getElementType().getName();
-            }
+            String nestedMessageName = name + "_" + ARRAY_TYPE_IDENTIFIER;
 
             ProtobufMessageBuilder nestedMessageBuilder = ProtobufMessage.newMessageBuilder(nestedMessageName);
-            buildProtobufMessageForArray(
-                    nestedMessageBuilder,
-                    nestedArrayType,
-                    nestedMessageName,
-                    1,
-                    unionFieldIdentifier
-            );
+            buildProtobufMessageForArray(nestedMessageBuilder, nestedArrayType, nestedMessageName, 1);
 
             messageBuilder.addNestedMessage(nestedMessageBuilder.build());
             messageBuilder.addField(REPEATED_LABEL, nestedMessageName, name, number);
 
         } else if (type.getTag() == TypeTags.RECORD_TYPE_TAG) {
-            RecordType recordType = (RecordType) type;
-
-            String[] elementNameHolder = type.getName().split(":");
-            String elementType = elementNameHolder[elementNameHolder.length - 1];
+            messageBuilder.addField(REPEATED_LABEL, getRecordMessageType((RecordType) type), name, number);
+        } else if (type.getTag() == TypeTags.TUPLE_TAG) {
+            String nestedMessageName = name + "_" + TUPLE_TYPE_IDENTIFIER;
+            messageBuilder.addNestedMessage(buildProtobufMessageForTuple((TupleType) type, nestedMessageName));
+            messageBuilder.addField(REPEATED_LABEL, nestedMessageName, name, number);
+        } else if (type.getTag() == TypeTags.JSON_TAG) {
+            messageBuilder.addField(REPEATED_LABEL, JsonMessage.JSON_MESSAGE_NAME, name, number);
+        } else if (type.getTag() == TypeTags.MAP_TAG || type.getTag() == TypeTags.TABLE_TAG) {
+            // Like nested arrays, maps and tables are repeated fields themselves, so each element is wrapped in a
+            // message that holds it in its only field
+            String nestedMessageName = name + "_"
+                    + (type.getTag() == TypeTags.MAP_TAG ? MAP_TYPE_IDENTIFIER : TABLE_TYPE_IDENTIFIER);
+            ProtobufMessageBuilder nestedMessageBuilder = ProtobufMessage.newMessageBuilder(nestedMessageName);
+            addFieldForType(nestedMessageBuilder, type, nestedMessageName, 1, OPTIONAL_LABEL);
 
-            messageBuilder.addNestedMessage(
-                    buildProtobufMessageForRecord(recordType.getFields(), recordType.getName())
-            );
-            messageBuilder.addField(REPEATED_LABEL, elementType, name, number);
+            messageBuilder.addNestedMessage(nestedMessageBuilder.build());
+            messageBuilder.addField(REPEATED_LABEL, nestedMessageName, name, number);
         } else {
             throw createSerdesError(UNSUPPORTED_DATA_TYPE + type.getName(), SERDES_ERROR);
         }
@@ -187,50 +501,132 @@ public class SchemaGenerator {
         return;
     }
 
-    private static ProtobufMessage buildProtobufMessageForRecord(Map<String, Field> dataTypeMap, String name) {
+    /**
+     * Returns the fully-qualified name of the message of a record type, generating the message when the record type
+     * is first referred to. Each record type has a single message at the top level of the schema, which is shared by
+     * every field of the record type, and through which recursive record types refer to themselves.
+     */
+    private String getRecordMessageType(RecordType recordType) {
+        String messageName = recordMessageNames.get(recordType.getQualifiedName());
+        if (messageName == null) {
+            messageName = recordType.getName();
+            for (int suffix = 2; messageNames.contains(messageName); suffix++) {
+                // Record types of different modules may have the same name
+                messageName = recordType.getName() + "_" + suffix;
+            }
+            // The name is registered before the fields are generated, as they may refer to the record type itself
+            recordMessageNames.put(recordType.getQualifiedName(), messageName);
+            messageNames.add(messageName);
+            recordMessages.add(buildProtobufMessageForRecord(recordType.getFields(), messageName));
+        }
+        return "." + messageName;
+    }
+
+    private ProtobufMessage buildProtobufMessageForRecord(Map<String, Field> dataTypeMap, String name) {
         ProtobufMessageBuilder messageBuilder = ProtobufMessage.newMessageBuilder(name);
 
         int number = 1;
         for (Map.Entry<String, Field> entry : dataTypeMap.entrySet()) {
-            Type fieldType = entry.getValue().getFieldType();
-            String fieldName = entry.getValue().getFieldName();
+            addFieldForType(messageBuilder, entry.getValue().getFieldType(), entry.getValue().getFieldName(), number,
+                    OPTIONAL_LABEL);
+            number++;
+        }
+
+        return messageBuilder.build();
+    }
 
-            if (fieldType.getTag() == TypeTags.UNION_TAG) {
-                String unionFieldType = fieldName + "_" + UNION_TYPE_IDENTIFIER;
-                ProtobufMessage nestedMessage = buildProtobufMessageForUnion(fieldType, unionFieldType);
+    // Adds the field holding a value of a given type, such as a record field or a tuple member, to a message. The
+    // label applies to values encoded as a single field occurrence, as arrays, maps and tables are repeated anyway.
+    private void addFieldForType(ProtobufMessageBuilder messageBuilder, Type fieldType, String fieldName,
+                                 int number, String label) {
+        if (fieldType.getTag() == TypeTags.UNION_TAG) {
+            String unionFieldType = fieldName + "_" + UNION_TYPE_IDENTIFIER;
+            ProtobufMessage nestedMessage = buildProtobufMessageForUnion(fieldType, unionFieldType);
+
+            messageBuilder.addNestedMessage(nestedMessage);
+            messageBuilder.addField(label, unionFieldType, fieldName, number);
+        } else if (fieldType.getTag() == TypeTags.RECORD_TYPE_TAG) {
+            messageBuilder.addField(label, getRecordMessageType((RecordType) fieldType), fieldName, number);
+        } else if (fieldType.getTag() == TypeTags.ARRAY_TAG) {
+            ArrayType arrayType = (ArrayType) fieldType;
+
+            buildProtobufMessageForArray(messageBuilder, arrayType, fieldName, number);
+        } else if (fieldType.getTag() <= TypeTags.BOOLEAN_TAG) {
+            String protoFieldType = DataTypeMapper.getProtoTypeFromTag(fieldType.getTag());
+
+            messageBuilder.addField(label, protoFieldType, fieldName, number);
+        } else if (fieldType.getTag() == TypeTags.MAP_TAG) {
+            buildProtobufMessageForMap(messageBuilder, (MapType) fieldType, fieldName, number);
+        } else if (fieldType.getTag() == TypeTags.TABLE_TAG) {
+            buildProtobufMessageForTable(messageBuilder, (TableType) fieldType, fieldName, number);
+        } else if (fieldType.getTag() == TypeTags.TUPLE_TAG) {
+            String nestedFieldType = fieldName + "_" + TUPLE_TYPE_IDENTIFIER;
+
+            messageBuilder.addNestedMessage(buildProtobufMessageForTuple((TupleType) fieldType, nestedFieldType));
+            messageBuilder.addField(label, nestedFieldType, fieldName, number);
+        } else if (fieldType.getTag() == TypeTags.JSON_TAG) {
+            messageBuilder.addField(label, JsonMessage.JSON_MESSAGE_NAME, fieldName, number);
+        } else {
+            throw createSerdesError(UNSUPPORTED_DATA_TYPE + fieldType.getName(), SERDES_ERROR);
+        }
+    }
 
-                messageBuilder.addNestedMessage(nestedMessage);
-                messageBuilder.addField(OPTIONAL_LABEL, unionFieldType, fieldName, number);
-            } else if (fieldType.getTag() == TypeTags.RECORD_TYPE_TAG) {
-                RecordType recordType = (RecordType) fieldType;
+    // Maps are encoded as Protobuf maps, i.e. repeated entry messages holding the key and the value of an entry
+    private void buildProtobufMessageForMap(ProtobufMessageBuilder messageBuilder, MapType mapType,
+                                            String name, int number) {
+        Type valueType = mapType.getConstrainedType();
+        String entryName = Character.toUpperCase(name.charAt(0)) + name.substring(1) + MAP_ENTRY_SUFFIX;
+
+        ProtobufMessageBuilder entryBuilder = ProtobufMessage.newMessageBuilder(entryName);
+        entryBuilder.addField(OPTIONAL_LABEL, STRING, MAP_KEY_FIELD_NAME, MapFieldWriter.KEY_FIELD_NUMBER);
+        addFieldForType(entryBuilder, valueType, MAP_VALUE_FIELD_NAME, MapFieldWriter.VALUE_FIELD_NUMBER,
+                OPTIONAL_LABEL);
+        if (valueType.getTag() <= TypeTags.BOOLEAN_TAG || valueType.getTag() == TypeTags.JSON_TAG) {
+            // Protobuf map entries cannot have nested types, so only entries of values defined elsewhere are
+            // declared as map entries. The others are encoded the same way as plain repeated messages.
+            entryBuilder.setMapEntry();
+        }
 
-                ProtobufMessage nestedMessage = buildProtobufMessageForRecord(
-                        recordType.getFields(),
-                        recordType.getName()
-                );
-                String nestedFieldType = recordType.getName();
+        messageBuilder.addNestedMessage(entryBuilder.build());
+        messageBuilder.addField(REPEATED_LABEL, entryName, name, number);
+    }
 
-                messageBuilder.addNestedMessage(nestedMessage);
-                messageBuilder.addField(OPTIONAL_LABEL, nestedFieldType, fieldName, number);
+    // Tables are encoded like arrays of their rows
+    private void buildProtobufMessageForTable(ProtobufMessageBuilder messageBuilder, TableType tableType,
+                                              String name, int number) {
+        Type rowType = tableType.getConstrainedType();
+        if (rowType.getTag() != TypeTags.RECORD_TYPE_TAG) {
+            throw createSerdesError(UNSUPPORTED_DATA_TYPE + tableType.getName(), SERDES_ERROR);
+        }
 
-            } else if (fieldType.getTag() == TypeTags.ARRAY_TAG) {
-                ArrayType arrayType = (ArrayType) fieldType;
+        buildProtobufMessageForArray(messageBuilder, TypeCreator.createArrayType(rowType), name, number);
+    }
 
-                buildProtobufMessageForArray(messageBuilder, arrayType, fieldName, number, 1);
-            } else if (fieldType.getTag() <= TypeTags.BOOLEAN_TAG) {
-                String protoFieldType = DataTypeMapper.getProtoTypeFromTag(fieldType.getTag());
+    private ProtobufMessage buildProtobufMessageForTuple(TupleType tupleType, String name) {
+        ProtobufMessageBuilder messageBuilder = ProtobufMessage.newMessageBuilder(name);
 
-                buildProtobufMessageForPrimitive(messageBuilder, protoFieldType, fieldName, number);
-            } else {
-                throw createSerdesError(UNSUPPORTED_DATA_TYPE + fieldType.getName(), SERDES_ERROR);
-            }
+        int number = 1;
+        for (Type memberType : tupleType.getTupleTypes()) {
+            addFieldForType(messageBuilder, memberType, TUPLE_ELEMENT_FIELD_NAME + number, number, OPTIONAL_LABEL);
             number++;
         }
 
+        Type restType = tupleType.getRestType();
+        if (restType != null) {
+            // Each member of the rest type is an occurrence of a repeated field, which rules out members that are
+            // repeated fields themselves
+            int restTag = restType.getTag();
+            if (restTag == TypeTags.ARRAY_TAG || restTag == TypeTags.MAP_TAG || restTag == TypeTags.TABLE_TAG) {
+                throw createSerdesError(UNSUPPORTED_DATA_TYPE + tupleType.getName(), SERDES_ERROR);
+            }
+
+            addFieldForType(messageBuilder, restType, TUPLE_REST_FIELD_NAME, number, REPEATED_LABEL);
+        }
+
         return messageBuilder.build();
     }
 
-    private static ProtobufMessage buildProtobufMessageForUnion(Type type, String name) {
+    private ProtobufMessage buildProtobufMessageForUnion(Type type, String name) {
         UnionType unionType = (UnionType) type;
 
         ProtobufMessageBuilder messageBuilder = ProtobufMessage.newMessageBuilder(name);
@@ -254,18 +650,20 @@ public class SchemaGenerator {
                 }
                 String fieldName = protoType + UNION_FIELD_SEPARATOR + "array_" + name;
 
-                buildProtobufMessageForArray(messageBuilder, arrayType, fieldName, number, 1);
+                buildProtobufMessageForArray(messageBuilder, arrayType, fieldName, number);
                 number++;
             } else if (memberType.getTag() == TypeTags.RECORD_TYPE_TAG) {
-                RecordType recordType = (RecordType) memberType;
                 String fieldName = memberType.getName() + UNION_FIELD_SEPARATOR + name;
 
-                String[] elementNameHolder = recordType.getName().split(":");
-                String elementType = elementNameHolder[elementNameHolder.length - 1] + "record";
+                messageBuilder.addField(OPTIONAL_LABEL, getRecordMessageType((RecordType) memberType), fieldName,
+                        number);
+                number++;
+            } else if (memberType.getTag() == TypeTags.MAP_TAG || memberType.getTag() == TypeTags.TABLE_TAG
+                    || memberType.getTag() == TypeTags.TUPLE_TAG || memberType.getTag() == TypeTags.JSON_TAG) {
+                // These members have no name of their own, so they are numbered to tell members of a kind apart
+                String fieldName = getUnionMemberKind(memberType) + number + UNION_FIELD_SEPARATOR + name;
 
-                messageBuilder.addNestedMessage(buildProtobufMessageForRecord(recordType.getFields(),
-                        recordType.getName() + "record"));
-                messageBuilder.addField(OPTIONAL_LABEL, elementType, fieldName, number);
+                addFieldForType(messageBuilder, memberType, fieldName, number, OPTIONAL_LABEL);
                 number++;
             } else {
                 throw createSerdesError(UNSUPPORTED_DATA_TYPE + type.getName(), SERDES_ERROR);
@@ -274,4 +672,17 @@ public class SchemaGenerator {
 
         return messageBuilder.build();
     }
+
+    private static String getUnionMemberKind(Type memberType) {
+        switch (memberType.getTag()) {
+            case TypeTags.MAP_TAG:
+                return MAP_TYPE_IDENTIFIER;
+            case TypeTags.TABLE_TAG:
+                return TABLE_TYPE_IDENTIFIER;
+            case TypeTags.TUPLE_TAG:
+                return TUPLE_TYPE_IDENTIFIER;
+            default:
+                return JsonMessage.JSON_MESSAGE_NAME;
+        }
+    }
 }
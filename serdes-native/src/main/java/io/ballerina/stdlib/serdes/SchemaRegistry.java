@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.stdlib.serdes;
+
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BObject;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.ballerina.stdlib.serdes.Constants.SERDES_ERROR;
+import static io.ballerina.stdlib.serdes.Deserializer.DESERIALIZATION_ERROR_MESSAGE;
+import static io.ballerina.stdlib.serdes.Utils.createSerdesError;
+
+/**
+ * Looks up the serializers registered in a Ballerina {@code SchemaRegistry} by the fingerprints of their schemas.
+ */
+public class SchemaRegistry {
+
+    static final String REGISTERED_SERDES = "registeredSerDes";
+
+    static final String MISSING_FINGERPRINT_ERROR_MESSAGE = "Data is too short to hold a schema fingerprint";
+    static final String UNKNOWN_FINGERPRINT_ERROR_MESSAGE = "No data type is registered for the schema fingerprint: ";
+
+    private SchemaRegistry() {}
+
+    /**
+     * Initializes the table of the serializers registered in a schema registry.
+     *
+     * @param registry Schema registry object.
+     */
+    public static void initSchemaRegistry(BObject registry) {
+        registry.addNativeData(REGISTERED_SERDES, new ConcurrentHashMap<Long, BObject>());
+    }
+
+    /**
+     * Registers a serializer under the fingerprint of its schema, replacing the serializer registered earlier for
+     * the same schema.
+     *
+     * @param registry Schema registry object.
+     * @param serdes Serializer object.
+     */
+    public static void registerSerDes(BObject registry, BObject serdes) {
+        CompiledSchema schema = (CompiledSchema) serdes.getNativeData(SchemaGenerator.SCHEMA_NAME);
+
+        getRegisteredSerDes(registry).put(schema.getFingerprint(), serdes);
+    }
+
+    /**
+     * Finds the serializer registered for the schema fingerprint that precedes an encoded value.
+     *
+     * @param registry Schema registry object.
+     * @param encodedMessage Byte array corresponding to the schema fingerprint and the encoded data.
+     * @return Serializer object, or {@code BError} if no serializer is registered for the fingerprint.
+     */
+    public static Object findSerDes(BObject registry, BArray encodedMessage) {
+        if (encodedMessage.size() < CompiledSchema.FINGERPRINT_SIZE) {
+            return createSerdesError(DESERIALIZATION_ERROR_MESSAGE + MISSING_FINGERPRINT_ERROR_MESSAGE, SERDES_ERROR);
+        }
+
+        long fingerprint = CompiledSchema.readFingerprint(encodedMessage.getByteArray());
+        BObject serdes = getRegisteredSerDes(registry).get(fingerprint);
+        if (serdes == null) {
+            return createSerdesError(DESERIALIZATION_ERROR_MESSAGE + UNKNOWN_FINGERPRINT_ERROR_MESSAGE
+                    + Long.toHexString(fingerprint), SERDES_ERROR);
+        }
+
+        return serdes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Long, BObject> getRegisteredSerDes(BObject registry) {
+        return (Map<Long, BObject>) registry.getNativeData(REGISTERED_SERDES);
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Process-wide metrics of serialization, deserialization and schema generation, recorded per data type when they are
+ * enabled. The metrics of each data type are also registered as a {@link DataTypeMetricsMXBean}.
+ *
+ * Metrics are disabled by default, in which case recording them costs a read of a volatile flag per operation.
+ */
+public final class SerdesMetrics {
+
+    static final String OBJECT_NAME_PREFIX = "io.ballerina.stdlib.serdes:type=DataTypeMetrics,name=";
+
+    static final String DATA_TYPE_METRICS = "DataTypeMetrics";
+    static final String OPERATION_METRICS = "OperationMetrics";
+    static final String DISTRIBUTION = "Distribution";
+    static final String DATA_TYPE = "dataType";
+    static final String SERIALIZATION = "serialization";
+    static final String DESERIALIZATION = "deserialization";
+    static final String SCHEMA_GENERATION = "schemaGeneration";
+    static final String SCHEMA_CACHE_HITS = "schemaCacheHits";
+    static final String COUNT = "count";
+    static final String ERROR_COUNT = "errorCount";
+    static final String LATENCY = "latency";
+    static final String SIZE = "size";
+    static final String SUM = "sum";
+    static final String MAX = "max";
+    static final String MEAN = "mean";
+    static final String P50 = "p50";
+    static final String P90 = "p90";
+    static final String P99 = "p99";
+
+    private static final ConcurrentHashMap<String, DataTypeMetrics> metrics = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled = false;
+
+    private SerdesMetrics() {}
+
+    /**
+     * Enables or disables recording metrics. The metrics recorded so far are kept when they are disabled.
+     *
+     * @param enable Whether metrics are recorded.
+     */
+    public static void enableMetrics(boolean enable) {
+        enabled = enable;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the metrics recorded for a data type.
+     *
+     * @param dataType Name of the data type, as reported by {@link DataTypeMetrics#getDataType()}.
+     * @return Metrics of the data type, or null if none are recorded for it.
+     */
+    public static DataTypeMetrics getDataTypeMetrics(String dataType) {
+        return metrics.get(dataType);
+    }
+
+    /**
+     * Discards the metrics recorded so far and unregisters their MXBeans.
+     */
+    public static void resetMetrics() {
+        for (String dataType : new ArrayList<>(metrics.keySet())) {
+            if (metrics.remove(dataType) != null) {
+                unregisterMXBean(dataType);
+            }
+        }
+    }
+
+    /**
+     * Runs a serialization, recording its latency and the size of the serialized value when metrics are enabled.
+     *
+     * @param schema Schema of the data type of the serialized value.
+     * @param serialization Serialization that returns the byte array of the serialized value, the number of bytes
+     *                      written, or {@code BError}.
+     * @return Result of the serialization.
+     */
+    static Object measureSerialization(CompiledSchema schema, Supplier<Object> serialization) {
+        if (!enabled) {
+            return serialization.get();
+        }
+
+        long startTime = System.nanoTime();
+        Object result = serialization.get();
+        long latency = System.nanoTime() - startTime;
+
+        long size = -1;
+        if (result instanceof BArray) {
+            size = ((BArray) result).size();
+        } else if (result instanceof Long) {
+            size = (Long) result;
+        }
+        getOrCreate(schema.getDataTypeName()).getSerialization().record(latency, size, result instanceof BError);
+        return result;
+    }
+
+    /**
+     * Runs a deserialization, recording its latency and the size of the encoded value when metrics are enabled.
+     *
+     * @param schema Schema of the data type of the encoded value.
+     * @param size Number of bytes of the encoded value.
+     * @param deserialization Deserialization that returns the deserialized value or {@code BError}.
+     * @return Result of the deserialization.
+     */
+    static Object measureDeserialization(CompiledSchema schema, long size, Supplier<Object> deserialization) {
+        if (!enabled) {
+            return deserialization.get();
+        }
+
+        long startTime = System.nanoTime();
+        Object result = deserialization.get();
+        getOrCreate(schema.getDataTypeName()).getDeserialization().record(System.nanoTime() - startTime, size,
+                result instanceof BError);
+        return result;
+    }
+
+    /**
+     * Runs the generation of the schema of a data type that is not in the schema cache, recording its latency when
+     * metrics are enabled.
+     *
+     * @param type Data type of which the schema is generated.
+     * @param schemaGeneration Schema generation, which throws {@code BError} if it fails.
+     * @return Generated schema.
+     */
+    static CompiledSchema measureSchemaGeneration(Type type, Supplier<CompiledSchema> schemaGeneration) {
+        if (!enabled) {
+            return schemaGeneration.get();
+        }
+
+        long startTime = System.nanoTime();
+        boolean failed = true;
+        try {
+            CompiledSchema schema = schemaGeneration.get();
+            failed = false;
+            return schema;
+        } finally {
+            getOrCreate(SchemaCache.getCacheKey(type)).getSchemaGeneration().record(System.nanoTime() - startTime, -1,
+                    failed);
+        }
+    }
+
+    /**
+     * Records that the schema of a data type was found in the schema cache, when metrics are enabled.
+     */
+    static void recordSchemaCacheHit(Type type) {
+        if (enabled) {
+            getOrCreate(SchemaCache.getCacheKey(type)).recordSchemaCacheHit();
+        }
+    }
+
+    private static DataTypeMetrics getOrCreate(String dataType) {
+        DataTypeMetrics dataTypeMetrics = metrics.get(dataType);
+        if (dataTypeMetrics != null) {
+            return dataTypeMetrics;
+        }
+
+        DataTypeMetrics newMetrics = new DataTypeMetrics(dataType);
+        dataTypeMetrics = metrics.putIfAbsent(dataType, newMetrics);
+        if (dataTypeMetrics != null) {
+            return dataTypeMetrics;
+        }
+
+        registerMXBean(newMetrics);
+        return newMetrics;
+    }
+
+    // Metrics are still recorded and returned by getMetrics if they cannot be registered with the platform MBean server
+    private static void registerMXBean(DataTypeMetrics dataTypeMetrics) {
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = getObjectName(dataTypeMetrics.getDataType());
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+            mBeanServer.registerMBean(dataTypeMetrics, objectName);
+        } catch (JMException | SecurityException e) {
+            // The metrics of the data type are not available through JMX
+        }
+    }
+
+    private static void unregisterMXBean(String dataType) {
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = getObjectName(dataType);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (JMException | SecurityException e) {
+            // The MXBean was not registered, or is already unregistered
+        }
+    }
+
+    private static ObjectName getObjectName(String dataType) throws JMException {
+        return new ObjectName(OBJECT_NAME_PREFIX + ObjectName.quote(dataType));
+    }
+
+    /**
+     * Creates an array of {@code DataTypeMetrics} records with the metrics recorded for each data type.
+     *
+     * @return Array of {@code DataTypeMetrics} records.
+     */
+    public static BArray getMetrics() {
+        List<BMap<BString, Object>> records = new ArrayList<>();
+        for (DataTypeMetrics dataTypeMetrics : metrics.values()) {
+            Map<String, Object> fields = new HashMap<>();
+            fields.put(DATA_TYPE, StringUtils.fromString(dataTypeMetrics.getDataType()));
+            fields.put(SERIALIZATION, toRecord(dataTypeMetrics.getSerialization()));
+            fields.put(DESERIALIZATION, toRecord(dataTypeMetrics.getDeserialization()));
+            fields.put(SCHEMA_GENERATION, toRecord(dataTypeMetrics.getSchemaGeneration()));
+            fields.put(SCHEMA_CACHE_HITS, dataTypeMetrics.getSchemaCacheHits());
+
+            records.add(ValueCreator.createRecordValue(Utils.getModule(), DATA_TYPE_METRICS, fields));
+        }
+
+        Type recordType = ValueCreator.createRecordValue(Utils.getModule(), DATA_TYPE_METRICS).getType();
+        return ValueCreator.createArrayValue(records.toArray(), TypeCreator.createArrayType(recordType));
+    }
+
+    private static BMap<BString, Object> toRecord(OperationMetrics operationMetrics) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put(COUNT, operationMetrics.getCount());
+        fields.put(ERROR_COUNT, operationMetrics.getErrorCount());
+        fields.put(LATENCY, toRecord(operationMetrics.getLatencyNanos()));
+        fields.put(SIZE, toRecord(operationMetrics.getSizeBytes()));
+
+        return ValueCreator.createRecordValue(Utils.getModule(), OPERATION_METRICS, fields);
+    }
+
+    private static BMap<BString, Object> toRecord(Histogram histogram) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put(COUNT, histogram.getCount());
+        fields.put(SUM, histogram.getSum());
+        fields.put(MAX, histogram.getMax());
+        fields.put(MEAN, histogram.getMean());
+        fields.put(P50, histogram.getP50());
+        fields.put(P90, histogram.getP90());
+        fields.put(P99, histogram.getP99());
+
+        return ValueCreator.createRecordValue(Utils.getModule(), DISTRIBUTION, fields);
+    }
+}
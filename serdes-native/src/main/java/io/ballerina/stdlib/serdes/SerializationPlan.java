@@ -0,0 +1,433 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.TableType;
+import io.ballerina.runtime.api.types.TupleType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.UnionType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.ballerina.stdlib.serdes.Constants.SERDES_ERROR;
+import static io.ballerina.stdlib.serdes.SchemaGenerator.ARRAY_FIELD_NAME;
+import static io.ballerina.stdlib.serdes.SchemaGenerator.ATOMIC_FIELD_NAME;
+import static io.ballerina.stdlib.serdes.SchemaGenerator.MAP_FIELD_NAME;
+import static io.ballerina.stdlib.serdes.SchemaGenerator.TABLE_FIELD_NAME;
+import static io.ballerina.stdlib.serdes.SchemaGenerator.UNSUPPORTED_DATA_TYPE;
+import static io.ballerina.stdlib.serdes.Utils.createSerdesError;
+
+/**
+ * Compiles the writers used to serialize values of a data type against the schema generated for it.
+ *
+ * Field descriptors are resolved once here by walking the Ballerina type and the schema side by side. A record
+ * field, a union member or a tuple member at position n is always generated as the field numbered n + 1. Each record
+ * message is compiled once, so the writers of a recursive record type refer to each other instead of being unrolled.
+ *
+ * The parallel plan differs only in the writers of arrays encoded as repeated or packed fields, which encode large
+ * arrays in chunks with the {@link ParallelEncoder} encoding the value.
+ *
+ * A plan compiled against a loaded schema also checks each field as it is bound: its number, type and label, and the
+ * name of a record field, must be those generated for the value it holds, so that a schema exported for another data
+ * type is rejected without generating the schema of the data type.
+ */
+public class SerializationPlan {
+
+    // Writers of the record messages compiled so far, which are shared by every field of a record type
+    private final Map<Descriptor, MessageWriter> recordWriters = new HashMap<>();
+
+    private final boolean parallel;
+    // Data type of a loaded schema, whose fields are checked as they are bound, or null for a generated schema
+    private final Type loadedType;
+
+    private SerializationPlan(boolean parallel, Type loadedType) {
+        this.parallel = parallel;
+        this.loadedType = loadedType;
+    }
+
+    static MessageWriter compile(Type type, Descriptor schema) {
+        return new SerializationPlan(false, null).compileMessage(type, schema);
+    }
+
+    /**
+     * Compiles the writer used by {@link ParallelEncoder} to serialize values of a data type.
+     */
+    static MessageWriter compileParallel(Type type, Descriptor schema) {
+        return new SerializationPlan(true, null).compileMessage(type, schema);
+    }
+
+    /**
+     * Compiles the writer used to serialize values of a data type against a schema loaded for it, checking that each
+     * field of the schema is the one generated for the value it holds.
+     *
+     * @throws io.ballerina.runtime.api.values.BError {@code SchemaMismatchError} if the schema is not the one
+     *         generated for the data type.
+     */
+    static MessageWriter compileLoaded(Type type, Descriptor schema) {
+        String messageName = SchemaGenerator.getMessageName(type);
+        if (!schema.getName().equals(messageName)) {
+            throw SchemaGenerator.createSchemaMismatchError(type, "expected message " + messageName + ", found "
+                    + schema.getName());
+        }
+
+        return new SerializationPlan(false, type).compileMessage(type, schema);
+    }
+
+    private MessageWriter compileMessage(Type type, Descriptor schema) {
+        if (type.getTag() <= TypeTags.BOOLEAN_TAG) {
+            FieldDescriptor field = bindSingleField(schema, ATOMIC_FIELD_NAME, type);
+
+            return new SingleFieldMessageWriter(new PrimitiveFieldWriter(field));
+        } else if (type.getTag() == TypeTags.UNION_TAG) {
+            FieldDescriptor field = bindSingleField(schema, ATOMIC_FIELD_NAME, type);
+            MessageWriter unionWriter = compileUnion((UnionType) type, field.getMessageType());
+
+            return new SingleFieldMessageWriter(new MessageFieldWriter(field, unionWriter));
+        } else if (type.getTag() == TypeTags.ARRAY_TAG) {
+            FieldDescriptor field = bindSingleField(schema, ARRAY_FIELD_NAME, type);
+
+            return new SingleFieldMessageWriter(compileArrayField((ArrayType) type, field));
+        } else if (type.getTag() == TypeTags.RECORD_TYPE_TAG) {
+            return compileRecord((RecordType) type, schema);
+        } else if (type.getTag() == TypeTags.MAP_TAG) {
+            FieldDescriptor field = bindSingleField(schema, MAP_FIELD_NAME, type);
+
+            return new SingleFieldMessageWriter(compileMapField((MapType) type, field));
+        } else if (type.getTag() == TypeTags.TABLE_TAG) {
+            FieldDescriptor field = bindSingleField(schema, TABLE_FIELD_NAME, type);
+
+            return new SingleFieldMessageWriter(compileTableField((TableType) type, field));
+        } else if (type.getTag() == TypeTags.TUPLE_TAG) {
+            return compileTuple((TupleType) type, schema);
+        } else if (type.getTag() == TypeTags.JSON_TAG) {
+            FieldDescriptor field = bindSingleField(schema, ATOMIC_FIELD_NAME, type);
+
+            return new SingleFieldMessageWriter(new MessageFieldWriter(field, new JsonMessageWriter()));
+        } else {
+            throw createSerdesError(UNSUPPORTED_DATA_TYPE + type.getName(), SERDES_ERROR);
+        }
+    }
+
+    private MessageWriter compileRecord(RecordType recordType, Descriptor schema) {
+        MessageWriter recordWriter = recordWriters.get(schema);
+        if (recordWriter != null) {
+            return recordWriter;
+        }
+
+        Map<String, Field> fields = recordType.getFields();
+
+        BString[] fieldNames = new BString[fields.size()];
+        FieldWriter[] fieldWriters = new FieldWriter[fields.size()];
+        boolean[] nilableFields = new boolean[fields.size()];
+
+        // The writer is registered before its fields are compiled, as they may refer to the record type itself
+        recordWriter = new RecordMessageWriter(SchemaCache.getCacheKey(recordType), fieldNames, fieldWriters,
+                nilableFields);
+        recordWriters.put(schema, recordWriter);
+
+        checkFieldCount(schema, fields.size());
+        int index = 0;
+        for (Field field : fields.values()) {
+            Type fieldType = field.getFieldType();
+            FieldDescriptor fieldDescriptor = bindField(schema, index + 1);
+            if (loadedType != null && !fieldDescriptor.getName().equals(field.getFieldName())) {
+                throw createSchemaMismatchError("expected field " + field.getFieldName() + ", found "
+                        + fieldDescriptor.getFullName());
+            }
+
+            fieldNames[index] = StringUtils.fromString(field.getFieldName());
+            fieldWriters[index] = compileField(fieldType, fieldDescriptor);
+            nilableFields[index] = isNilable(fieldType);
+            index++;
+        }
+
+        return recordWriter;
+    }
+
+    private MessageWriter compileTuple(TupleType tupleType, Descriptor schema) {
+        List<Type> members = tupleType.getTupleTypes();
+
+        FieldWriter[] memberWriters = new FieldWriter[members.size()];
+        boolean[] nilableMembers = new boolean[members.size()];
+        Type restType = tupleType.getRestType();
+
+        checkFieldCount(schema, restType == null ? members.size() : members.size() + 1);
+        for (int i = 0; i < memberWriters.length; i++) {
+            Type memberType = members.get(i);
+
+            memberWriters[i] = compileField(memberType, bindField(schema, i + 1));
+            nilableMembers[i] = isNilable(memberType);
+        }
+
+        // Members of the rest type are written one by one, as occurrences of the field numbered after the others
+        FieldWriter restWriter = restType == null ? null
+                : compileField(restType, bindField(schema, members.size() + 1), true);
+
+        return new TupleMessageWriter(memberWriters, nilableMembers, restWriter,
+                restType != null && isNilable(restType), SchemaCache.getCacheKey(tupleType));
+    }
+
+    private MessageWriter compileUnion(UnionType unionType, Descriptor schema) {
+        List<Type> members = unionType.getMemberTypes();
+
+        Type[] memberTypes = new Type[members.size()];
+        FieldWriter[] memberWriters = new FieldWriter[members.size()];
+
+        checkFieldCount(schema, members.size());
+        for (int i = 0; i < memberTypes.length; i++) {
+            Type memberType = members.get(i);
+            FieldDescriptor fieldDescriptor = bindField(schema, i + 1);
+
+            memberTypes[i] = memberType;
+            if (memberType.getTag() == TypeTags.NULL_TAG) {
+                // Nil is written as a boolean field
+                checkField(fieldDescriptor, FieldDescriptor.Type.BOOL, false, false);
+                memberWriters[i] = new NilFieldWriter(fieldDescriptor);
+            } else {
+                memberWriters[i] = compileField(memberType, fieldDescriptor);
+            }
+        }
+
+        return new UnionMessageWriter(memberTypes, memberWriters, SchemaCache.getCacheKey(unionType));
+    }
+
+    private FieldWriter compileField(Type type, FieldDescriptor fieldDescriptor) {
+        return compileField(type, fieldDescriptor, false);
+    }
+
+    // Repeated fields other than those of arrays, maps and tables hold the members of the rest type of a tuple
+    private FieldWriter compileField(Type type, FieldDescriptor fieldDescriptor, boolean repeated) {
+        checkField(fieldDescriptor, type, repeated);
+
+        if (type.getTag() <= TypeTags.BOOLEAN_TAG) {
+            return new PrimitiveFieldWriter(fieldDescriptor);
+        } else if (type.getTag() == TypeTags.UNION_TAG) {
+            MessageWriter unionWriter = compileUnion((UnionType) type, fieldDescriptor.getMessageType());
+
+            return new MessageFieldWriter(fieldDescriptor, unionWriter);
+        } else if (type.getTag() == TypeTags.RECORD_TYPE_TAG) {
+            MessageWriter recordWriter = compileRecord((RecordType) type, fieldDescriptor.getMessageType());
+
+            return new MessageFieldWriter(fieldDescriptor, recordWriter);
+        } else if (type.getTag() == TypeTags.ARRAY_TAG) {
+            return compileArrayField((ArrayType) type, fieldDescriptor);
+        } else if (type.getTag() == TypeTags.MAP_TAG) {
+            return compileMapField((MapType) type, fieldDescriptor);
+        } else if (type.getTag() == TypeTags.TABLE_TAG) {
+            return compileTableField((TableType) type, fieldDescriptor);
+        } else if (type.getTag() == TypeTags.TUPLE_TAG) {
+            MessageWriter tupleWriter = compileTuple((TupleType) type, fieldDescriptor.getMessageType());
+
+            return new MessageFieldWriter(fieldDescriptor, tupleWriter);
+        } else if (type.getTag() == TypeTags.JSON_TAG) {
+            return new MessageFieldWriter(fieldDescriptor, new JsonMessageWriter());
+        } else {
+            throw createSerdesError(UNSUPPORTED_DATA_TYPE + type.getName(), SERDES_ERROR);
+        }
+    }
+
+    private FieldWriter compileMapField(MapType mapType, FieldDescriptor fieldDescriptor) {
+        Type valueType = mapType.getConstrainedType();
+        Descriptor entrySchema = fieldDescriptor.getMessageType();
+        checkFieldCount(entrySchema, 2);
+        checkField(bindField(entrySchema, MapFieldWriter.KEY_FIELD_NUMBER), FieldDescriptor.Type.STRING, false,
+                false);
+        FieldDescriptor valueField = bindField(entrySchema, MapFieldWriter.VALUE_FIELD_NUMBER);
+
+        return new MapFieldWriter(fieldDescriptor, compileField(valueType, valueField), isNilable(valueType),
+                SchemaCache.getCacheKey(mapType));
+    }
+
+    private FieldWriter compileTableField(TableType tableType, FieldDescriptor fieldDescriptor) {
+        MessageWriter rowWriter = compileRecord((RecordType) tableType.getConstrainedType(),
+                fieldDescriptor.getMessageType());
+
+        return new TableFieldWriter(fieldDescriptor, rowWriter, SchemaCache.getCacheKey(tableType));
+    }
+
+    // Nil is written only for values of union and json types, as other types do not include it
+    private static boolean isNilable(Type type) {
+        return type.getTag() == TypeTags.UNION_TAG || type.getTag() == TypeTags.JSON_TAG;
+    }
+
+    private FieldWriter compileArrayField(ArrayType arrayType, FieldDescriptor fieldDescriptor) {
+        Type elementType = arrayType.getElementType();
+        String arrayTypeName = SchemaCache.getCacheKey(arrayType);
+
+        if (elementType.getTag() == TypeTags.BYTE_TAG) {
+            return new BytesFieldWriter(fieldDescriptor);
+        } else if (fieldDescriptor.isPacked()) {
+            PackedPrimitiveFieldWriter packedWriter = new PackedPrimitiveFieldWriter(fieldDescriptor,
+                    elementType.getTag(), arrayTypeName);
+
+            return parallel ? new ParallelArrayFieldWriter(packedWriter) : packedWriter;
+        } else if (elementType.getTag() <= TypeTags.BOOLEAN_TAG) {
+            RepeatedPrimitiveFieldWriter repeatedWriter = new RepeatedPrimitiveFieldWriter(fieldDescriptor,
+                    arrayTypeName);
+
+            return parallel ? new ParallelArrayFieldWriter(repeatedWriter) : repeatedWriter;
+        } else if (elementType.getTag() == TypeTags.UNION_TAG) {
+            MessageWriter unionWriter = compileUnion((UnionType) elementType, fieldDescriptor.getMessageType());
+
+            return compileRepeatedMessageField(fieldDescriptor, unionWriter, arrayTypeName);
+        } else if (elementType.getTag() == TypeTags.RECORD_TYPE_TAG) {
+            MessageWriter recordWriter = compileRecord((RecordType) elementType, fieldDescriptor.getMessageType());
+
+            return compileRepeatedMessageField(fieldDescriptor, recordWriter, arrayTypeName);
+        } else if (elementType.getTag() == TypeTags.ARRAY_TAG) {
+            // Nested arrays are wrapped in a message that holds the inner array in its only field
+            Descriptor nestedSchema = fieldDescriptor.getMessageType();
+            FieldDescriptor nestedField = bindOnlyField(nestedSchema);
+            checkField(nestedField, elementType, false);
+            FieldWriter nestedArrayWriter = compileArrayField((ArrayType) elementType, nestedField);
+
+            return compileRepeatedMessageField(fieldDescriptor, new SingleFieldMessageWriter(nestedArrayWriter),
+                    arrayTypeName);
+        } else if (elementType.getTag() == TypeTags.MAP_TAG || elementType.getTag() == TypeTags.TABLE_TAG) {
+            // Maps and tables are wrapped the same way as nested arrays
+            FieldDescriptor nestedField = bindOnlyField(fieldDescriptor.getMessageType());
+
+            return compileRepeatedMessageField(fieldDescriptor,
+                    new SingleFieldMessageWriter(compileField(elementType, nestedField)), arrayTypeName);
+        } else if (elementType.getTag() == TypeTags.TUPLE_TAG) {
+            MessageWriter tupleWriter = compileTuple((TupleType) elementType, fieldDescriptor.getMessageType());
+
+            return compileRepeatedMessageField(fieldDescriptor, tupleWriter, arrayTypeName);
+        } else if (elementType.getTag() == TypeTags.JSON_TAG) {
+            return compileRepeatedMessageField(fieldDescriptor, new JsonMessageWriter(), arrayTypeName);
+        } else {
+            throw createSerdesError(UNSUPPORTED_DATA_TYPE + elementType.getName(), SERDES_ERROR);
+        }
+    }
+
+    private FieldWriter compileRepeatedMessageField(FieldDescriptor fieldDescriptor, MessageWriter elementWriter,
+                                                    String arrayTypeName) {
+        RepeatedMessageFieldWriter repeatedWriter = new RepeatedMessageFieldWriter(fieldDescriptor, elementWriter,
+                arrayTypeName);
+
+        return parallel ? new ParallelArrayFieldWriter(repeatedWriter) : repeatedWriter;
+    }
+
+    // Binds the only field of a message holding a single value, such as the schema of a primitive or an array
+    private FieldDescriptor bindSingleField(Descriptor schema, String fieldName, Type type) {
+        checkFieldCount(schema, 1);
+        FieldDescriptor fieldDescriptor = schema.findFieldByName(fieldName);
+        if (loadedType != null && fieldDescriptor == null) {
+            throw createSchemaMismatchError("expected field " + fieldName + " in message " + schema.getFullName());
+        }
+
+        checkField(fieldDescriptor, type, false);
+        return fieldDescriptor;
+    }
+
+    private FieldDescriptor bindOnlyField(Descriptor schema) {
+        checkFieldCount(schema, 1);
+        return schema.getFields().get(0);
+    }
+
+    private FieldDescriptor bindField(Descriptor schema, int fieldNumber) {
+        FieldDescriptor fieldDescriptor = schema.findFieldByNumber(fieldNumber);
+        if (loadedType != null && fieldDescriptor == null) {
+            throw createSchemaMismatchError("expected field " + fieldNumber + " in message " + schema.getFullName());
+        }
+        return fieldDescriptor;
+    }
+
+    private void checkFieldCount(Descriptor schema, int fieldCount) {
+        if (loadedType != null && schema.getFields().size() != fieldCount) {
+            throw createSchemaMismatchError("expected " + fieldCount + " fields in message " + schema.getFullName()
+                    + ", found " + schema.getFields().size());
+        }
+    }
+
+    // Checks the field generated for a value of the given type: arrays of bytes are bytes fields, arrays of ints,
+    // floats and booleans are packed fields, and other arrays, maps and tables are repeated fields of their elements
+    private void checkField(FieldDescriptor fieldDescriptor, Type type, boolean repeated) {
+        if (loadedType == null) {
+            return;
+        }
+
+        Type valueType = type;
+        boolean repeatedField = repeated;
+        boolean packed = false;
+        if (type.getTag() == TypeTags.ARRAY_TAG) {
+            valueType = ((ArrayType) type).getElementType();
+            int elementTag = valueType.getTag();
+            repeatedField = elementTag != TypeTags.BYTE_TAG;
+            packed = elementTag == TypeTags.INT_TAG || elementTag == TypeTags.FLOAT_TAG
+                    || elementTag == TypeTags.BOOLEAN_TAG;
+        } else if (type.getTag() == TypeTags.MAP_TAG || type.getTag() == TypeTags.TABLE_TAG) {
+            repeatedField = true;
+        }
+        checkField(fieldDescriptor, getFieldType(valueType), repeatedField, packed);
+
+        String messageName = null;
+        if (valueType.getTag() == TypeTags.DECIMAL_TAG) {
+            messageName = DecimalMessage.DECIMAL_MESSAGE_NAME;
+        } else if (valueType.getTag() == TypeTags.JSON_TAG) {
+            messageName = JsonMessage.JSON_MESSAGE_NAME;
+        }
+        if (messageName != null && !fieldDescriptor.getMessageType().getName().equals(messageName)) {
+            throw createSchemaMismatchError("field " + fieldDescriptor.getFullName() + " does not match");
+        }
+    }
+
+    private void checkField(FieldDescriptor fieldDescriptor, FieldDescriptor.Type fieldType, boolean repeated,
+                            boolean packed) {
+        if (loadedType != null && (fieldDescriptor.getType() != fieldType || fieldDescriptor.isRepeated() != repeated
+                || fieldDescriptor.isPacked() != packed)) {
+            throw createSchemaMismatchError("field " + fieldDescriptor.getFullName() + " does not match");
+        }
+    }
+
+    // Protobuf type of the field holding a single value of a type, other than an array, map or table
+    private static FieldDescriptor.Type getFieldType(Type type) {
+        switch (type.getTag()) {
+            case TypeTags.INT_TAG:
+                return FieldDescriptor.Type.SINT64;
+            case TypeTags.BYTE_TAG:
+                return FieldDescriptor.Type.BYTES;
+            case TypeTags.FLOAT_TAG:
+                return FieldDescriptor.Type.DOUBLE;
+            case TypeTags.STRING_TAG:
+                return FieldDescriptor.Type.STRING;
+            case TypeTags.BOOLEAN_TAG:
+                return FieldDescriptor.Type.BOOL;
+            default:
+                // Decimals and the values of other types are encoded as messages
+                return FieldDescriptor.Type.MESSAGE;
+        }
+    }
+
+    private BError createSchemaMismatchError(String mismatch) {
+        return SchemaGenerator.createSchemaMismatchError(loadedType, mismatch);
+    }
+}
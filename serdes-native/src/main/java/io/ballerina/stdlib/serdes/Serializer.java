@@ -18,24 +18,21 @@
 
 package io.ballerina.stdlib.serdes;
 
-import com.google.protobuf.Descriptors.Descriptor;
-import com.google.protobuf.Descriptors.FieldDescriptor;
-import com.google.protobuf.DynamicMessage;
-import io.ballerina.runtime.api.TypeTags;
+import com.google.protobuf.CodedOutputStream;
 import io.ballerina.runtime.api.creators.ValueCreator;
-import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BError;
-import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
-import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTypedesc;
 
-import java.util.Locale;
-import java.util.Map;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import static io.ballerina.stdlib.serdes.Constants.SERDES_ERROR;
 import static io.ballerina.stdlib.serdes.Utils.createSerdesError;
+import static io.ballerina.stdlib.serdes.Utils.toParallelThreshold;
 
 /**
  * Serializer class to create a byte array for a value.
@@ -44,24 +41,11 @@ public class Serializer {
 
     static final String SCHEMA_NAME = "schema";
 
-    static final String ATOMIC_FIELD_NAME = "atomicField";
-    static final String ARRAY_FIELD_NAME = "arrayfield";
-    static final String UNION_FIELD_NAME = "UnionField";
-    static final String NULL_FIELD_NAME = "nullField";
-
-    static final String NESTED_UNION_FIELD_NAME = "unionelement";
-    static final String UNION_TYPE_IDENTIFIER = "ballerinauniontype";
-    static final String UNION_FIELD_SEPARATOR = "__";
-
-    static final String STRING = "string";
-    static final String FLOAT = "float";
-    static final String DOUBLE = "double";
-    static final String ARRAY = "ArrayValueImpl";
-    static final String MESSAGE = "message";
-
-    static final String UNSUPPORTED_DATA_TYPE = "Unsupported data type: ";
     static final String SERIALIZATION_ERROR_MESSAGE = "Failed to Serialize data: ";
     static final String TYPE_MISMATCH_ERROR_MESSAGE = "Type mismatch";
+    static final String OFFSET_OUT_OF_BOUNDS_ERROR_MESSAGE = "Offset is out of the bounds of the destination: ";
+    static final String DESTINATION_TOO_SMALL_ERROR_MESSAGE = "Destination is too small, bytes needed: ";
+    static final String READONLY_DESTINATION_ERROR_MESSAGE = "Destination is read-only";
 
     /**
      * Creates a BArray for given data after serializing.
@@ -71,255 +55,340 @@ public class Serializer {
      * @return Byte array of the serialized value.
      */
     public static Object serialize(BObject serializer, Object message, BTypedesc dataType) {
-        Descriptor schema = (Descriptor) serializer.getNativeData(SCHEMA_NAME);
-
-        DynamicMessage dynamicMessage;
-        try {
-            dynamicMessage = generateDynamicMessage(message, schema, dataType);
-        } catch (BError e) {
-            return e;
-        } catch (IllegalArgumentException e) {
-            return createSerdesError(SERIALIZATION_ERROR_MESSAGE + TYPE_MISMATCH_ERROR_MESSAGE, SERDES_ERROR);
-        }
-
-        return ValueCreator.createArrayValue(dynamicMessage.toByteArray());
+        CompiledSchema schema = (CompiledSchema) serializer.getNativeData(SCHEMA_NAME);
+        return SerdesMetrics.measureSerialization(schema, () -> encode(schema, message));
     }
 
-    private static DynamicMessage generateDynamicMessage(Object dataObject, Descriptor schema, BTypedesc bTypedesc) {
-        Type type = bTypedesc.getDescribingType();
-
-        if (type.getTag() <= TypeTags.BOOLEAN_TAG) {
-            DynamicMessage.Builder newMessageFromSchema = DynamicMessage.newBuilder(schema);
-            Descriptor messageDescriptor = newMessageFromSchema.getDescriptorForType();
-
-            FieldDescriptor field = messageDescriptor.findFieldByName(ATOMIC_FIELD_NAME);
-
-            generateDynamicMessageForPrimitive(newMessageFromSchema, field, dataObject);
-
-            return  newMessageFromSchema.build();
-        } else if (type.getTag() == TypeTags.UNION_TAG) {
-            DynamicMessage.Builder newMessageFromSchema = DynamicMessage.newBuilder(schema);
-            Descriptor messageDescriptor = newMessageFromSchema.getDescriptorForType();
+    /**
+     * Creates a BArray for given data after serializing it with the given schema.
+     *
+     * @param schema Schema of the data type of the value.
+     * @param message Data that is being serialized.
+     * @return Byte array of the serialized value.
+     */
+    public static Object encode(CompiledSchema schema, Object message) {
+        return encode(schema, message, false);
+    }
 
-            Descriptor unionSchema = schema.findNestedTypeByName(UNION_FIELD_NAME);
-            DynamicMessage nestedMessage = generateDynamicMessageForUnion(dataObject, unionSchema, UNION_FIELD_NAME);
+    /**
+     * Creates a BArray for given data after serializing, in which the encoded value is preceded by the fingerprint
+     * of its schema as a little-endian fixed64.
+     *
+     * @param serializer  Serializer object.
+     * @param message Data that is being serialized.
+     * @return Byte array of the schema fingerprint and the serialized value.
+     */
+    public static Object serializeWithFingerprint(BObject serializer, Object message, BTypedesc dataType) {
+        CompiledSchema schema = (CompiledSchema) serializer.getNativeData(SCHEMA_NAME);
+        return SerdesMetrics.measureSerialization(schema, () -> encode(schema, message, true));
+    }
 
-            FieldDescriptor field = messageDescriptor.findFieldByName(ATOMIC_FIELD_NAME);
+    private static Object encode(CompiledSchema schema, Object message, boolean withFingerprint) {
+        MessageWriter messageWriter = schema.getMessageWriter();
+        SizeCache sizeCache = EncoderBuffers.get().getSizeCache();
+        int headerSize = withFingerprint ? CompiledSchema.FINGERPRINT_SIZE : 0;
 
-            newMessageFromSchema.setField(field, nestedMessage);
+        byte[] encodedMessage;
+        try {
+            encodedMessage = new byte[headerSize + messageWriter.computeSize(message, sizeCache)];
 
-            return newMessageFromSchema.build();
-        } else if (type.getTag() == TypeTags.ARRAY_TAG) {
-            DynamicMessage.Builder newMessageFromSchema = DynamicMessage.newBuilder(schema);
-            Descriptor messageDescriptor = newMessageFromSchema.getDescriptorForType();
+            CodedOutputStream output = CodedOutputStream.newInstance(encodedMessage);
+            if (withFingerprint) {
+                output.writeFixed64NoTag(schema.getFingerprint());
+            }
+            messageWriter.write(output, message, sizeCache);
+            output.checkNoSpaceLeft();
+        } catch (BError e) {
+            return e;
+        } catch (TypeMismatchException e) {
+            return schema.getTypeMismatchError(e);
+        } catch (IOException e) {
+            return createSerdesError(SERIALIZATION_ERROR_MESSAGE + e.getMessage(), SERDES_ERROR);
+        }
 
-            FieldDescriptor field = messageDescriptor.findFieldByName(ARRAY_FIELD_NAME);
-            generateDynamicMessageForArray(newMessageFromSchema, schema, field, dataObject, 1);
+        return ValueCreator.createArrayValue(encodedMessage);
+    }
 
-            return  newMessageFromSchema.build();
-        } else if (type.getTag() == TypeTags.RECORD_TYPE_TAG) {
-            return generateDynamicMessageForRecord((BMap<BString, Object>) dataObject, schema);
-        } else {
-            throw createSerdesError(UNSUPPORTED_DATA_TYPE + type.getName(), SERDES_ERROR);
-        }
+    /**
+     * Creates a BArray for given data after serializing, encoding large arrays of records and primitive values in
+     * chunks in parallel on the common {@code ForkJoinPool}. The serialized value is the same as the one created by
+     * {@link #serialize}.
+     *
+     * @param serializer  Serializer object.
+     * @param message Data that is being serialized.
+     * @param parallelThreshold Minimum number of elements of an array for it to be encoded in parallel.
+     * @return Byte array of the serialized value.
+     */
+    public static Object serializeParallel(BObject serializer, Object message, long parallelThreshold,
+                                           BTypedesc dataType) {
+        CompiledSchema schema = (CompiledSchema) serializer.getNativeData(SCHEMA_NAME);
+        return SerdesMetrics.measureSerialization(schema, () -> encodeParallel(schema, message,
+                toParallelThreshold(parallelThreshold), ForkJoinPool.commonPool()));
     }
 
-    private static void generateDynamicMessageForPrimitive(DynamicMessage.Builder messageBuilder,
-                                                           FieldDescriptor field, Object value) {
-        String fieldType = DataTypeMapper.getProtoTypeFromJavaType(value.getClass().getSimpleName());
-
-        switch (fieldType) {
-            case STRING:
-                BString bString = (BString) value;
-                messageBuilder.setField(field, bString.getValue());
-                break;
-            case FLOAT:
-                messageBuilder.setField(field, (Float) value);
-                break;
-            case DOUBLE:
-                messageBuilder.setField(field, (Double) value);
-                break;
-            default:
-                messageBuilder.setField(field, value);
-                break;
+    /**
+     * Creates a BArray for given data after serializing it with the given schema, encoding the arrays that have at
+     * least the given number of elements in chunks in parallel on the given executor. The chunks are encoded into
+     * byte arrays of their exact sizes, which are copied into the serialized value, so it is the same as the one
+     * created by {@link #encode}.
+     *
+     * @param schema Schema of the data type of the value.
+     * @param message Data that is being serialized.
+     * @param parallelThreshold Minimum number of elements of an array for it to be encoded in parallel.
+     * @param executor Executor on which the chunks are encoded.
+     * @return Byte array of the serialized value.
+     */
+    public static Object encodeParallel(CompiledSchema schema, Object message, int parallelThreshold,
+                                        Executor executor) {
+        byte[] encodedMessage;
+        try {
+            encodedMessage = ParallelEncoder.encode(schema.getParallelMessageWriter(), message,
+                    toParallelThreshold(parallelThreshold), executor);
+        } catch (BError e) {
+            return e;
+        } catch (TypeMismatchException e) {
+            return schema.getTypeMismatchError(e);
+        } catch (IOException e) {
+            return createSerdesError(SERIALIZATION_ERROR_MESSAGE + e.getMessage(), SERDES_ERROR);
         }
+
+        return ValueCreator.createArrayValue(encodedMessage);
     }
 
-    private static void generateDynamicMessageForArray(DynamicMessage.Builder messageBuilder, Descriptor schema,
-                                                       FieldDescriptor field, Object value, int unionFieldIdentifier) {
-        BArray bArray = (BArray) value;
+    /**
+     * Serializes given data into a byte array at the given offset, without allocating an array for the encoded
+     * value.
+     *
+     * @param serializer  Serializer object.
+     * @param message Data that is being serialized.
+     * @param destination Byte array into which the serialized value is written.
+     * @param offset Index of the destination at which the serialized value is written.
+     * @return Number of bytes written.
+     */
+    public static Object serializeInto(BObject serializer, Object message, BArray destination, long offset,
+                                       BTypedesc dataType) {
+        CompiledSchema schema = (CompiledSchema) serializer.getNativeData(SCHEMA_NAME);
+        return SerdesMetrics.measureSerialization(schema, () -> encodeInto(schema, message, destination, offset));
+    }
 
-        long len = bArray.size();
-        Type type = bArray.getElementType();
-        String fieldType = field.getType().name().toLowerCase(Locale.ROOT);
+    private static Object encodeInto(CompiledSchema schema, Object message, BArray destination, long offset) {
+        if (destination.isFrozen()) {
+            return createSerdesError(SERIALIZATION_ERROR_MESSAGE + READONLY_DESTINATION_ERROR_MESSAGE, SERDES_ERROR);
+        }
+        if (offset < 0 || offset > destination.size()) {
+            return createSerdesError(SERIALIZATION_ERROR_MESSAGE + OFFSET_OUT_OF_BOUNDS_ERROR_MESSAGE + offset,
+                    SERDES_ERROR);
+        }
 
-        if (type.getTag() == TypeTags.BYTE_TAG) {
-            messageBuilder.setField(field, bArray.getBytes());
-            return;
+        // The storage of the array is written directly, so only the bytes within its size can be used
+        try {
+            return (long) encodeInto(schema, message, destination.getByteArray(), (int) offset,
+                    destination.size() - (int) offset);
+        } catch (BError e) {
+            return e;
         }
+    }
 
-        for (long i = 0; i < len; i++) {
-            Object element = bArray.get(i);
+    /**
+     * Serializes given data with the given schema into a byte array at the given offset.
+     *
+     * @param schema Schema of the data type of the value.
+     * @param message Data that is being serialized.
+     * @param destination Byte array into which the serialized value is written.
+     * @param offset Index of the destination at which the serialized value is written.
+     * @param length Number of bytes of the destination, from the offset, that can be written.
+     * @return Number of bytes written.
+     * @throws BError If the value cannot be serialized or does not fit in the given length.
+     */
+    public static int encodeInto(CompiledSchema schema, Object message, byte[] destination, int offset, int length) {
+        MessageWriter messageWriter = schema.getMessageWriter();
+        SizeCache sizeCache = EncoderBuffers.get().getSizeCache();
 
-            boolean isUnion;
-            try {
-                isUnion = field.getMessageType().getName().toLowerCase(Locale.ROOT).contains(UNION_TYPE_IDENTIFIER);
-            } catch (Exception e) {
-                isUnion = false;
+        try {
+            int size = messageWriter.computeSize(message, sizeCache);
+            if (size > length) {
+                throw createSerdesError(SERIALIZATION_ERROR_MESSAGE + DESTINATION_TOO_SMALL_ERROR_MESSAGE + size,
+                        SERDES_ERROR);
             }
 
+            CodedOutputStream output = CodedOutputStream.newInstance(destination, offset, size);
+            messageWriter.write(output, message, sizeCache);
+            output.checkNoSpaceLeft();
 
-            if (fieldType.equals(MESSAGE) && isUnion) {
-                String nestedTypeName = field.getMessageType().getName();
-                Descriptor elementSchema = field.getContainingType().findNestedTypeByName(nestedTypeName);
-                String fieldName = nestedTypeName.toLowerCase(Locale.ROOT);
-
-                DynamicMessage elementDynamicMessage =
-                        generateDynamicMessageForUnion(element, elementSchema, fieldName);
-
-                messageBuilder.addRepeatedField(field, elementDynamicMessage);
-            } else {
-                if (fieldType.equals(STRING)) {
-                    messageBuilder.addRepeatedField(field, element.toString());
-                } else if (type.getTag() == TypeTags.FLOAT_TAG) {
-                    messageBuilder.addRepeatedField(field, Double.valueOf(element.toString()));
-                } else if (type.getTag() == TypeTags.DECIMAL_TAG) {
-                    messageBuilder.addRepeatedField(field, Double.valueOf(element.toString()));
-                } else if (type.getTag() == TypeTags.ARRAY_TAG) {
-                    BArray nestedArray = (BArray) element;
-
-                    String nestedTypeName;
-                    if (nestedArray.getElementType().getTag() == TypeTags.UNION_TAG) {
-                        nestedTypeName = NESTED_UNION_FIELD_NAME + unionFieldIdentifier;
-//                        unionFieldIdentifier++;
-                    } else if (nestedArray.getElementType().getTag() == TypeTags.ARRAY_TAG) {
-                        nestedTypeName = NESTED_UNION_FIELD_NAME + unionFieldIdentifier;
-                        unionFieldIdentifier++;
-                    } else {
-                        nestedTypeName = nestedArray.getElementType().getName();
-                    }
-                    Descriptor nestedSchema = schema.findNestedTypeByName(nestedTypeName);
-
-                    DynamicMessage.Builder nestedMessage = DynamicMessage.newBuilder(nestedSchema);
-                    Descriptor messageDescriptor = nestedMessage.getDescriptorForType();
-                    FieldDescriptor fieldDescriptor = messageDescriptor.findFieldByName(nestedTypeName);
-
-                    generateDynamicMessageForArray(
-                            nestedMessage,
-                            nestedSchema,
-                            fieldDescriptor,
-                            element,
-                            unionFieldIdentifier
-                    );
-
-                    messageBuilder.addRepeatedField(field, nestedMessage.build());
-                } else if (type.getTag() == TypeTags.RECORD_TYPE_TAG) {
-                    String nestedTypeName = bArray.getElementType().getName();
-                    Descriptor elementSchema = field.getContainingType().findNestedTypeByName(nestedTypeName);
-                    DynamicMessage elementDynamicMessage =
-                            generateDynamicMessageForRecord((BMap<BString, Object>) element, elementSchema);
-
-                    messageBuilder.addRepeatedField(field, elementDynamicMessage);
-                } else {
-                    messageBuilder.addRepeatedField(field, element);
-                }
-            }
+            return size;
+        } catch (TypeMismatchException e) {
+            throw schema.getTypeMismatchError(e);
+        } catch (IOException e) {
+            throw createSerdesError(SERIALIZATION_ERROR_MESSAGE + e.getMessage(), SERDES_ERROR);
         }
     }
 
-    private static DynamicMessage generateDynamicMessageForRecord(BMap<BString, Object> bMap, Descriptor schema) {
-        DynamicMessage.Builder newMessageFromSchema = DynamicMessage.newBuilder(schema);
-        Descriptor messageDescriptor = newMessageFromSchema.getDescriptorForType();
-
-        for (Map.Entry<BString, Object> entry : bMap.entrySet()) {
-            String fieldName = entry.getKey().toString();
-            Object value = entry.getValue();
-
-            String unionType = fieldName + "_" + UNION_TYPE_IDENTIFIER;
-            Descriptor unionDescriptor = messageDescriptor.findNestedTypeByName(unionType);
-
-            if (unionDescriptor != null) {
-                DynamicMessage nestedMessage = generateDynamicMessageForUnion(value, unionDescriptor, unionType);
-                newMessageFromSchema.setField(messageDescriptor.findFieldByName(fieldName), nestedMessage);
-            } else {
-                if (value == null) {
-                    continue;
-                }
-                if (value instanceof BMap) {
-                    BMap<BString, Object> objToBMap = (BMap<BString, Object>) value;
-                    String nestedTypeName = objToBMap.getType().getName();
-                    Descriptor subMessageDescriptor = schema.findNestedTypeByName(nestedTypeName);
-
-
-                    nestedTypeName = entry.getKey().toString();
-                    DynamicMessage nestedMessage = generateDynamicMessageForRecord(objToBMap, subMessageDescriptor);
-                    newMessageFromSchema.setField(messageDescriptor.findFieldByName(nestedTypeName), nestedMessage);
-                } else if (value instanceof BArray) {
-                    FieldDescriptor field = messageDescriptor.findFieldByName(fieldName);
-
-                    generateDynamicMessageForArray(newMessageFromSchema, schema, field, value, 1);
-                } else if (DataTypeMapper.getProtoTypeFromJavaType(value.getClass().getSimpleName()) != null) {
-                    FieldDescriptor field = messageDescriptor.findFieldByName(fieldName);
-
-                    generateDynamicMessageForPrimitive(newMessageFromSchema, field, value);
-                } else {
-                    String dataType = value.getClass().getSimpleName();
-                    throw createSerdesError(UNSUPPORTED_DATA_TYPE + dataType, SERDES_ERROR);
-                }
-            }
+    /**
+     * Computes the number of bytes of the serialized value of given data, without serializing it.
+     *
+     * @param serializer  Serializer object.
+     * @param message Data of which the serialized size is computed.
+     * @return Number of bytes of the serialized value.
+     */
+    public static Object computeSerializedSize(BObject serializer, Object message, BTypedesc dataType) {
+        try {
+            return (long) computeSize((CompiledSchema) serializer.getNativeData(SCHEMA_NAME), message);
+        } catch (BError e) {
+            return e;
         }
+    }
 
-        return newMessageFromSchema.build();
+    /**
+     * Computes the number of bytes of the serialized value of given data with the given schema, by the same size
+     * computation that serializing the value makes before writing it.
+     *
+     * @param schema Schema of the data type of the value.
+     * @param message Data of which the serialized size is computed.
+     * @return Number of bytes of the serialized value.
+     * @throws BError If the value does not match the schema.
+     */
+    public static int computeSize(CompiledSchema schema, Object message) {
+        try {
+            return schema.getMessageWriter().computeSize(message, EncoderBuffers.get().getSizeCache());
+        } catch (TypeMismatchException e) {
+            throw schema.getTypeMismatchError(e);
+        }
     }
 
-    private static DynamicMessage generateDynamicMessageForUnion(Object value, Descriptor schema, String name) {
-        DynamicMessage.Builder newMessageFromSchema = DynamicMessage.newBuilder(schema);
-        Descriptor messageDescriptor = newMessageFromSchema.getDescriptorForType();
+    /**
+     * Checks whether given data matches the data type of the serializer, without serializing it.
+     *
+     * @param serializer  Serializer object.
+     * @param message Data that is being checked.
+     * @return Nil if the value can be serialized, or a {@code TypeMismatchError} with the path of the mismatched
+     *         value otherwise.
+     */
+    public static Object validate(BObject serializer, Object message, BTypedesc dataType) {
+        try {
+            validate((CompiledSchema) serializer.getNativeData(SCHEMA_NAME), message);
+            return null;
+        } catch (BError e) {
+            return e;
+        }
+    }
 
-        if (value == null) {
-            FieldDescriptor field = messageDescriptor.findFieldByName(NULL_FIELD_NAME);
-            newMessageFromSchema.setField(field, true);
-            return newMessageFromSchema.build();
+    /**
+     * Checks whether given data matches the data type of the given schema. The value is checked by the size
+     * computation that serializing it makes before writing it, without allocating a buffer for the serialized
+     * value.
+     *
+     * @param schema Schema of the data type of the value.
+     * @param message Data that is being checked.
+     * @throws BError If the value does not match the schema.
+     */
+    public static void validate(CompiledSchema schema, Object message) {
+        try {
+            schema.getMessageWriter().computeSize(message, EncoderBuffers.get().getSizeCache());
+        } catch (TypeMismatchException e) {
+            throw schema.getTypeMismatchError(e);
         }
+    }
 
-        String dataType = value.getClass().getSimpleName();
-        String ballerinaToProtoMap = DataTypeMapper.getProtoTypeFromJavaType(dataType);
+    /**
+     * Creates a BArray for given batch of data after serializing, in which each encoded value is preceded by its
+     * length as a varint.
+     *
+     * @param serializer  Serializer object.
+     * @param messages Batch of data that is being serialized.
+     * @return Byte array of the length-delimited serialized values.
+     */
+    public static Object serializeBatch(BObject serializer, BArray messages, BTypedesc dataType) {
+        CompiledSchema schema = (CompiledSchema) serializer.getNativeData(SCHEMA_NAME);
+        return SerdesMetrics.measureSerialization(schema, () -> encodeBatch(schema, messages));
+    }
 
-        if (ballerinaToProtoMap != null) {
-            String fieldName = ballerinaToProtoMap + UNION_FIELD_SEPARATOR + name;
-            FieldDescriptor field = messageDescriptor.findFieldByName(fieldName);
+    private static Object encodeBatch(CompiledSchema schema, BArray messages) {
+        MessageWriter messageWriter = schema.getMessageWriter();
 
-            generateDynamicMessageForPrimitive(newMessageFromSchema, field, value);
-            return newMessageFromSchema.build();
-        }
+        SizeCache sizeCache = EncoderBuffers.get().getSizeCache();
 
-        if (dataType.equals(ARRAY)) {
-            BArray bArray = (BArray) value;
-            String elementType = DataTypeMapper.getProtoTypeFromTag(bArray.getElementType().getTag());
+        int len = messages.size();
+        byte[] encodedMessages;
+        try {
+            // Sizes are computed for the whole batch first, so that it is written to a single buffer
+            int batchSize = 0;
+            for (int i = 0; i < len; i++) {
+                int index = sizeCache.reserve();
+                int messageSize;
+                try {
+                    messageSize = messageWriter.computeSize(messages.get(i), sizeCache);
+                } catch (TypeMismatchException e) {
+                    throw e.atIndex(i);
+                }
+                sizeCache.set(index, messageSize);
+                batchSize += CodedOutputStream.computeUInt32SizeNoTag(messageSize) + messageSize;
+            }
+            encodedMessages = new byte[batchSize];
 
-            if (elementType == null) {
-                elementType = bArray.getElementType().getName();
+            CodedOutputStream output = CodedOutputStream.newInstance(encodedMessages);
+            for (int i = 0; i < len; i++) {
+                output.writeUInt32NoTag(sizeCache.next());
+                messageWriter.write(output, messages.get(i), sizeCache);
             }
+            output.checkNoSpaceLeft();
+        } catch (BError e) {
+            return e;
+        } catch (TypeMismatchException e) {
+            return schema.getTypeMismatchError(e);
+        } catch (IOException e) {
+            return createSerdesError(SERIALIZATION_ERROR_MESSAGE + e.getMessage(), SERDES_ERROR);
+        }
 
-            String fieldName = elementType + UNION_FIELD_SEPARATOR + "array_" + name;
-            FieldDescriptor field = messageDescriptor.findFieldByName(fieldName);
+        return ValueCreator.createArrayValue(encodedMessages);
+    }
 
-            generateDynamicMessageForArray(newMessageFromSchema, schema, field, value, 1);
-        } else {
-            BMap<BString, Object> bMap = (BMap<BString, Object>) value;
-            String elementType = bMap.getTypedesc().getDescribingType().getName();
-            String fieldName = elementType + UNION_FIELD_SEPARATOR + name;
+    /**
+     * Writes the given values to an output stream in the format of {@link #serializeBatch}. Values are encoded
+     * through a single buffer of the given size, which is written to the output stream whenever it is full, so
+     * neither the encoded values nor a single encoded value larger than the buffer are held in memory as a whole.
+     *
+     * @param schema Schema of the data type of the values.
+     * @param messages Data that is being serialized.
+     * @param outputStream Output stream to which the length-delimited serialized values are written.
+     * @param bufferSize Size of the buffer used to write to the output stream.
+     * @throws IOException If writing to the output stream fails.
+     */
+    public static void encodeDelimited(CompiledSchema schema, BArray messages, OutputStream outputStream,
+                                       int bufferSize) throws IOException {
+        MessageWriter messageWriter = schema.getMessageWriter();
+        EncoderBuffers encoderBuffers = EncoderBuffers.get();
+        CodedOutputStream output = CodedOutputStream.newInstance(outputStream, bufferSize);
 
-            Descriptor nestedSchema = schema.findNestedTypeByName(elementType);
-            if (nestedSchema == null) {
-                nestedSchema = schema.findNestedTypeByName(elementType + "record");
+        try {
+            int len = messages.size();
+            for (int i = 0; i < len; i++) {
+                Object message = messages.get(i);
+
+                SizeCache sizeCache = encoderBuffers.getSizeCache();
+                int messageSize;
+                try {
+                    messageSize = messageWriter.computeSize(message, sizeCache);
+                } catch (TypeMismatchException e) {
+                    throw e.atIndex(i);
+                }
+                output.writeUInt32NoTag(messageSize);
+                messageWriter.write(output, message, sizeCache);
             }
-            DynamicMessage dynamicMessage = generateDynamicMessageForRecord(bMap, nestedSchema);
-
-            FieldDescriptor field = messageDescriptor.findFieldByName(fieldName);
-            newMessageFromSchema.setField(field, dynamicMessage);
+            output.flush();
+        } catch (TypeMismatchException e) {
+            throw schema.getTypeMismatchError(e);
         }
+    }
 
-        return  newMessageFromSchema.build();
+    /**
+     * Returns the given value as an array to be written by a writer of arrays of the given type.
+     *
+     * @throws TypeMismatchException If the value is not an array.
+     */
+    static BArray toArray(Object value, String arrayTypeName) {
+        if (value instanceof BArray) {
+            return (BArray) value;
+        }
+        throw new TypeMismatchException(arrayTypeName);
     }
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+
+/**
+ * Decodes a Protobuf message that wraps a single field into the Ballerina value held in that field.
+ */
+class SingleFieldMessageReader implements MessageReader {
+
+    private final int fieldNumber;
+    private final FieldReader fieldReader;
+
+    SingleFieldMessageReader(int fieldNumber, FieldReader fieldReader) {
+        this.fieldNumber = fieldNumber;
+        this.fieldReader = fieldReader;
+    }
+
+    @Override
+    public Object read(CodedInputStream input) throws IOException {
+        Object value = null;
+        boolean present = false;
+
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            int wireType = WireFormat.getTagWireType(tag);
+            if (WireFormat.getTagFieldNumber(tag) != fieldNumber || !fieldReader.acceptsWireType(wireType)) {
+                input.skipField(tag);
+                continue;
+            }
+
+            value = fieldReader.read(input, wireType, value);
+            present = true;
+        }
+
+        return present ? value : fieldReader.getDefaultValue();
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedOutputStream;
+
+import java.io.IOException;
+
+/**
+ * Encodes a Protobuf message that wraps a value in its only field, i.e. primitives, unions and arrays.
+ */
+class SingleFieldMessageWriter implements MessageWriter {
+
+    private final FieldWriter fieldWriter;
+
+    SingleFieldMessageWriter(FieldWriter fieldWriter) {
+        this.fieldWriter = fieldWriter;
+    }
+
+    @Override
+    public int computeSize(Object value, SizeCache sizeCache) {
+        return fieldWriter.computeSize(value, sizeCache);
+    }
+
+    @Override
+    public void write(CodedOutputStream output, Object value, SizeCache sizeCache) throws IOException {
+        fieldWriter.write(output, value, sizeCache);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+/**
+ * Sizes of the length-delimited parts of the values being encoded, recorded by the size computation of a serialization
+ * plan in the order the parts are encoded, so that writing a value does not compute the size of a nested message again
+ * at every level it is nested in.
+ *
+ * A size is reserved before the sizes of the parts nested in it are recorded, which is the order in which the length
+ * prefixes are written, so writing reads the recorded sizes in sequence.
+ */
+final class SizeCache {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int[] sizes = new int[INITIAL_CAPACITY];
+    private int count;
+    private int position;
+
+    /**
+     * Reserves the next size to be recorded, to be set once the size is computed.
+     *
+     * @return Index of the reserved size.
+     */
+    int reserve() {
+        if (count == sizes.length) {
+            int[] newSizes = new int[sizes.length * 2];
+            System.arraycopy(sizes, 0, newSizes, 0, count);
+            sizes = newSizes;
+        }
+        return count++;
+    }
+
+    void set(int index, int size) {
+        sizes[index] = size;
+    }
+
+    /**
+     * Returns the next recorded size, in the order the sizes were reserved.
+     */
+    int next() {
+        return sizes[position++];
+    }
+
+    /**
+     * Discards the recorded sizes. The storage is released if it grew beyond the given capacity.
+     */
+    void clear(int maxRetainedCapacity) {
+        if (sizes.length > maxRetainedCapacity) {
+            sizes = new int[INITIAL_CAPACITY];
+        }
+        count = 0;
+        position = 0;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BObject;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.ballerina.stdlib.serdes.Constants.SERDES_ERROR;
+import static io.ballerina.stdlib.serdes.Deserializer.DESERIALIZATION_ERROR_MESSAGE;
+import static io.ballerina.stdlib.serdes.Deserializer.SCHEMA_NAME;
+import static io.ballerina.stdlib.serdes.Utils.createSerdesError;
+
+/**
+ * Functions of the iterator of a stream of values deserialized from length-delimited input.
+ */
+public class StreamDeserializer {
+
+    static final String FRAME_DECODER = "frameDecoder";
+    static final String DESERIALIZED_VALUE = "DeserializedValue";
+    static final String VALUE = "value";
+
+    static final String TRUNCATED_STREAM_ERROR_MESSAGE = "Stream ended in the middle of a value";
+
+    private StreamDeserializer() {}
+
+    /**
+     * Creates the frame decoder of an iterator using the schema of a deserializer.
+     *
+     * @param iterator Iterator of the stream of deserialized values.
+     * @param des Deserializer object.
+     */
+    public static void initFrameDecoder(BObject iterator, BObject des) {
+        CompiledSchema schema = (CompiledSchema) des.getNativeData(SCHEMA_NAME);
+
+        iterator.addNativeData(FRAME_DECODER, new FrameDecoder(schema.getMessageReader()));
+    }
+
+    /**
+     * Adds a chunk of the input to the bytes that are yet to be deserialized.
+     *
+     * @param iterator Iterator of the stream of deserialized values.
+     * @param chunk Chunk of the length-delimited encoded data.
+     */
+    public static void feedFrameDecoder(BObject iterator, BArray chunk) {
+        getFrameDecoder(iterator).feed(chunk.getByteArray(), chunk.size());
+    }
+
+    /**
+     * Deserializes the next value if all of its bytes have been added.
+     *
+     * @param iterator Iterator of the stream of deserialized values.
+     * @return {@code DeserializedValue} record, null if more input is needed, or {@code BError} if the value
+     *         cannot be deserialized.
+     */
+    public static Object pollFrameDecoder(BObject iterator) {
+        Object value;
+        try {
+            value = getFrameDecoder(iterator).poll();
+        } catch (BError e) {
+            return e;
+        } catch (IOException e) {
+            return createSerdesError(DESERIALIZATION_ERROR_MESSAGE + e.getMessage(), SERDES_ERROR);
+        }
+
+        if (value == FrameDecoder.INCOMPLETE_FRAME) {
+            return null;
+        }
+
+        // Values are wrapped, since a deserialized value can be nil as well
+        Map<String, Object> deserializedValue = new HashMap<>();
+        deserializedValue.put(VALUE, value);
+
+        return ValueCreator.createRecordValue(Utils.getModule(), DESERIALIZED_VALUE, deserializedValue);
+    }
+
+    /**
+     * Checks that the input did not end in the middle of a value.
+     *
+     * @param iterator Iterator of the stream of deserialized values.
+     * @return {@code BError} if there are bytes of a value that was not fully added, null otherwise.
+     */
+    public static Object closeFrameDecoder(BObject iterator) {
+        if (getFrameDecoder(iterator).hasRemainingBytes()) {
+            return createSerdesError(DESERIALIZATION_ERROR_MESSAGE + TRUNCATED_STREAM_ERROR_MESSAGE, SERDES_ERROR);
+        }
+
+        return null;
+    }
+
+    private static FrameDecoder getFrameDecoder(BObject iterator) {
+        return (FrameDecoder) iterator.getNativeData(FRAME_DECODER);
+    }
+}
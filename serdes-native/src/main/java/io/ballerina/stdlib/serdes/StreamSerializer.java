@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BObject;
+
+import static io.ballerina.stdlib.serdes.Serializer.SCHEMA_NAME;
+
+/**
+ * Functions of the encoder that writes length-delimited serialized values to a Ballerina byte channel through a
+ * {@link ChannelOutputStream}.
+ */
+public class StreamSerializer {
+
+    static final String CHANNEL_OUTPUT_STREAM = "channelOutputStream";
+
+    private StreamSerializer() {}
+
+    /**
+     * Starts serializing the given values of an encoder in the format of {@link Serializer#serializeBatch}.
+     *
+     * @param encoder Encoder of the chunks written to the channel.
+     * @param serializer Serializer object.
+     * @param messages Data that is being serialized.
+     * @param bufferSize Number of bytes that are written to the channel at a time.
+     */
+    public static void initChannelEncoder(BObject encoder, BObject serializer, BArray messages, long bufferSize) {
+        CompiledSchema schema = (CompiledSchema) serializer.getNativeData(SCHEMA_NAME);
+        int chunkSize = (int) Math.min(Math.max(bufferSize, 1), Integer.MAX_VALUE);
+
+        encoder.addNativeData(CHANNEL_OUTPUT_STREAM, ChannelOutputStream.start(schema, messages, chunkSize));
+    }
+
+    /**
+     * Waits for the next chunk of the encoded values, once the previous chunk is written to the channel.
+     *
+     * @param encoder Encoder of the chunks written to the channel.
+     * @return Byte array of the chunk, null if all values are written, or {@code BError} if a value cannot be
+     *         serialized.
+     */
+    public static Object pollChannelEncoder(BObject encoder) {
+        return getChannelOutputStream(encoder).poll();
+    }
+
+    /**
+     * Stops serializing the values, since the channel cannot be written to.
+     *
+     * @param encoder Encoder of the chunks written to the channel.
+     */
+    public static void cancelChannelEncoder(BObject encoder) {
+        getChannelOutputStream(encoder).cancel();
+    }
+
+    private static ChannelOutputStream getChannelOutputStream(BObject encoder) {
+        return (ChannelOutputStream) encoder.getNativeData(CHANNEL_OUTPUT_STREAM);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.TableType;
+import io.ballerina.runtime.api.values.BTable;
+
+import java.io.IOException;
+
+/**
+ * Decodes a repeated, length-delimited Protobuf field of a record type into the rows of a Ballerina table.
+ */
+class TableFieldReader implements FieldReader {
+
+    private final TableType tableType;
+    private final MessageReader rowReader;
+
+    TableFieldReader(TableType tableType, MessageReader rowReader) {
+        this.tableType = tableType;
+        this.rowReader = rowReader;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object read(CodedInputStream input, int wireType, Object previousValue) throws IOException {
+        BTable<Object, Object> table = previousValue == null ? ValueCreator.createTableValue(tableType)
+                : (BTable<Object, Object>) previousValue;
+        table.add(MessageFieldReader.readMessage(input, rowReader));
+
+        return table;
+    }
+
+    @Override
+    public boolean acceptsWireType(int wireType) {
+        return wireType == WireFormat.WIRETYPE_LENGTH_DELIMITED;
+    }
+
+    @Override
+    public Object getDefaultValue() {
+        return ValueCreator.createTableValue(tableType);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.WireFormat;
+import io.ballerina.runtime.api.values.BTable;
+
+import java.io.IOException;
+
+/**
+ * Encodes the rows of a Ballerina table as a repeated, length-delimited Protobuf field of the row record type.
+ */
+class TableFieldWriter implements FieldWriter {
+
+    private final int fieldNumber;
+    private final int tagSize;
+    private final MessageWriter rowWriter;
+    private final String tableTypeName;
+
+    TableFieldWriter(FieldDescriptor fieldDescriptor, MessageWriter rowWriter, String tableTypeName) {
+        this.fieldNumber = fieldDescriptor.getNumber();
+        this.tagSize = CodedOutputStream.computeTagSize(fieldNumber);
+        this.rowWriter = rowWriter;
+        this.tableTypeName = tableTypeName;
+    }
+
+    @Override
+    public int computeSize(Object value, SizeCache sizeCache) {
+        BTable<?, ?> table = toTable(value);
+
+        int size = table.size() * tagSize;
+        int position = 0;
+        for (Object row : table.values()) {
+            int index = sizeCache.reserve();
+            int rowSize;
+            try {
+                rowSize = rowWriter.computeSize(row, sizeCache);
+            } catch (TypeMismatchException e) {
+                throw e.atIndex(position);
+            }
+            sizeCache.set(index, rowSize);
+            position++;
+            size += CodedOutputStream.computeUInt32SizeNoTag(rowSize) + rowSize;
+        }
+        return size;
+    }
+
+    @Override
+    public void write(CodedOutputStream output, Object value, SizeCache sizeCache) throws IOException {
+        // Rows are written in the iteration order of the table, which is the order in which they were added
+        for (Object row : toTable(value).values()) {
+            output.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            output.writeUInt32NoTag(sizeCache.next());
+            rowWriter.write(output, row, sizeCache);
+        }
+    }
+
+    private BTable<?, ?> toTable(Object value) {
+        if (value instanceof BTable) {
+            return (BTable<?, ?>) value;
+        }
+        throw new TypeMismatchException(tableTypeName);
+    }
+}
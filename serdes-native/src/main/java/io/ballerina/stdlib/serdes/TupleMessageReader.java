@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.TupleType;
+import io.ballerina.runtime.api.values.BArray;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes a Protobuf message into a Ballerina tuple using the field readers compiled for its members.
+ *
+ * Member readers are indexed by the field number, like the field readers of a {@link RecordMessageReader}. A member
+ * that is not present in the message has the default value of its reader.
+ */
+class TupleMessageReader implements MessageReader {
+
+    private final TupleType tupleType;
+    private final FieldReader[] memberReaders;
+    private final FieldReader restReader;
+
+    /**
+     * @param memberReaders Readers of the tuple members, indexed by field number.
+     * @param restReader Reader of a single member of the rest type, null if the tuple has no rest type.
+     */
+    TupleMessageReader(TupleType tupleType, FieldReader[] memberReaders, FieldReader restReader) {
+        this.tupleType = tupleType;
+        this.memberReaders = memberReaders;
+        this.restReader = restReader;
+    }
+
+    @Override
+    public Object read(CodedInputStream input) throws IOException {
+        Object[] values = new Object[memberReaders.length];
+        boolean[] present = new boolean[memberReaders.length];
+        List<Object> restValues = null;
+
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            int fieldNumber = WireFormat.getTagFieldNumber(tag);
+            int wireType = WireFormat.getTagWireType(tag);
+
+            if (fieldNumber < memberReaders.length && memberReaders[fieldNumber].acceptsWireType(wireType)) {
+                values[fieldNumber] = memberReaders[fieldNumber].read(input, wireType, values[fieldNumber]);
+                present[fieldNumber] = true;
+            } else if (fieldNumber == memberReaders.length && restReader != null
+                    && restReader.acceptsWireType(wireType)) {
+                if (restValues == null) {
+                    restValues = new ArrayList<>();
+                }
+                restValues.add(restReader.read(input, wireType, null));
+            } else {
+                input.skipField(tag);
+            }
+        }
+
+        BArray tuple = ValueCreator.createTupleValue(tupleType);
+        for (int i = 1; i < memberReaders.length; i++) {
+            tuple.add(i - 1, present[i] ? values[i] : memberReaders[i].getDefaultValue());
+        }
+        if (restValues != null) {
+            for (int i = 0; i < restValues.size(); i++) {
+                tuple.add(memberReaders.length - 1 + i, restValues.get(i));
+            }
+        }
+
+        return tuple;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedOutputStream;
+import io.ballerina.runtime.api.values.BArray;
+
+import java.io.IOException;
+
+/**
+ * Encodes a Ballerina tuple as a Protobuf message that holds the member at position n in the field numbered n + 1.
+ * The members matching the rest type of the tuple are written as occurrences of a repeated field numbered after the
+ * other members.
+ */
+class TupleMessageWriter implements MessageWriter {
+
+    private final FieldWriter[] memberWriters;
+    private final boolean[] nilableMembers;
+    private final FieldWriter restWriter;
+    private final boolean nilableRest;
+    private final String tupleTypeName;
+
+    /**
+     * @param restWriter Writer of a single member of the rest type, null if the tuple has no rest type.
+     */
+    TupleMessageWriter(FieldWriter[] memberWriters, boolean[] nilableMembers, FieldWriter restWriter,
+                       boolean nilableRest, String tupleTypeName) {
+        this.memberWriters = memberWriters;
+        this.nilableMembers = nilableMembers;
+        this.restWriter = restWriter;
+        this.nilableRest = nilableRest;
+        this.tupleTypeName = tupleTypeName;
+    }
+
+    @Override
+    public int computeSize(Object value, SizeCache sizeCache) {
+        BArray tuple = toTuple(value);
+
+        int size = 0;
+        for (int i = 0; i < memberWriters.length; i++) {
+            Object member = tuple.get(i);
+            if (member != null || nilableMembers[i]) {
+                try {
+                    size += memberWriters[i].computeSize(member, sizeCache);
+                } catch (TypeMismatchException e) {
+                    throw e.atMember(i);
+                }
+            }
+        }
+
+        int len = tuple.size();
+        for (int i = memberWriters.length; i < len; i++) {
+            Object member = tuple.get(i);
+            if (member != null || nilableRest) {
+                try {
+                    size += restWriter.computeSize(member, sizeCache);
+                } catch (TypeMismatchException e) {
+                    throw e.atIndex(i);
+                }
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void write(CodedOutputStream output, Object value, SizeCache sizeCache) throws IOException {
+        BArray tuple = toTuple(value);
+
+        for (int i = 0; i < memberWriters.length; i++) {
+            Object member = tuple.get(i);
+            if (member != null || nilableMembers[i]) {
+                memberWriters[i].write(output, member, sizeCache);
+            }
+        }
+
+        int len = tuple.size();
+        for (int i = memberWriters.length; i < len; i++) {
+            Object member = tuple.get(i);
+            if (member != null || nilableRest) {
+                restWriter.write(output, member, sizeCache);
+            }
+        }
+    }
+
+    private BArray toTuple(Object value) {
+        if (value instanceof BArray) {
+            BArray tuple = (BArray) value;
+            if (tuple.size() >= memberWriters.length && (restWriter != null || tuple.size() == memberWriters.length)) {
+                return tuple;
+            }
+        }
+        throw new TypeMismatchException(tupleTypeName);
+    }
+}
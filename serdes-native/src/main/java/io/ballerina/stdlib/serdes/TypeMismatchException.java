@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Thrown by the writers of a serialization plan when a value does not match the type it is written as.
+ *
+ * Writers find mismatches by checking the types of values explicitly, and the exception is created without a stack
+ * trace, so rejecting a value costs about as much as checking it. The path of the mismatched value is built while the
+ * exception unwinds through the writers of the records, arrays, maps and tuples enclosing it, after which the caller of
+ * the plan converts it to a Ballerina error with {@link CompiledSchema#getTypeMismatchError}.
+ */
+final class TypeMismatchException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String expectedType;
+    // Segments of the path of the mismatched value, from the innermost one outwards
+    private final List<String> pathSegments = new ArrayList<>();
+    // The same segments with the array indexes and map keys left out, which identify the field of the schema
+    private final List<String> schemaPathSegments = new ArrayList<>();
+
+    /**
+     * @param expectedType Name of the Ballerina type the mismatched value is written as.
+     */
+    TypeMismatchException(String expectedType) {
+        super(null, null, false, false);
+        this.expectedType = expectedType;
+    }
+
+    String getExpectedType() {
+        return expectedType;
+    }
+
+    /**
+     * Adds the record field holding the mismatched value, or the value enclosing it, to the path.
+     */
+    TypeMismatchException inField(String fieldName) {
+        return addSegment("." + fieldName, true);
+    }
+
+    /**
+     * Adds the member of a tuple type holding the mismatched value, or the value enclosing it, to the path.
+     */
+    TypeMismatchException atMember(int index) {
+        return addSegment("[" + index + "]", true);
+    }
+
+    /**
+     * Adds the position of the array element, tuple rest member or table row holding the mismatched value, or the
+     * value enclosing it, to the path.
+     */
+    TypeMismatchException atIndex(int index) {
+        return addSegment("[" + index + "]", false);
+    }
+
+    /**
+     * Adds the key of the map entry holding the mismatched value, or the value enclosing it, to the path.
+     */
+    TypeMismatchException atKey(String key) {
+        return addSegment("[\"" + key + "\"]", false);
+    }
+
+    private TypeMismatchException addSegment(String segment, boolean inSchema) {
+        pathSegments.add(segment);
+        schemaPathSegments.add(inSchema ? segment : "[]");
+        return this;
+    }
+
+    /**
+     * Returns the path of the mismatched value from the serialized value, such as {@code members[1].id}, which is
+     * empty if the serialized value itself is mismatched.
+     */
+    String getFieldPath() {
+        return toPath(pathSegments);
+    }
+
+    /**
+     * Returns the path of the mismatched field in the schema, such as {@code members[].id}, which is the same for
+     * every element of an array or entry of a map the field is in.
+     */
+    String getSchemaPath() {
+        return toPath(schemaPathSegments);
+    }
+
+    /**
+     * Checks whether the path of the mismatched value has no array indexes or map keys, so that it is the same as
+     * the path of the field in the schema.
+     */
+    boolean isSchemaPath() {
+        return pathSegments.equals(schemaPathSegments);
+    }
+
+    private static String toPath(List<String> segments) {
+        StringBuilder path = new StringBuilder();
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            path.append(segments.get(i));
+        }
+        return path.length() > 0 && path.charAt(0) == '.' ? path.substring(1) : path.toString();
+    }
+
+    @Override
+    public String getMessage() {
+        String fieldPath = getFieldPath();
+        return Serializer.TYPE_MISMATCH_ERROR_MESSAGE + (fieldPath.isEmpty() ? "" : " at " + fieldPath)
+                + ", expected " + expectedType;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+
+/**
+ * Decodes a Protobuf message of a Ballerina union into the value held in the field of the member that was written.
+ */
+class UnionMessageReader implements MessageReader {
+
+    private final FieldReader[] memberReaders;
+
+    /**
+     * @param memberReaders Readers of the union members, indexed by field number.
+     */
+    UnionMessageReader(FieldReader[] memberReaders) {
+        this.memberReaders = memberReaders;
+    }
+
+    @Override
+    public Object read(CodedInputStream input) throws IOException {
+        Object value = null;
+        int memberNumber = 0;
+
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            int fieldNumber = WireFormat.getTagFieldNumber(tag);
+            int wireType = WireFormat.getTagWireType(tag);
+
+            if (fieldNumber >= memberReaders.length || memberReaders[fieldNumber] == null
+                    || !memberReaders[fieldNumber].acceptsWireType(wireType)) {
+                input.skipField(tag);
+                continue;
+            }
+
+            // Occurrences of a repeated member are merged, while a different member replaces the value read so far
+            value = memberReaders[fieldNumber].read(input, wireType, fieldNumber == memberNumber ? value : null);
+            memberNumber = fieldNumber;
+        }
+
+        return value;
+    }
+}
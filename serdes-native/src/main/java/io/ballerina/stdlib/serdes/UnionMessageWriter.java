@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.serdes;
+
+import com.google.protobuf.CodedOutputStream;
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.TableType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTable;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Encodes a value of a Ballerina union as a Protobuf message that holds it in the field of the matching member.
+ * <p>
+ * The member of a value is resolved through dispatch tables built when the plan is compiled: primitives and nil by
+ * the tag of their type, arrays by the tag of their element type, maps by the tag of their value type, records by
+ * their record type, tables by their row type and tuples by their tuple type. When a value matches more than one
+ * member, the member declared first is used. Bytes match an int member if there is no byte member, and a json
+ * member holds the values that match no other member.
+ * <p>
+ * Arrays whose element type is not the element type of a member, such as the {@code anydata[]} of an array literal
+ * passed as anydata, match the array member that every one of their elements matches.
+ */
+class UnionMessageWriter implements MessageWriter {
+
+    private final FieldWriter[] writersByTag;
+    private final FieldWriter[] arrayWritersByElementTag;
+    // Writer of the array member declared first, which empty arrays of other element types are written as
+    private FieldWriter firstArrayWriter;
+    private final RecordWriters recordWriters = new RecordWriters();
+    private final RecordWriters recordArrayWriters = new RecordWriters();
+    private final FieldWriter[] mapWritersByValueTag;
+    private final RecordWriters tableWriters = new RecordWriters();
+    private final Map<Type, FieldWriter> tupleWriters = new IdentityHashMap<>();
+    // Writer of the tuple member declared first, which tuples of other tuple types are written as
+    private FieldWriter firstTupleWriter;
+    private FieldWriter jsonWriter;
+    private final String unionTypeName;
+
+    UnionMessageWriter(Type[] memberTypes, FieldWriter[] memberWriters, String unionTypeName) {
+        this.unionTypeName = unionTypeName;
+        writersByTag = new FieldWriter[TypeTags.NULL_TAG + 1];
+
+        int maxElementTag = 0;
+        int maxValueTag = 0;
+        for (Type memberType : memberTypes) {
+            if (memberType.getTag() == TypeTags.ARRAY_TAG) {
+                maxElementTag = Math.max(maxElementTag, ((ArrayType) memberType).getElementType().getTag());
+            } else if (memberType.getTag() == TypeTags.MAP_TAG) {
+                maxValueTag = Math.max(maxValueTag, ((MapType) memberType).getConstrainedType().getTag());
+            }
+        }
+        arrayWritersByElementTag = new FieldWriter[maxElementTag + 1];
+        mapWritersByValueTag = new FieldWriter[maxValueTag + 1];
+
+        for (int i = 0; i < memberTypes.length; i++) {
+            Type memberType = memberTypes[i];
+            int tag = memberType.getTag();
+
+            if (tag == TypeTags.RECORD_TYPE_TAG) {
+                recordWriters.add(memberType, memberWriters[i]);
+            } else if (tag == TypeTags.ARRAY_TAG) {
+                if (firstArrayWriter == null) {
+                    firstArrayWriter = memberWriters[i];
+                }
+
+                Type elementType = ((ArrayType) memberType).getElementType();
+                if (elementType.getTag() == TypeTags.RECORD_TYPE_TAG) {
+                    recordArrayWriters.add(elementType, memberWriters[i]);
+                } else if (arrayWritersByElementTag[elementType.getTag()] == null) {
+                    arrayWritersByElementTag[elementType.getTag()] = memberWriters[i];
+                }
+            } else if (tag == TypeTags.MAP_TAG) {
+                int valueTag = ((MapType) memberType).getConstrainedType().getTag();
+                if (mapWritersByValueTag[valueTag] == null) {
+                    mapWritersByValueTag[valueTag] = memberWriters[i];
+                }
+            } else if (tag == TypeTags.TABLE_TAG) {
+                tableWriters.add(((TableType) memberType).getConstrainedType(), memberWriters[i]);
+            } else if (tag == TypeTags.TUPLE_TAG) {
+                tupleWriters.putIfAbsent(memberType, memberWriters[i]);
+                if (firstTupleWriter == null) {
+                    firstTupleWriter = memberWriters[i];
+                }
+            } else if (tag == TypeTags.JSON_TAG) {
+                if (jsonWriter == null) {
+                    jsonWriter = memberWriters[i];
+                }
+            } else if (tag < writersByTag.length && writersByTag[tag] == null) {
+                writersByTag[tag] = memberWriters[i];
+            }
+        }
+
+        // Bytes are ints as well, so they are written as the int member if the union has no byte member
+        if (writersByTag[TypeTags.BYTE_TAG] == null) {
+            writersByTag[TypeTags.BYTE_TAG] = writersByTag[TypeTags.INT_TAG];
+        }
+    }
+
+    @Override
+    public int computeSize(Object value, SizeCache sizeCache) {
+        return getMemberWriter(value).computeSize(value, sizeCache);
+    }
+
+    @Override
+    public void write(CodedOutputStream output, Object value, SizeCache sizeCache) throws IOException {
+        getMemberWriter(value).write(output, value, sizeCache);
+    }
+
+    private FieldWriter getMemberWriter(Object value) {
+        FieldWriter memberWriter;
+        if (value instanceof BArray) {
+            BArray bArray = (BArray) value;
+            memberWriter = bArray.getType().getTag() == TypeTags.TUPLE_TAG ? getTupleWriter(bArray.getType())
+                    : getArrayWriter(bArray);
+        } else if (value instanceof BMap) {
+            Type type = ((BMap<?, ?>) value).getType();
+            memberWriter = type.getTag() == TypeTags.MAP_TAG ? getMapWriter((MapType) type) : recordWriters.get(type);
+        } else if (value instanceof BTable) {
+            memberWriter = tableWriters.get(((TableType) ((BTable<?, ?>) value).getType()).getConstrainedType());
+        } else {
+            memberWriter = writersByTag[getTag(value)];
+        }
+
+        if (memberWriter == null) {
+            memberWriter = jsonWriter;
+        }
+        if (memberWriter == null) {
+            throw new TypeMismatchException(unionTypeName);
+        }
+        return memberWriter;
+    }
+
+    private FieldWriter getTupleWriter(Type tupleType) {
+        FieldWriter tupleWriter = tupleWriters.get(tupleType);
+        return tupleWriter != null ? tupleWriter : firstTupleWriter;
+    }
+
+    private FieldWriter getMapWriter(MapType mapType) {
+        int valueTag = mapType.getConstrainedType().getTag();
+        return valueTag < mapWritersByValueTag.length ? mapWritersByValueTag[valueTag] : null;
+    }
+
+    private FieldWriter getArrayWriter(BArray bArray) {
+        Type elementType = bArray.getElementType();
+        int elementTag = elementType.getTag();
+
+        FieldWriter arrayWriter;
+        if (elementTag == TypeTags.RECORD_TYPE_TAG) {
+            arrayWriter = recordArrayWriters.get(elementType);
+        } else {
+            arrayWriter = elementTag < arrayWritersByElementTag.length ? arrayWritersByElementTag[elementTag] : null;
+        }
+        return arrayWriter != null ? arrayWriter : getArrayWriterOfElements(bArray);
+    }
+
+    private FieldWriter getArrayWriterOfElements(BArray bArray) {
+        int size = bArray.size();
+        if (size == 0) {
+            return firstArrayWriter;
+        }
+
+        FieldWriter arrayWriter = getArrayWriterOfElement(bArray.get(0));
+        for (int i = 1; i < size && arrayWriter != null; i++) {
+            if (getArrayWriterOfElement(bArray.get(i)) != arrayWriter) {
+                return null;
+            }
+        }
+        return arrayWriter;
+    }
+
+    private FieldWriter getArrayWriterOfElement(Object element) {
+        if (element instanceof BMap) {
+            return recordArrayWriters.get(((BMap<?, ?>) element).getType());
+        }
+
+        // Byte arrays are written from their byte storage, so byte elements are written as the elements of an int array
+        int elementTag = element instanceof Integer ? TypeTags.INT_TAG : getTag(element);
+        return elementTag < arrayWritersByElementTag.length ? arrayWritersByElementTag[elementTag] : null;
+    }
+
+    private static int getTag(Object value) {
+        if (value == null) {
+            return TypeTags.NULL_TAG;
+        } else if (value instanceof Long) {
+            return TypeTags.INT_TAG;
+        } else if (value instanceof Integer) {
+            return TypeTags.BYTE_TAG;
+        } else if (value instanceof Double) {
+            return TypeTags.FLOAT_TAG;
+        } else if (value instanceof BDecimal) {
+            return TypeTags.DECIMAL_TAG;
+        } else if (value instanceof BString) {
+            return TypeTags.STRING_TAG;
+        } else if (value instanceof Boolean) {
+            return TypeTags.BOOLEAN_TAG;
+        }
+        // No primitive or nil member is registered under tag 0
+        return 0;
+    }
+
+    /**
+     * Writers of members of record types, or of arrays or tables of them, looked up by the identity of the record type
+     * and, for record types that are equal but not the same instance, by its name.
+     */
+    private static class RecordWriters {
+
+        private final Map<Type, FieldWriter> writersByType = new IdentityHashMap<>();
+        private final Map<String, FieldWriter> writersByName = new HashMap<>();
+
+        void add(Type recordType, FieldWriter writer) {
+            writersByType.putIfAbsent(recordType, writer);
+            writersByName.putIfAbsent(recordType.getName(), writer);
+        }
+
+        FieldWriter get(Type recordType) {
+            FieldWriter writer = writersByType.get(recordType);
+            return writer != null ? writer : writersByName.get(recordType.getName());
+        }
+    }
+}
@@ -21,8 +21,18 @@ package io.ballerina.stdlib.serdes;
 import io.ballerina.runtime.api.Environment;
 import io.ballerina.runtime.api.Module;
 import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.ballerina.stdlib.serdes.Constants.EXPECTED_TYPE;
+import static io.ballerina.stdlib.serdes.Constants.FIELD_PATH;
+import static io.ballerina.stdlib.serdes.Constants.TYPE_MISMATCH_DETAIL;
+import static io.ballerina.stdlib.serdes.Constants.TYPE_MISMATCH_ERROR;
 
 /**
  * Utility functions of SerDes module.
@@ -41,7 +51,28 @@ public class Utils {
         return serdesModule;
     }
 
+    /**
+     * Converts the threshold of parallel serialization or deserialization given by a Ballerina caller. Thresholds
+     * below one are treated as one, so that every array is processed in parallel.
+     */
+    static int toParallelThreshold(long parallelThreshold) {
+        return (int) Math.min(Math.max(parallelThreshold, 1), Integer.MAX_VALUE);
+    }
+
     public static BError createSerdesError(String message, String typeId) {
         return ErrorCreator.createError(getModule(), typeId, StringUtils.fromString(message), null, null);
     }
+
+    /**
+     * Creates a {@code TypeMismatchError}, of which the detail holds the path of the mismatched value and the name of
+     * the type it was expected to be.
+     */
+    static BError createTypeMismatchError(BString message, BString fieldPath, BString expectedType) {
+        Map<String, Object> detail = new HashMap<>();
+        detail.put(FIELD_PATH, fieldPath);
+        detail.put(EXPECTED_TYPE, expectedType);
+
+        return ErrorCreator.createError(getModule(), TYPE_MISMATCH_ERROR, message, null,
+                ValueCreator.createRecordValue(getModule(), TYPE_MISMATCH_DETAIL, detail));
+    }
 }
@@ -3,4 +3,8 @@ module io.ballerina.stdlib.serdes {
     requires io.ballerina.lang;
     requires com.google.protobuf;
     requires com.google.protobuf.util;
+    requires java.management;
+
+    // The metrics MXBeans are introspected by java.management
+    exports io.ballerina.stdlib.serdes;
 }